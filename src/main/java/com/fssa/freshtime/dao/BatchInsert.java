@@ -0,0 +1,130 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ObjIntConsumer;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.models.BatchResult;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Inserts many rows with JDBC batching on one connection and in one
+ * transaction.
+ *
+ * Rows are sent in chunks of {@code freshtime.batch.size} (default 500). A
+ * row rejected by the database (for example by a constraint) is reported in
+ * the {@link BatchResult} and the rows that were accepted are still committed.
+ * Any other error rolls the whole batch back.
+ */
+final class BatchInsert {
+
+	private static final int BATCH_SIZE = Settings.getInt("freshtime.batch.size", "FRESHTIME_BATCH_SIZE", 500);
+
+	/**
+	 * Binds the parameters of one row.
+	 */
+	@FunctionalInterface
+	interface Binder<T> {
+		void bind(PreparedStatement psmt, T row) throws SQLException;
+	}
+
+	private BatchInsert() {
+	}
+
+	/**
+	 * @param insertQuery  The insert statement.
+	 * @param rows         The rows to insert.
+	 * @param binder       Sets the parameters of a row.
+	 * @param onInserted   Receives each inserted row with its generated key,
+	 *                     after the transaction has committed.
+	 * @param errorMessage Prefix of the error message.
+	 * @return The generated keys and the rows that failed.
+	 * @throws DAOException If the batch could not be run; nothing is inserted.
+	 */
+	static <T> BatchResult insert(String insertQuery, List<T> rows, Binder<T> binder, ObjIntConsumer<T> onInserted,
+			String errorMessage) throws DAOException {
+		Integer[] keys = new Integer[rows.size()];
+		Map<Integer, String> failures = new TreeMap<>();
+
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement psmt = connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS)) {
+				for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+					int end = Math.min(start + BATCH_SIZE, rows.size());
+					executeChunk(psmt, rows, start, end, binder, keys, failures);
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			throw new DAOException(errorMessage, e);
+		}
+
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				onInserted.accept(rows.get(i), keys[i]);
+			}
+		}
+		return new BatchResult(Arrays.asList(keys), failures);
+	}
+
+	private static <T> void executeChunk(PreparedStatement psmt, List<T> rows, int start, int end, Binder<T> binder,
+			Integer[] keys, Map<Integer, String> failures) throws SQLException {
+		for (int i = start; i < end; i++) {
+			binder.bind(psmt, rows.get(i));
+			psmt.addBatch();
+		}
+
+		int[] counts;
+		String failure = null;
+		try {
+			counts = psmt.executeBatch();
+		} catch (BatchUpdateException e) {
+			counts = e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+			failure = e.getMessage();
+			psmt.clearBatch();
+		}
+
+		List<Integer> generated = readKeys(psmt);
+		int nextKey = 0;
+		for (int i = start; i < end; i++) {
+			int index = i - start;
+			if (index > counts.length) {
+				failures.put(i, "Not executed after an earlier failure");
+			} else if (index == counts.length || counts[index] == Statement.EXECUTE_FAILED) {
+				failures.put(i, failure);
+			} else if (nextKey < generated.size()) {
+				keys[i] = generated.get(nextKey++);
+			}
+		}
+	}
+
+	private static List<Integer> readKeys(PreparedStatement psmt) {
+		List<Integer> generated = new ArrayList<>();
+		try (ResultSet rs = psmt.getGeneratedKeys()) {
+			while (rs.next()) {
+				generated.add(rs.getInt(1));
+			}
+		} catch (SQLException e) {
+			// Some drivers return no keys after a failed batch; the rows are
+			// still reported as inserted, only without their ids.
+		}
+		return generated;
+	}
+
+}
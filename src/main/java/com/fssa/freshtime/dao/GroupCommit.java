@@ -0,0 +1,308 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjIntConsumer;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.Settings;
+import com.fssa.freshtime.utils.UnitOfWork;
+
+/**
+ * Optional group commit of concurrent single-row writes.
+ *
+ * With {@code freshtime.groupCommit.enabled=true} a write is queued and a
+ * background thread collects the writes arriving within
+ * {@code freshtime.groupCommit.windowMillis} (default 2) of the first, up to
+ * {@code freshtime.groupCommit.maxBatch} rows (default 64). It runs them as
+ * one JDBC batch in one transaction, so the database flushes its log once per
+ * batch instead of once per row. Each caller still gets the result of its own
+ * row. If a statement of the batch fails it is rolled back and its rows are
+ * written one by one, so a bad row only fails its own caller. If the commit
+ * itself fails, the rows may have been written, so every caller of the batch
+ * gets the error instead.
+ *
+ * A caller waits at most {@code freshtime.groupCommit.timeoutMillis} (default
+ * 5000) for its row to be picked up; a row still queued by then is dropped and
+ * the write fails with {@link ErrorCode#TIMEOUT}. Writes inside a
+ * {@link UnitOfWork}, and all writes while disabled, go straight to the
+ * database.
+ *
+ * @param <T> The type of the written rows.
+ */
+final class GroupCommit<T> {
+
+	private static final boolean ENABLED = Settings.getBoolean("freshtime.groupCommit.enabled",
+			"FRESHTIME_GROUP_COMMIT_ENABLED", false);
+	private static final long WINDOW_MILLIS = Settings.getLong("freshtime.groupCommit.windowMillis",
+			"FRESHTIME_GROUP_COMMIT_WINDOW_MILLIS", 2);
+	private static final int MAX_BATCH = Settings.getInt("freshtime.groupCommit.maxBatch",
+			"FRESHTIME_GROUP_COMMIT_MAX_BATCH", 64);
+	private static final long TIMEOUT_MILLIS = Settings.getLong("freshtime.groupCommit.timeoutMillis",
+			"FRESHTIME_GROUP_COMMIT_TIMEOUT_MILLIS", 5000);
+
+	/**
+	 * Writes one row on its own.
+	 */
+	@FunctionalInterface
+	interface SingleWriter<T> {
+		boolean write(T row) throws DAOException;
+	}
+
+	private static final class Request<T> {
+		final T row;
+		final CompletableFuture<Boolean> result = new CompletableFuture<>();
+		final AtomicBoolean claimed = new AtomicBoolean();
+
+		Request(T row) {
+			this.row = row;
+		}
+	}
+
+	private final String name;
+	private final String query;
+	private final BatchInsert.Binder<T> binder;
+	private final ObjIntConsumer<T> onInserted;
+	private final SingleWriter<T> single;
+	private final long windowNanos;
+	private final int maxBatch;
+	private final long timeoutMillis;
+	private volatile boolean enabled;
+	private final LinkedBlockingQueue<Request<T>> queue = new LinkedBlockingQueue<>();
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * @param name       Name of the written rows, used in messages and the
+	 *                   thread name.
+	 * @param query      The insert or update statement of one row.
+	 * @param binder     Sets the parameters of a row.
+	 * @param onInserted For an insert, receives each row with its generated
+	 *                   key after the batch has committed; null for an
+	 *                   update.
+	 * @param single     Writes a row on its own, when group commit does not
+	 *                   apply or a batch failed.
+	 */
+	GroupCommit(String name, String query, BatchInsert.Binder<T> binder, ObjIntConsumer<T> onInserted,
+			SingleWriter<T> single) {
+		this(name, query, binder, onInserted, single, ENABLED, WINDOW_MILLIS, MAX_BATCH, TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates a pipeline with its own settings instead of the
+	 * {@code freshtime.groupCommit.*} ones.
+	 */
+	GroupCommit(String name, String query, BatchInsert.Binder<T> binder, ObjIntConsumer<T> onInserted,
+			SingleWriter<T> single, boolean enabled, long windowMillis, int maxBatch, long timeoutMillis) {
+		this.name = name;
+		this.query = query;
+		this.binder = binder;
+		this.onInserted = onInserted;
+		this.single = single;
+		this.enabled = enabled;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+		this.maxBatch = Math.max(1, maxBatch);
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Turns group commit of this pipeline on or off. Writes already queued
+	 * are still written in batches.
+	 */
+	void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Writes the row, in a batch with concurrent writes when enabled.
+	 *
+	 * @return True if the row was written.
+	 * @throws DAOException If the row could not be written, or was not picked
+	 *                      up in time.
+	 */
+	boolean write(T row) throws DAOException {
+		if (!enabled || UnitOfWork.isActive()) {
+			return single.write(row);
+		}
+		start();
+		Request<T> request = new Request<>(row);
+		queue.add(request);
+
+		try {
+			try {
+				return request.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (request.claimed.compareAndSet(false, true)) {
+					throw new DAOException(ErrorCode.TIMEOUT, name + " not written within " + timeoutMillis + " ms");
+				}
+				// Already in a running batch, which will finish.
+				return request.result.get();
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DAOException) {
+				throw (DAOException) e.getCause();
+			}
+			throw new DAOException("Error while writing " + name, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (request.claimed.compareAndSet(false, true)) {
+				throw new DAOException("Interrupted before writing " + name, e);
+			}
+			throw new DAOException("Interrupted while writing " + name + ", the row may have been written", e);
+		}
+	}
+
+	private void start() {
+		if (started.compareAndSet(false, true)) {
+			Thread flusher = new Thread(this::run, "freshtime-group-commit-" + name);
+			flusher.setDaemon(true);
+			flusher.start();
+		}
+	}
+
+	private void run() {
+		List<Request<T>> batch = new ArrayList<>(maxBatch);
+		while (true) {
+			try {
+				collect(batch);
+				if (!batch.isEmpty()) {
+					flush(batch);
+				}
+			} catch (RuntimeException | Error e) {
+				for (Request<T> request : batch) {
+					request.result.completeExceptionally(e);
+				}
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Waits for a row and collects the rows arriving within the window.
+	 */
+	private void collect(List<Request<T>> batch) {
+		try {
+			claim(queue.take(), batch);
+			long deadline = System.nanoTime() + windowNanos;
+			while (batch.size() < maxBatch) {
+				Request<T> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				if (next == null) {
+					break;
+				}
+				claim(next, batch);
+			}
+		} catch (InterruptedException e) {
+			// Nothing stops this thread on purpose. If it ended, later writes
+			// would wait in the queue until they time out, so it writes what
+			// it has collected and keeps going.
+		}
+	}
+
+	private static <T> void claim(Request<T> request, List<Request<T>> batch) {
+		if (request.claimed.compareAndSet(false, true)) {
+			batch.add(request);
+		}
+	}
+
+	private void flush(List<Request<T>> batch) {
+		if (batch.size() == 1) {
+			writeEach(batch);
+			return;
+		}
+
+		int[] keys = new int[batch.size()];
+		boolean[] written = new boolean[batch.size()];
+		boolean committing = false;
+		boolean committed = false;
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			connection.setAutoCommit(false);
+			try {
+				try {
+					writeBatch(connection, batch, keys, written);
+				} catch (SQLException | RuntimeException e) {
+					connection.rollback();
+					throw e;
+				}
+				committing = true;
+				connection.commit();
+				committed = true;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException | RuntimeException e) {
+			if (committing && !committed) {
+				// The database may have committed the batch before the error
+				// reached us, so writing the rows again could duplicate them.
+				DAOException failure = new DAOException(
+						"Error while committing " + name + " batch, the rows may have been written", e);
+				for (Request<T> request : batch) {
+					request.result.completeExceptionally(failure);
+				}
+				return;
+			}
+			if (!committed) {
+				writeEach(batch);
+				return;
+			}
+			// Committed; only returning the connection failed.
+		}
+
+		for (int i = 0; i < batch.size(); i++) {
+			Request<T> request = batch.get(i);
+			if (written[i] && onInserted != null) {
+				onInserted.accept(request.row, keys[i]);
+			}
+			request.result.complete(written[i]);
+		}
+	}
+
+	private void writeBatch(Connection connection, List<Request<T>> batch, int[] keys, boolean[] written)
+			throws SQLException {
+		int generatedKeys = onInserted != null ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+		try (PreparedStatement psmt = connection.prepareStatement(query, generatedKeys)) {
+			for (Request<T> request : batch) {
+				binder.bind(psmt, request.row);
+				psmt.addBatch();
+			}
+			int[] counts = psmt.executeBatch();
+			for (int i = 0; i < written.length; i++) {
+				written[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+			}
+
+			if (onInserted != null) {
+				try (ResultSet rs = psmt.getGeneratedKeys()) {
+					for (int i = 0; i < keys.length; i++) {
+						if (!rs.next()) {
+							throw new SQLException("Missing generated key of " + name + " " + i);
+						}
+						keys[i] = rs.getInt(1);
+					}
+				}
+			}
+		}
+	}
+
+	private void writeEach(List<Request<T>> batch) {
+		for (Request<T> request : batch) {
+			try {
+				request.result.complete(single.write(request.row));
+			} catch (DAOException | RuntimeException e) {
+				request.result.completeExceptionally(e);
+			}
+		}
+	}
+
+}
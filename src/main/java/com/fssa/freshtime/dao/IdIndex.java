@@ -0,0 +1,151 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.IdBitmap;
+import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.Settings;
+import com.fssa.freshtime.utils.UnitOfWork;
+
+/**
+ * Optional in-memory index of the primary keys of one table, used to answer
+ * existence checks without touching the database.
+ *
+ * The index is off by default. Enable it with
+ * {@code -Dfreshtime.idindex.enabled=true} (or FRESHTIME_ID_INDEX_ENABLED)
+ * only when this application is the sole writer of the tables: ids are loaded
+ * once and afterwards kept in sync by the DAO insert and delete methods, so
+ * rows written by other processes would be missed. When disabled the DAOs
+ * fall back to an indexed primary key probe.
+ */
+public final class IdIndex {
+
+	private static final boolean ENABLED = Settings.getBoolean("freshtime.idindex.enabled",
+			"FRESHTIME_ID_INDEX_ENABLED", false);
+
+	public static final IdIndex TASKS = new IdIndex("tasks", "task_id");
+	public static final IdIndex SUBTASKS = new IdIndex("subtasks", "subtask_id");
+	public static final IdIndex NOTES = new IdIndex("notes", "notes_id");
+
+	private final String table;
+	private final String idColumn;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private IdBitmap ids;
+
+	private IdIndex(String table, String idColumn) {
+		this.table = table;
+		this.idColumn = idColumn;
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * @param id The primary key to look up.
+	 * @return Whether the id exists, or null when the index is disabled and the
+	 *         caller has to ask the database.
+	 * @throws DAOException If the ids could not be loaded.
+	 */
+	public Boolean contains(int id) throws DAOException {
+		if (!ENABLED) {
+			return null;
+		}
+		lock.readLock().lock();
+		try {
+			if (ids != null) {
+				return ids.contains(id);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		lock.writeLock().lock();
+		try {
+			if (ids == null) {
+				ids = load();
+			}
+			return ids.contains(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Records an id that was just inserted, once its transaction commits. */
+	public void added(int id) {
+		if (!ENABLED || id <= 0) {
+			return;
+		}
+		UnitOfWork.afterCommit(() -> add(id));
+	}
+
+	private void add(int id) {
+		lock.writeLock().lock();
+		try {
+			if (ids != null) {
+				ids.add(id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Records an id that was just deleted, once its transaction commits. */
+	public void removed(int id) {
+		if (!ENABLED) {
+			return;
+		}
+		UnitOfWork.afterCommit(() -> remove(id));
+	}
+
+	private void remove(int id) {
+		lock.writeLock().lock();
+		try {
+			if (ids != null) {
+				ids.remove(id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Drops the loaded ids; the next lookup reloads them from the table. */
+	public void invalidate() {
+		UnitOfWork.afterCommit(this::clear);
+	}
+
+	private void clear() {
+		lock.writeLock().lock();
+		try {
+			ids = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private IdBitmap load() throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			String selectQuery = "SELECT " + idColumn + " FROM " + table;
+			try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+				try (ResultSet rs = psmt.executeQuery()) {
+					IdBitmap bitmap = new IdBitmap();
+					while (rs.next()) {
+						bitmap.add(rs.getInt(1));
+					}
+					Logger.info("Loaded " + bitmap.cardinality() + " " + table + " ids into the id index ("
+							+ bitmap.sizeInBytes() + " bytes)");
+					return bitmap;
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while loading " + table + " ids", e);
+		}
+	}
+
+}
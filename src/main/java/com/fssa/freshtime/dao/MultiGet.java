@@ -0,0 +1,100 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Reads the rows of many ids with {@code IN (...)} queries on one connection.
+ *
+ * The distinct ids are sent in chunks of at most
+ * {@code freshtime.dao.inListSize} (default 256, rounded down to a power of
+ * two). Each IN list is padded to the next power of two by repeating its last
+ * id, so a query has one of a few shapes and the database and the driver can
+ * reuse its plan.
+ */
+final class MultiGet {
+
+	static final int MAX_IN_LIST = Integer.highestOneBit(
+			Math.max(1, Settings.getInt("freshtime.dao.inListSize", "FRESHTIME_DAO_IN_LIST_SIZE", 256)));
+
+	private MultiGet() {
+	}
+
+	/**
+	 * @param selectQuery  The query up to the IN list, ending with
+	 *                     {@code "<id column> IN "}.
+	 * @param ids          The ids; nulls and duplicates are ignored.
+	 * @param mapper       Maps a row.
+	 * @param sink         Receives each row, in no particular order.
+	 * @param errorMessage Prefix of the error message.
+	 * @throws DAOException If the rows could not be read.
+	 */
+	static <T> void read(String selectQuery, Collection<Integer> ids, RowMapper<T> mapper, Consumer<T> sink,
+			String errorMessage) throws DAOException {
+		List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+		distinct.remove(null);
+		if (distinct.isEmpty()) {
+			return;
+		}
+
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			for (int start = 0; start < distinct.size(); start += MAX_IN_LIST) {
+				List<Integer> chunk = distinct.subList(start, Math.min(start + MAX_IN_LIST, distinct.size()));
+				int size = bucket(chunk.size());
+
+				try (PreparedStatement psmt = connection.prepareStatement(selectQuery + "(" + placeholders(size) + ")")) {
+					setIds(psmt, 1, chunk, size);
+					try (ResultSet rs = psmt.executeQuery()) {
+						while (rs.next()) {
+							sink.accept(mapper.map(rs));
+						}
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException(errorMessage, e);
+		}
+	}
+
+	/**
+	 * @return The smallest power of two holding {@code count} ids.
+	 */
+	static int bucket(int count) {
+		return count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+	}
+
+	/**
+	 * Sets the parameters of an IN list padded to {@code size} ids by
+	 * repeating the last id.
+	 *
+	 * @param first The index of the first parameter of the list.
+	 */
+	static void setIds(PreparedStatement psmt, int first, List<Integer> ids, int size) throws SQLException {
+		for (int i = 0; i < size; i++) {
+			psmt.setInt(first + i, ids.get(Math.min(i, ids.size() - 1)));
+		}
+	}
+
+	/**
+	 * @return {@code count} comma-separated parameter markers.
+	 */
+	static String placeholders(int count) {
+		StringBuilder builder = new StringBuilder(count * 2);
+		for (int i = 0; i < count; i++) {
+			builder.append(i == 0 ? "?" : ",?");
+		}
+		return builder.toString();
+	}
+
+}
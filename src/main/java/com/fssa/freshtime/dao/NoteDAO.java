@@ -1,38 +1,76 @@
 package com.fssa.freshtime.dao;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import com.fssa.freshtime.exceptions.DAOException;
 import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.models.Page;
 import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.PageToken;
 
 public class NoteDAO {
 
+	private static final String INSERT_NOTE = "INSERT INTO notes (user_id, notes_category, heading, notes, createdOn) VALUES (?, ?, ?, ?, ?)";
+	private static final String UPDATE_NOTE = "UPDATE notes SET heading = ? , notes = ? WHERE notes_id = ?";
+
+	private static final GroupCommit<Note> NOTE_INSERTS = new GroupCommit<>("note", INSERT_NOTE, NoteDAO::bindNote,
+			NoteDAO::noteInserted, NoteDAO::insertNote);
+	private static final GroupCommit<Note> NOTE_UPDATES = new GroupCommit<>("note update", UPDATE_NOTE,
+			NoteDAO::bindNoteUpdate, null, NoteDAO::writeNoteUpdate);
+
+	/**
+	 * Creates a note. Concurrent calls share a transaction when group commit
+	 * is enabled, see {@link GroupCommit}.
+	 */
 	public static boolean createNote(Note note) throws DAOException {
+		return NOTE_INSERTS.write(note);
+	}
+
+	private static boolean insertNote(Note note) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
-			String insertQuery = "INSERT INTO notes (user_id, notes_category, heading, notes, createdOn) VALUES (?, ?, ?, ?, ?)";
-			try (PreparedStatement psmt = connection.prepareStatement(insertQuery)) {
-
-				psmt.setInt(1, note.getUserId());
-				psmt.setString(2, note.getNotesCategory());
-				psmt.setString(3, note.getHeading());
-				psmt.setString(4, note.getNotes());
-				psmt.setDate(5,java.sql.Date.valueOf(LocalDate.now()));
+			try (PreparedStatement psmt = connection.prepareStatement(INSERT_NOTE, Statement.RETURN_GENERATED_KEYS)) {
+
+				bindNote(psmt, note);
 				int rowAffected = psmt.executeUpdate();
+				try (ResultSet keys = psmt.getGeneratedKeys()) {
+					if (keys.next()) {
+						noteInserted(note, keys.getInt(1));
+					}
+				}
 
 				return rowAffected > 0;
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while creating note: " + e.getMessage());
+			throw new DAOException("Error while creating note", e);
 		}
 	}
 
+	private static void bindNote(PreparedStatement psmt, Note note) throws SQLException {
+		psmt.setInt(1, note.getUserId());
+		psmt.setString(2, note.getNotesCategory());
+		psmt.setString(3, note.getHeading());
+		psmt.setString(4, note.getNotes());
+		psmt.setDate(5, java.sql.Date.valueOf(LocalDate.now()));
+	}
+
+	private static void noteInserted(Note note, int notesId) {
+		note.setNotesId(notesId);
+		IdIndex.NOTES.added(notesId);
+	}
+
 	public static List<Note> readAllNotesByUser(int userId) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String selectQuery = "SELECT notes_id, notes_category, heading, notes, createdOn FROM notes WHERE user_id = ?";
@@ -59,11 +97,104 @@ public class NoteDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading note: " + e.getMessage());
+			throw new DAOException("Error while reading note", e);
 		}
 	}
 	
 	
+	/**
+	 * Streams a user's notes without loading them into a list. The stream holds
+	 * a database connection until it is closed, so use it in a
+	 * try-with-resources block.
+	 *
+	 * @param userId The ID of the user.
+	 * @return A lazily read stream of the user's notes.
+	 * @throws DAOException If an error occurs while querying notes.
+	 */
+	public static Stream<Note> streamAllNotesByUser(int userId) throws DAOException {
+		String selectQuery = "SELECT notes_id, user_id, notes_category, heading, notes, createdOn FROM notes WHERE user_id = ?";
+		return StreamingQuery.stream(selectQuery, psmt -> psmt.setInt(1, userId), NoteDAO::mapNote,
+				"Error while reading note");
+	}
+
+	/**
+	 * Streams every note, for exports and batch jobs. The stream holds a
+	 * database connection until it is closed.
+	 *
+	 * @return A lazily read stream of all notes ordered by notes id.
+	 * @throws DAOException If an error occurs while querying notes.
+	 */
+	public static Stream<Note> streamAllNotes() throws DAOException {
+		String selectQuery = "SELECT notes_id, user_id, notes_category, heading, notes, createdOn FROM notes ORDER BY notes_id";
+		return StreamingQuery.stream(selectQuery, psmt -> {
+		}, NoteDAO::mapNote, "Error while reading note");
+	}
+
+	private static Note mapNote(ResultSet rs) throws SQLException {
+		Note note = new Note();
+
+		note.setNotesId(rs.getInt("notes_id"));
+		note.setUserId(rs.getInt("user_id"));
+		note.setNotesCategory(rs.getString("notes_category"));
+		note.setHeading(rs.getString("heading"));
+		note.setNotes(rs.getString("notes"));
+		note.setCreatedOn(rs.getDate("createdOn").toLocalDate());
+
+		return note;
+	}
+
+	/**
+	 * Reads one page of a user's notes, newest first, ordered by creation date
+	 * and then notes id.
+	 *
+	 * The page seeks past the last note of the previous page instead of using
+	 * an offset, so notes created meanwhile never shift or repeat rows on later
+	 * pages.
+	 *
+	 * @param userId The ID of the user.
+	 * @param after  The position after which the page starts, or null for the
+	 *               first page.
+	 * @param limit  The maximum number of notes on the page.
+	 * @return The page, whose next token is null on the last page.
+	 * @throws DAOException If an error occurs while reading notes.
+	 */
+	public static Page<Note> readNotesPageByUser(int userId, PageToken after, int limit) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			String selectQuery = "SELECT notes_id, user_id, notes_category, heading, notes, createdOn FROM notes WHERE user_id = ?"
+					+ (after == null ? "" : " AND (createdOn < ? OR (createdOn = ? AND notes_id < ?))")
+					+ " ORDER BY createdOn DESC, notes_id DESC LIMIT ?";
+
+			try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+				int index = 1;
+				psmt.setInt(index++, userId);
+				if (after != null) {
+					Date createdOn = Date.valueOf(after.getDateKey());
+					psmt.setDate(index++, createdOn);
+					psmt.setDate(index++, createdOn);
+					psmt.setInt(index++, after.getId());
+				}
+				psmt.setInt(index, limit + 1);
+
+				try (ResultSet rs = psmt.executeQuery()) {
+					List<Note> notesList = new ArrayList<>(limit + 1);
+					while (rs.next()) {
+						notesList.add(mapNote(rs));
+					}
+
+					if (notesList.size() <= limit) {
+						return new Page<>(notesList, null);
+					}
+					notesList.remove(limit);
+					Note last = notesList.get(limit - 1);
+					return new Page<>(notesList,
+							PageToken.of(PageToken.NOTES, last.getCreatedOn(), last.getNotesId()).encode());
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while reading note", e);
+		}
+	}
+
 	public static Note readNotesByNotesId(int notesId) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String selectQuery = "SELECT user_id, notes_category, heading, notes, createdOn FROM notes WHERE notes_id = ?";
@@ -78,6 +209,7 @@ public class NoteDAO {
 					
 					while (rs.next()) {
 						
+						note.setNotesId(notesId);
 						note.setUserId(rs.getInt("user_id"));
 						note.setNotesCategory(rs.getString("notes_category"));
 						note.setHeading(rs.getString("heading"));
@@ -89,10 +221,32 @@ public class NoteDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading note: " + e.getMessage());
+			throw new DAOException("Error while reading note", e);
 		}
 	}
 	
+	/**
+	 * Reads many notes with a few {@code IN (...)} queries, see {@link MultiGet}.
+	 *
+	 * @param notesIds The IDs of the notes; duplicates are ignored.
+	 * @return The notes found by ID, in input order. Missing notes have no entry.
+	 * @throws DAOException If an error occurs while reading the notes.
+	 */
+	public static Map<Integer, Note> readNotesByIds(Collection<Integer> notesIds) throws DAOException {
+		Map<Integer, Note> found = new HashMap<>();
+		MultiGet.read("SELECT notes_id, user_id, notes_category, heading, notes, createdOn FROM notes WHERE notes_id IN ",
+				notesIds, NoteDAO::mapNote, note -> found.put(note.getNotesId(), note), "Error while reading note");
+
+		Map<Integer, Note> notes = new LinkedHashMap<>();
+		for (Integer notesId : notesIds) {
+			Note note = found.get(notesId);
+			if (note != null) {
+				notes.put(notesId, note);
+			}
+		}
+		return notes;
+	}
+
 	public static List<Note> readNoteByCategory(String category, int userId) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String selectQuery = "SELECT notes_id, notes_category, heading, notes, createdOn FROM notes WHERE notes_category = ? AND user_id = ?";
@@ -118,29 +272,38 @@ public class NoteDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading note: " + e.getMessage());
+			throw new DAOException("Error while reading note", e);
 		}
 	}
 
+	/**
+	 * Updates the heading and text of a note. Concurrent calls share a
+	 * transaction when group commit is enabled, see {@link GroupCommit}.
+	 */
 	public static boolean updateNote(Note note) throws DAOException {
-		try (Connection connection = ConnectionUtil.getConnection()) {
-			String insertQuery = "UPDATE notes SET heading = ? , notes = ? WHERE notes_id = ?";
-			try (PreparedStatement psmt = connection.prepareStatement(insertQuery)) {
+		return NOTE_UPDATES.write(note);
+	}
 
-				// psmt.setString(1, note.getNotesCategory());
-				psmt.setString(1, note.getHeading());
-				psmt.setString(2, note.getNotes());
-				psmt.setInt(3, note.getNotesId());
+	private static boolean writeNoteUpdate(Note note) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			try (PreparedStatement psmt = connection.prepareStatement(UPDATE_NOTE)) {
 
+				bindNoteUpdate(psmt, note);
 				int rowAffected = psmt.executeUpdate();
 
 				return rowAffected > 0;
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while Updating note: " + e.getMessage());
+			throw new DAOException("Error while Updating note", e);
 		}
 	}
 
+	private static void bindNoteUpdate(PreparedStatement psmt, Note note) throws SQLException {
+		psmt.setString(1, note.getHeading());
+		psmt.setString(2, note.getNotes());
+		psmt.setInt(3, note.getNotesId());
+	}
+
 	public static boolean deleteNotes(int notesId) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 
@@ -149,14 +312,44 @@ public class NoteDAO {
 				psmt.setInt(1, notesId);
 
 				int rowAffected = psmt.executeUpdate();
+				if (rowAffected > 0) {
+					IdIndex.NOTES.removed(notesId);
+				}
 
 				return rowAffected > 0;
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while deleting Notes: " + e.getMessage());
+			throw new DAOException("Error while deleting Notes", e);
+		}
+	}
+
+	/**
+	 * Checks whether a note exists. Answered from the {@link IdIndex} when it is
+	 * enabled, otherwise with a primary key probe that reads at most one row.
+	 */
+	public static boolean noteExists(int notesId) throws DAOException {
+		Boolean indexed = IdIndex.NOTES.contains(notesId);
+		if (indexed != null) {
+			return indexed;
+		}
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			String selectQuery = "SELECT 1 FROM notes WHERE notes_id = ? LIMIT 1";
+			try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+				psmt.setInt(1, notesId);
+				try (ResultSet rs = psmt.executeQuery()) {
+					return rs.next();
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while checking notes id", e);
 		}
 	}
 
+	/**
+	 * @deprecated Loads the whole table; use {@link #noteExists(int)} for
+	 *             existence checks.
+	 */
+	@Deprecated
 	public static List<Integer> getAllIds() throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String selectQuery = "SELECT notes_id FROM notes";
@@ -170,7 +363,7 @@ public class NoteDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading notes: " + e.getMessage());
+			throw new DAOException("Error while reading notes", e);
 		}
 	}
 	
@@ -188,7 +381,7 @@ public class NoteDAO {
                 }
             }
         } catch (SQLException e) {
-            throw new DAOException("Error while reading Category: " + e.getMessage());
+            throw new DAOException("Error while reading Category", e);
         }
     }
 
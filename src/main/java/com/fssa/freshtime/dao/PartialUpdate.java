@@ -0,0 +1,96 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fssa.freshtime.models.enums.TaskField;
+
+/**
+ * Updates only the changed columns of a task or subtask row.
+ *
+ * The columns are always listed in {@link TaskField} order, so each set of
+ * changed fields has exactly one statement. It is built on first use and
+ * reused afterwards, which keeps the number of statement shapes the database
+ * and driver see bounded.
+ *
+ * @param <T> The type of the updated rows.
+ */
+final class PartialUpdate<T> {
+
+	/**
+	 * Sets the parameter of one column.
+	 */
+	@FunctionalInterface
+	interface Column<T> {
+		void bind(PreparedStatement psmt, int index, T row) throws SQLException;
+	}
+
+	private final String table;
+	private final String idColumn;
+	private final Map<TaskField, String> names = new EnumMap<>(TaskField.class);
+	private final Map<TaskField, Column<T>> columns = new EnumMap<>(TaskField.class);
+	private final AtomicReferenceArray<String> statements = new AtomicReferenceArray<>(
+			1 << TaskField.values().length);
+
+	PartialUpdate(String table, String idColumn) {
+		this.table = table;
+		this.idColumn = idColumn;
+	}
+
+	PartialUpdate<T> column(TaskField field, String name, Column<T> column) {
+		names.put(field, name);
+		columns.put(field, column);
+		return this;
+	}
+
+	/**
+	 * @param fields The changed fields, not empty.
+	 * @return The number of updated rows.
+	 */
+	int update(Connection connection, T row, int id, Set<TaskField> fields) throws SQLException {
+		EnumSet<TaskField> ordered = EnumSet.copyOf(fields);
+		try (PreparedStatement psmt = connection.prepareStatement(statement(ordered))) {
+			int index = 1;
+			for (TaskField field : ordered) {
+				columns.get(field).bind(psmt, index++, row);
+			}
+			psmt.setInt(index, id);
+			return psmt.executeUpdate();
+		}
+	}
+
+	String statement(EnumSet<TaskField> fields) {
+		int shape = 0;
+		for (TaskField field : fields) {
+			shape |= 1 << field.ordinal();
+		}
+		String statement = statements.get(shape);
+		if (statement == null) {
+			StringBuilder builder = new StringBuilder("UPDATE ").append(table).append(" SET ");
+			for (TaskField field : fields) {
+				builder.append(names.get(field)).append("=?, ");
+			}
+			builder.setLength(builder.length() - 2);
+			statement = builder.append(" WHERE ").append(idColumn).append(" = ?").toString();
+			statements.set(shape, statement);
+		}
+		return statement;
+	}
+
+	static void setTimestamp(PreparedStatement psmt, int index, LocalDateTime value) throws SQLException {
+		psmt.setTimestamp(index, value != null ? Timestamp.valueOf(value) : null);
+	}
+
+	static void setName(PreparedStatement psmt, int index, Enum<?> value) throws SQLException {
+		psmt.setString(index, value != null ? value.toString() : null);
+	}
+
+}
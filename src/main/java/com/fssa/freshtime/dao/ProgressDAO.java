@@ -43,7 +43,7 @@
 //                return rowAffected > 0;
 //            }
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while changing task status: " + e.getMessage());
+//            throw new DAOException("Error while changing task status", e);
 //        }
 //    }
 //
@@ -88,7 +88,7 @@
 //                }
 //            }
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while getting dueDate by taskId: " + e.getMessage());
+//            throw new DAOException("Error while getting dueDate by taskId", e);
 //        }
 //        return null;
 //    }
@@ -115,7 +115,7 @@
 //                }
 //            }
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while getting number of tasks with due date: " + e.getMessage());
+//            throw new DAOException("Error while getting number of tasks with due date", e);
 //        }
 //
 //        return noOfTasks;
@@ -144,7 +144,7 @@
 //                }
 //            }
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while getting number of completed tasks with due date: " + e.getMessage());
+//            throw new DAOException("Error while getting number of completed tasks with due date", e);
 //        }
 //
 //        return completedTasks;
@@ -193,7 +193,7 @@
 //
 //            psmt.executeUpdate();
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while inserting daily progress data: " + e.getMessage());
+//            throw new DAOException("Error while inserting daily progress data", e);
 //        }
 //    }
 //
@@ -216,7 +216,7 @@
 //
 //            psmt.executeUpdate();
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while updating daily progress data: " + e.getMessage());
+//            throw new DAOException("Error while updating daily progress data", e);
 //        }
 //    }
 //
@@ -373,7 +373,7 @@
 //
 //            psmt.executeUpdate();
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while inserting weekly progress data: " + e.getMessage());
+//            throw new DAOException("Error while inserting weekly progress data", e);
 //        }
 //    }
 //
@@ -396,7 +396,7 @@
 //
 //            psmt.executeUpdate();
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while updating weekly progress data: " + e.getMessage());
+//            throw new DAOException("Error while updating weekly progress data", e);
 //        }
 //    }
 //
@@ -423,7 +423,7 @@
 //
 //            psmt.executeUpdate();
 //        } catch (SQLException e) {
-//            throw new DAOException("Error while updating weekly progress data: " + e.getMessage());
+//            throw new DAOException("Error while updating weekly progress data", e);
 //        }
 //    }
 //
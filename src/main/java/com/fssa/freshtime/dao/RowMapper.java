@@ -0,0 +1,16 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set to an object.
+ *
+ * @param <T> The type of the mapped row.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+	T map(ResultSet rs) throws SQLException;
+
+}
@@ -0,0 +1,155 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.UncheckedDAOException;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Runs a query and exposes its rows as a lazily pulled {@link Stream}.
+ *
+ * The stream owns a pooled connection and a forward-only, read-only cursor
+ * until it is closed, so callers must use try-with-resources. Rows are mapped
+ * one at a time as the stream is consumed and nothing is buffered here, so
+ * memory stays flat however many rows the query returns. The resources are
+ * also released as soon as the last row has been read.
+ *
+ * On MySQL the driver otherwise reads the whole result into memory. Unless
+ * the connection url enables {@code useCursorFetch}, the statement is
+ * switched to row-by-row streaming ({@code Integer.MIN_VALUE} fetch size);
+ * with {@code useCursorFetch=true} and on other databases the configured
+ * fetch size ({@code freshtime.stream.fetchSize}, default 500) is used. A
+ * MySQL connection cannot run other statements while a streaming result is
+ * open, which is fine because the stream has the connection to itself.
+ * Inside a {@link com.fssa.freshtime.utils.UnitOfWork} it shares the unit's
+ * connection instead, so close the stream before running other statements.
+ */
+final class StreamingQuery {
+
+	private static final int FETCH_SIZE = Settings.getInt("freshtime.stream.fetchSize", "FRESHTIME_STREAM_FETCH_SIZE",
+			500);
+
+	/**
+	 * Binds the query parameters.
+	 */
+	@FunctionalInterface
+	interface Binder {
+		void bind(PreparedStatement psmt) throws SQLException;
+	}
+
+	private StreamingQuery() {
+	}
+
+	/**
+	 * Executes the query and returns its rows as a stream. Errors while
+	 * executing the query are thrown here; errors while reading rows are thrown
+	 * from the stream operations as {@link UncheckedDAOException}.
+	 *
+	 * @param selectQuery  The query to run.
+	 * @param binder       Sets the query parameters.
+	 * @param mapper       Maps each row.
+	 * @param errorMessage Prefix of the error messages.
+	 * @return A stream that must be closed by the caller.
+	 * @throws DAOException If the query could not be executed.
+	 */
+	static <T> Stream<T> stream(String selectQuery, Binder binder, RowMapper<T> mapper, String errorMessage)
+			throws DAOException {
+		Connection connection = null;
+		PreparedStatement psmt = null;
+		ResultSet rs = null;
+		try {
+			connection = ConnectionUtil.getConnection();
+			psmt = connection.prepareStatement(selectQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			psmt.setFetchSize(fetchSize(connection));
+			binder.bind(psmt);
+			rs = psmt.executeQuery();
+		} catch (SQLException | RuntimeException e) {
+			closeQuietly(rs, psmt, connection);
+			throw new DAOException(errorMessage, e);
+		}
+
+		RowSpliterator<T> rows = new RowSpliterator<>(connection, psmt, rs, mapper, errorMessage);
+		return StreamSupport.stream(rows, false).onClose(rows::close);
+	}
+
+	private static int fetchSize(Connection connection) throws SQLException {
+		String product = connection.getMetaData().getDatabaseProductName();
+		if ("MySQL".equalsIgnoreCase(product)) {
+			String url = connection.getMetaData().getURL();
+			if (url == null || !url.toLowerCase().contains("usecursorfetch=true")) {
+				return Integer.MIN_VALUE;
+			}
+		}
+		return FETCH_SIZE;
+	}
+
+	private static void closeQuietly(AutoCloseable... resources) {
+		for (AutoCloseable resource : resources) {
+			if (resource != null) {
+				try {
+					resource.close();
+				} catch (Exception e) {
+					// Already failing or done; the pool discards broken connections.
+				}
+			}
+		}
+	}
+
+	private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+		private final Connection connection;
+		private final PreparedStatement psmt;
+		private final ResultSet rs;
+		private final RowMapper<T> mapper;
+		private final String errorMessage;
+		private boolean closed;
+
+		RowSpliterator(Connection connection, PreparedStatement psmt, ResultSet rs, RowMapper<T> mapper,
+				String errorMessage) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.connection = connection;
+			this.psmt = psmt;
+			this.rs = rs;
+			this.mapper = mapper;
+			this.errorMessage = errorMessage;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (closed) {
+				return false;
+			}
+			T row;
+			try {
+				if (!rs.next()) {
+					close();
+					return false;
+				}
+				row = mapper.map(rs);
+			} catch (SQLException | RuntimeException e) {
+				close();
+				throw new UncheckedDAOException(new DAOException(errorMessage, e));
+			}
+			action.accept(row);
+			return true;
+		}
+
+		void close() {
+			if (!closed) {
+				closed = true;
+				closeQuietly(rs, psmt, connection);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.fssa.freshtime.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.TaskAggregate;
+import com.fssa.freshtime.models.Tasktags;
+import com.fssa.freshtime.models.enums.TaskPriority;
+import com.fssa.freshtime.models.enums.TaskStatus;
+import com.fssa.freshtime.utils.ConnectionUtil;
+
+/**
+ * Loads tasks together with their subtasks and tags in a single query.
+ *
+ * The query is a UNION ALL of two branches: one row per subtask (joined to
+ * its task, or a single row with null subtask columns when the task has
+ * none), and one row per tag. Keeping tags in their own branch avoids the
+ * subtasks x tags row explosion a plain double join would produce.
+ */
+public class TaskAggregateDAO {
+
+	private static final String SUBTASK_ROW = "S";
+
+	private static final String SELECT_AGGREGATE = "SELECT 'S' AS row_kind, t.task_id, t.user_id, t.taskname, t.startdate, t.enddate, "
+			+ "t.priority, t.status, t.notes, t.reminder, t.created_date_time, "
+			+ "s.subtask_id, s.subtask, s.startdate AS s_startdate, s.enddate AS s_enddate, s.priority AS s_priority, "
+			+ "s.status AS s_status, s.notes AS s_notes, s.reminder AS s_reminder, s.created_date_time AS s_created_date_time, "
+			+ "NULL AS tag_id, NULL AS tag_name "
+			+ "FROM tasks t LEFT JOIN subtasks s ON s.task_id = t.task_id WHERE t.%1$s = ? "
+			+ "UNION ALL "
+			+ "SELECT 'T', t.task_id, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, "
+			+ "NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, "
+			+ "g.tag_id, g.tag_name "
+			+ "FROM tasks t JOIN tasktags g ON g.task_id = t.task_id WHERE t.%1$s = ? "
+			+ "ORDER BY task_id";
+
+	private static final String SELECT_BY_TASK_ID = String.format(SELECT_AGGREGATE, "task_id");
+	private static final String SELECT_BY_USER_ID = String.format(SELECT_AGGREGATE, "user_id");
+
+	private TaskAggregateDAO() {
+	}
+
+	/**
+	 * Reads a task with its subtasks and tags in one round trip.
+	 *
+	 * @param taskId The ID of the task.
+	 * @return The aggregate, or null if the task does not exist.
+	 * @throws DAOException If an error occurs while reading the task.
+	 */
+	public static TaskAggregate readTaskAggregate(int taskId) throws DAOException {
+		List<TaskAggregate> aggregates = read(SELECT_BY_TASK_ID, taskId);
+		return aggregates.isEmpty() ? null : aggregates.get(0);
+	}
+
+	/**
+	 * Reads every task of a user with their subtasks and tags in one round trip.
+	 *
+	 * @param userId The ID of the user.
+	 * @return The aggregates ordered by task id, empty if the user has no tasks.
+	 * @throws DAOException If an error occurs while reading the tasks.
+	 */
+	public static List<TaskAggregate> readTaskAggregatesByUser(int userId) throws DAOException {
+		return read(SELECT_BY_USER_ID, userId);
+	}
+
+	private static List<TaskAggregate> read(String selectQuery, int id) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+				psmt.setInt(1, id);
+				psmt.setInt(2, id);
+
+				try (ResultSet rs = psmt.executeQuery()) {
+					Map<Integer, TaskAggregate> aggregates = new LinkedHashMap<>();
+
+					while (rs.next()) {
+						int taskId = rs.getInt("task_id");
+						TaskAggregate aggregate = aggregates.computeIfAbsent(taskId, key -> new TaskAggregate());
+
+						if (SUBTASK_ROW.equals(rs.getString("row_kind"))) {
+							if (aggregate.getTask() == null) {
+								aggregate.setTask(mapTask(rs));
+							}
+							rs.getInt("subtask_id");
+							if (!rs.wasNull()) {
+								aggregate.getSubtasks().add(mapSubtask(rs));
+							}
+						} else {
+							Tasktags tag = new Tasktags();
+							tag.setTagId(rs.getInt("tag_id"));
+							tag.setTaskId(taskId);
+							tag.setTagName(rs.getString("tag_name"));
+							aggregate.getTags().add(tag);
+						}
+					}
+					return new ArrayList<>(aggregates.values());
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while reading task details", e);
+		}
+	}
+
+	private static Task mapTask(ResultSet rs) throws SQLException {
+		Task task = new Task();
+
+		task.setTaskId(rs.getInt("task_id"));
+		task.setUserId(rs.getInt("user_id"));
+		task.setTaskName(rs.getString("taskname"));
+		task.setStartDate(toLocalDateTime(rs.getTimestamp("startdate")));
+		task.setEndDate(toLocalDateTime(rs.getTimestamp("enddate")));
+		String priority = rs.getString("priority");
+		task.setPriority(priority != null ? TaskPriority.valueOf(priority) : null);
+		String status = rs.getString("status");
+		task.setStatus(status != null ? TaskStatus.valueOf(status) : null);
+		task.setNotes(rs.getString("notes"));
+		task.setReminder(toLocalDateTime(rs.getTimestamp("reminder")));
+		task.setCreatedDateTime(toLocalDateTime(rs.getTimestamp("created_date_time")));
+		task.clearChanges();
+
+		return task;
+	}
+
+	private static Subtask mapSubtask(ResultSet rs) throws SQLException {
+		Subtask subtask = new Subtask();
+
+		subtask.setSubtaskId(rs.getInt("subtask_id"));
+		subtask.setTaskId(rs.getInt("task_id"));
+		subtask.setSubtaskName(rs.getString("subtask"));
+		subtask.setStartDate(toLocalDateTime(rs.getTimestamp("s_startdate")));
+		subtask.setEndDate(toLocalDateTime(rs.getTimestamp("s_enddate")));
+		String priority = rs.getString("s_priority");
+		subtask.setPriority(priority != null ? TaskPriority.valueOf(priority) : null);
+		String status = rs.getString("s_status");
+		subtask.setStatus(status != null ? TaskStatus.valueOf(status) : null);
+		subtask.setNotes(rs.getString("s_notes"));
+		subtask.setReminder(toLocalDateTime(rs.getTimestamp("s_reminder")));
+		subtask.setCreatedDateTime(toLocalDateTime(rs.getTimestamp("s_created_date_time")));
+		subtask.clearChanges();
+
+		return subtask;
+	}
+
+	private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+		return timestamp != null ? timestamp.toLocalDateTime() : null;
+	}
+
+}
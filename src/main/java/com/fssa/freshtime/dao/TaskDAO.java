@@ -1,15 +1,28 @@
 package com.fssa.freshtime.dao;
 
+import com.fssa.freshtime.models.enums.StatusTransitionOutcome;
+import com.fssa.freshtime.models.enums.TaskField;
 import com.fssa.freshtime.models.enums.TaskPriority;
 import com.fssa.freshtime.models.enums.TaskStatus;
 import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.models.BatchResult;
+import com.fssa.freshtime.models.Page;
 import com.fssa.freshtime.models.Subtask;
 import com.fssa.freshtime.models.Task;
 import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.PageToken;
+import com.fssa.freshtime.utils.UnitOfWork;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) class for managing tasks and related data in the
@@ -20,8 +33,14 @@ public class TaskDAO {
 	public static final String TASKID = "task_id";
 	public static final String TASKNAME = "taskname";
 
+	private static final String INSERT_TASK = "INSERT INTO tasks (user_id, taskname, startdate, enddate, priority, status, reminder, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	static final GroupCommit<Task> TASK_INSERTS = new GroupCommit<>("task", INSERT_TASK, TaskDAO::bindTask,
+			TaskDAO::taskInserted, TaskDAO::insertTask);
+
 	/**
-	 * Creates a new task in the database.
+	 * Creates a new task in the database. Concurrent calls share a transaction
+	 * when group commit is enabled, see {@link GroupCommit}.
 	 *
 	 * @param task The task object to be created.
 	 * @return True if the task creation is successful, false otherwise.
@@ -29,30 +48,58 @@ public class TaskDAO {
 	 **/
 
 	public static boolean addTask(Task task) throws DAOException {
+		return TASK_INSERTS.write(task);
+	}
+
+	private static boolean insertTask(Task task) throws DAOException {
 	    try (Connection connection = ConnectionUtil.getConnection()) {
-	        String insertQuery = "INSERT INTO tasks (user_id, taskname, startdate, enddate, priority, status, reminder, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-	        
-	        try (PreparedStatement psmt = connection.prepareStatement(insertQuery)) {
-	            psmt.setInt(1, task.getUserId());
-	            psmt.setString(2, task.getTaskName());
-	            psmt.setTimestamp(3, java.sql.Timestamp.valueOf(task.getStartDate()));
-	            psmt.setTimestamp(4, java.sql.Timestamp.valueOf(task.getEndDate()));
-	            
-	            psmt.setString(5, task.getPriority() != null ? task.getPriority().toString() : null);
-	            psmt.setString(6, task.getStatus() != null ? task.getStatus().toString() : null);
-	            psmt.setTimestamp(7, task.getReminder() != null ? java.sql.Timestamp.valueOf(task.getReminder()) : null);
-	            psmt.setString(8, task.getNotes() != null ? task.getNotes() : null);
+	        try (PreparedStatement psmt = connection.prepareStatement(INSERT_TASK, Statement.RETURN_GENERATED_KEYS)) {
+	            bindTask(psmt, task);
 
 	            int rowAffected = psmt.executeUpdate();
+	            try (ResultSet keys = psmt.getGeneratedKeys()) {
+	                if (keys.next()) {
+	                    taskInserted(task, keys.getInt(1));
+	                }
+	            }
 	            return rowAffected > 0;
 	        }
 	    } catch (SQLException e) {
-	        throw new DAOException("Error while adding task: " + e.getMessage());
+	        throw new DAOException("Error while adding task", e);
 	    }
 	}
 
 
 
+	/**
+	 * Inserts many tasks in one transaction using JDBC batching. The generated
+	 * id is set on each inserted task.
+	 *
+	 * @param tasks The tasks to be created.
+	 * @return The generated ids and the rows the database rejected.
+	 * @throws DAOException If an error occurs while creating the tasks.
+	 */
+	public static BatchResult addTasks(List<Task> tasks) throws DAOException {
+		return BatchInsert.insert(INSERT_TASK, tasks, TaskDAO::bindTask, TaskDAO::taskInserted,
+				"Error while adding tasks");
+	}
+
+	private static void bindTask(PreparedStatement psmt, Task task) throws SQLException {
+		psmt.setInt(1, task.getUserId());
+		psmt.setString(2, task.getTaskName());
+		psmt.setTimestamp(3, Timestamp.valueOf(task.getStartDate()));
+		psmt.setTimestamp(4, Timestamp.valueOf(task.getEndDate()));
+		psmt.setString(5, task.getPriority() != null ? task.getPriority().toString() : null);
+		psmt.setString(6, task.getStatus() != null ? task.getStatus().toString() : null);
+		psmt.setTimestamp(7, task.getReminder() != null ? Timestamp.valueOf(task.getReminder()) : null);
+		psmt.setString(8, task.getNotes());
+	}
+
+	private static void taskInserted(Task task, int taskId) {
+		task.setTaskId(taskId);
+		IdIndex.TASKS.added(taskId);
+	}
+
 	/**
 	 * Retrieves a list of tasks from the database.
 	 *
@@ -70,30 +117,142 @@ public class TaskDAO {
 				try (ResultSet rs = psmt.executeQuery()) {
 					List<Task> taskList = new ArrayList<>();
 					while (rs.next()) {
-						Task task = new Task();
+						taskList.add(mapTask(rs));
+					}
+					return taskList;
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while reading tasks", e);
+		}
+	}
 
-						task.setTaskId(rs.getInt("task_id"));
-						task.setUserId(rs.getInt("user_id"));
-						task.setTaskName(rs.getString("taskname"));
-						
-						task.setStartDate(rs.getTimestamp("startdate") != null ? rs.getTimestamp("startdate").toLocalDateTime() : null);
-						task.setEndDate(rs.getTimestamp("enddate") != null ? rs.getTimestamp("enddate").toLocalDateTime() : null);
-						task.setPriority(rs.getString("priority") != null ? TaskPriority.valueOf(rs.getString("priority")) : null);
-						task.setStatus(rs.getString("status") != null ? TaskStatus.valueOf(rs.getString("status")) : null);
-						task.setNotes(rs.getString("notes") != null ? rs.getString("notes") : null);
-						task.setReminder(rs.getTimestamp("reminder") != null ? rs.getTimestamp("reminder").toLocalDateTime() : null);
-						task.setCreatedDateTime(rs.getTimestamp("created_date_time") != null ? rs.getTimestamp("created_date_time").toLocalDateTime() : null);
+	/**
+	 * Streams a user's tasks without loading them into a list. The stream holds
+	 * a database connection until it is closed, so use it in a
+	 * try-with-resources block.
+	 *
+	 * @param userId The ID of the user.
+	 * @return A lazily read stream of the user's tasks.
+	 * @throws DAOException If an error occurs while querying tasks.
+	 */
+	public static Stream<Task> streamTaskByUser(int userId) throws DAOException {
+		String selectQuery = "SELECT task_id, user_id, taskname, startdate, enddate, priority, status, "
+				+ "notes, reminder, created_date_time FROM tasks WHERE user_id = ?";
+		return StreamingQuery.stream(selectQuery, psmt -> psmt.setInt(1, userId), TaskDAO::mapTask,
+				"Error while reading tasks");
+	}
+
+	/**
+	 * Streams every task, for exports and batch jobs. The stream holds a
+	 * database connection until it is closed.
+	 *
+	 * @return A lazily read stream of all tasks ordered by task id.
+	 * @throws DAOException If an error occurs while querying tasks.
+	 */
+	public static Stream<Task> streamAllTasks() throws DAOException {
+		String selectQuery = "SELECT task_id, user_id, taskname, startdate, enddate, priority, status, "
+				+ "notes, reminder, created_date_time FROM tasks ORDER BY task_id";
+		return StreamingQuery.stream(selectQuery, psmt -> {
+		}, TaskDAO::mapTask, "Error while reading tasks");
+	}
+
+	private static final String TASK_PAGE_COLUMNS = "SELECT task_id, user_id, taskname, startdate, enddate, priority, status, "
+			+ "notes, reminder, created_date_time FROM tasks ";
 
-						taskList.add(task);
+	/**
+	 * Reads one page of a user's tasks ordered by end date, then task id. Tasks
+	 * without an end date come last.
+	 *
+	 * The page seeks past the last row of the previous page instead of using an
+	 * offset, so it reads only the rows it returns (through the
+	 * {@code (user_id, enddate)} index) and rows inserted meanwhile never shift
+	 * later pages.
+	 *
+	 * @param userId The ID of the user.
+	 * @param after  The position after which the page starts, or null for the
+	 *               first page.
+	 * @param limit  The maximum number of tasks on the page.
+	 * @return The page, whose next token is null on the last page.
+	 * @throws DAOException If an error occurs while reading tasks.
+	 */
+	public static Page<Task> readTaskPageByUser(int userId, PageToken after, int limit) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			List<Task> taskList = new ArrayList<>(limit + 1);
+
+			if (after == null || !after.isNullKey()) {
+				String selectQuery = TASK_PAGE_COLUMNS + "WHERE user_id = ? AND enddate IS NOT NULL"
+						+ (after == null ? "" : " AND (enddate > ? OR (enddate = ? AND task_id > ?))")
+						+ " ORDER BY enddate, task_id LIMIT ?";
+
+				try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+					int index = 1;
+					psmt.setInt(index++, userId);
+					if (after != null) {
+						Timestamp endDate = Timestamp.valueOf(after.getDateTimeKey());
+						psmt.setTimestamp(index++, endDate);
+						psmt.setTimestamp(index++, endDate);
+						psmt.setInt(index++, after.getId());
 					}
-					return taskList;
+					psmt.setInt(index, limit + 1);
+					readTasks(psmt, taskList);
 				}
 			}
+
+			if (taskList.size() <= limit) {
+				String selectQuery = TASK_PAGE_COLUMNS + "WHERE user_id = ? AND enddate IS NULL"
+						+ (after != null && after.isNullKey() ? " AND task_id > ?" : "")
+						+ " ORDER BY task_id LIMIT ?";
+
+				try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+					int index = 1;
+					psmt.setInt(index++, userId);
+					if (after != null && after.isNullKey()) {
+						psmt.setInt(index++, after.getId());
+					}
+					psmt.setInt(index, limit + 1 - taskList.size());
+					readTasks(psmt, taskList);
+				}
+			}
+
+			if (taskList.size() <= limit) {
+				return new Page<>(taskList, null);
+			}
+			taskList.remove(limit);
+			Task last = taskList.get(limit - 1);
+			return new Page<>(taskList, PageToken.of(PageToken.TASKS, last.getEndDate(), last.getTaskId()).encode());
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading tasks: " + e.getMessage());
+			throw new DAOException("Error while reading tasks", e);
+		}
+	}
+
+	private static void readTasks(PreparedStatement psmt, List<Task> taskList) throws SQLException {
+		try (ResultSet rs = psmt.executeQuery()) {
+			while (rs.next()) {
+				taskList.add(mapTask(rs));
+			}
 		}
 	}
 
+	private static Task mapTask(ResultSet rs) throws SQLException {
+		Task task = new Task();
+
+		task.setTaskId(rs.getInt("task_id"));
+		task.setUserId(rs.getInt("user_id"));
+		task.setTaskName(rs.getString("taskname"));
+		
+		task.setStartDate(rs.getTimestamp("startdate") != null ? rs.getTimestamp("startdate").toLocalDateTime() : null);
+		task.setEndDate(rs.getTimestamp("enddate") != null ? rs.getTimestamp("enddate").toLocalDateTime() : null);
+		task.setPriority(rs.getString("priority") != null ? TaskPriority.valueOf(rs.getString("priority")) : null);
+		task.setStatus(rs.getString("status") != null ? TaskStatus.valueOf(rs.getString("status")) : null);
+		task.setNotes(rs.getString("notes") != null ? rs.getString("notes") : null);
+		task.setReminder(rs.getTimestamp("reminder") != null ? rs.getTimestamp("reminder").toLocalDateTime() : null);
+		task.setCreatedDateTime(rs.getTimestamp("created_date_time") != null ? rs.getTimestamp("created_date_time").toLocalDateTime() : null);
+		task.clearChanges();
+
+		return task;
+	}
+
 
 	public static Task readTaskByTaskId(int taskId) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
@@ -120,23 +279,75 @@ public class TaskDAO {
 						task.setNotes(rs.getString("notes") != null ? rs.getString("notes") : null);
 						task.setReminder(rs.getTimestamp("reminder") != null ? rs.getTimestamp("reminder").toLocalDateTime() : null);
 						task.setCreatedDateTime(rs.getTimestamp("created_date_time") != null ? rs.getTimestamp("created_date_time").toLocalDateTime() : null);
+						task.clearChanges();
 
 						return task;
 					}
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading tasks: " + e.getMessage());
+			throw new DAOException("Error while reading tasks", e);
 		}
 		return null;
 	}
 
+	/**
+	 * Reads many tasks with a few {@code IN (...)} queries, see {@link MultiGet}.
+	 *
+	 * @param taskIds The IDs of the tasks; duplicates are ignored.
+	 * @return The tasks found by ID, in input order. Missing tasks have no entry.
+	 * @throws DAOException If an error occurs while reading the tasks.
+	 */
+	public static Map<Integer, Task> readTasksByIds(Collection<Integer> taskIds) throws DAOException {
+		Map<Integer, Task> found = new HashMap<>();
+		MultiGet.read(TASK_PAGE_COLUMNS + "WHERE task_id IN ", taskIds, TaskDAO::mapTask,
+				task -> found.put(task.getTaskId(), task), "Error while reading tasks");
+
+		Map<Integer, Task> tasks = new LinkedHashMap<>();
+		for (Integer taskId : taskIds) {
+			Task task = found.get(taskId);
+			if (task != null) {
+				tasks.put(taskId, task);
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * Checks whether a task exists. Answered from the {@link IdIndex} when it is
+	 * enabled, otherwise with a primary key probe that reads at most one row.
+	 *
+	 * @param taskId The ID of the task.
+	 * @return True if the task exists, false otherwise.
+	 * @throws DAOException If an error occurs while checking the task.
+	 */
+	public static boolean taskExists(int taskId) throws DAOException {
+		Boolean indexed = IdIndex.TASKS.contains(taskId);
+		if (indexed != null) {
+			return indexed;
+		}
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			String selectQuery = "SELECT 1 FROM tasks WHERE task_id = ? LIMIT 1";
+			try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+				psmt.setInt(1, taskId);
+				try (ResultSet rs = psmt.executeQuery()) {
+					return rs.next();
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while checking task id", e);
+		}
+	}
+
 	/**
 	 * Retrieves a list of all task IDs from the database.
 	 *
 	 * @return An ArrayList of integers representing task IDs.
 	 * @throws DAOException If an error occurs while reading task IDs.
+	 * @deprecated Loads the whole table; use {@link #taskExists(int)} for
+	 *             existence checks.
 	 */
+	@Deprecated
 
 	public static List<Integer> getAllIds() throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
@@ -151,43 +362,130 @@ public class TaskDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading task id's: " + e.getMessage());
+			throw new DAOException("Error while reading task id's", e);
 		}
 	}
 
+	private static final PartialUpdate<Task> TASK_UPDATE = new PartialUpdate<Task>("tasks", TASKID)
+			.column(TaskField.NAME, TASKNAME, (psmt, i, task) -> psmt.setString(i, task.getTaskName()))
+			.column(TaskField.START_DATE, "startdate", (psmt, i, task) -> PartialUpdate.setTimestamp(psmt, i, task.getStartDate()))
+			.column(TaskField.END_DATE, "enddate", (psmt, i, task) -> PartialUpdate.setTimestamp(psmt, i, task.getEndDate()))
+			.column(TaskField.PRIORITY, "priority", (psmt, i, task) -> PartialUpdate.setName(psmt, i, task.getPriority()))
+			.column(TaskField.STATUS, "status", (psmt, i, task) -> PartialUpdate.setName(psmt, i, task.getStatus()))
+			.column(TaskField.REMINDER, "reminder", (psmt, i, task) -> PartialUpdate.setTimestamp(psmt, i, task.getReminder()))
+			.column(TaskField.NOTES, "notes", (psmt, i, task) -> psmt.setString(i, task.getNotes()));
+
+	private static final PartialUpdate<Subtask> SUBTASK_UPDATE = new PartialUpdate<Subtask>("subtasks", "subtask_id")
+			.column(TaskField.NAME, "subtask", (psmt, i, subtask) -> psmt.setString(i, subtask.getSubtaskName()))
+			.column(TaskField.START_DATE, "startdate", (psmt, i, subtask) -> PartialUpdate.setTimestamp(psmt, i, subtask.getStartDate()))
+			.column(TaskField.END_DATE, "enddate", (psmt, i, subtask) -> PartialUpdate.setTimestamp(psmt, i, subtask.getEndDate()))
+			.column(TaskField.PRIORITY, "priority", (psmt, i, subtask) -> PartialUpdate.setName(psmt, i, subtask.getPriority()))
+			.column(TaskField.STATUS, "status", (psmt, i, subtask) -> PartialUpdate.setName(psmt, i, subtask.getStatus()))
+			.column(TaskField.REMINDER, "reminder", (psmt, i, subtask) -> PartialUpdate.setTimestamp(psmt, i, subtask.getReminder()))
+			.column(TaskField.NOTES, "notes", (psmt, i, subtask) -> psmt.setString(i, subtask.getNotes()));
+
 	/**
-	 * Updates a specific attribute of a task in the database.
+	 * Updates the columns of the fields changed since the task was read, see
+	 * {@link Task#getChangedFields()}. A task that was not read from the
+	 * database has all its columns updated. Once the update commits, the
+	 * written fields count as unchanged.
 	 *
-	 * @param taskId         The ID of the task to update.
-	 * @param attributeName  The name of the attribute to update.
-	 * @param attributeValue The new value of the attribute.
-	 * @return True if the attribute update is successful, false otherwise.
-	 * @throws DAOException If an error occurs while updating the task attribute.
+	 * @param task The task to update.
+	 * @return True if the task exists, false otherwise.
+	 * @throws DAOException If an error occurs while updating the task.
 	 */
-
 	public static boolean updateTask(Task task) throws DAOException {
+		Set<TaskField> fields = task.getChangedFields();
+		if (fields.isEmpty()) {
+			return taskExists(task.getTaskId());
+		}
 		try (Connection connection = ConnectionUtil.getConnection()) {
-			String updateQuery = "UPDATE tasks SET taskname=?, startdate=?, enddate=?, priority=?, status=?, reminder=?, notes=? WHERE task_id = ?";
-			
-			try (PreparedStatement psmt = connection.prepareStatement(updateQuery)) {
-				
-				psmt.setString(1, task.getTaskName());
-				
-				psmt.setTimestamp(2, task.getStartDate() != null ? java.sql.Timestamp.valueOf(task.getStartDate()) : null);
-			    psmt.setTimestamp(3, task.getEndDate() != null ? java.sql.Timestamp.valueOf(task.getEndDate()) : null);
-			    psmt.setString(4, task.getPriority() != null ? task.getPriority().toString() : null);
-			    psmt.setString(5, task.getStatus() != null ? task.getStatus().toString() : null);
-			    psmt.setTimestamp(6, task.getReminder() != null ? java.sql.Timestamp.valueOf(task.getReminder()) : null);
-			    psmt.setString(7, task.getNotes() != null ? task.getNotes() : null);
-				
-				psmt.setInt(8, task.getTaskId());
+			boolean updated = TASK_UPDATE.update(connection, task, task.getTaskId(), fields) > 0;
+			UnitOfWork.afterCommit(() -> task.clearChanges(fields));
+			return updated;
+		} catch (SQLException e) {
+			throw new DAOException("Error while updating task", e);
+		}
+	}
 
-				int rowAffected = psmt.executeUpdate();
-				return rowAffected > 0;
+	private static final int STATUS_CHUNK_SIZE = 500;
+
+	/**
+	 * Moves many tasks to a new status with one UPDATE per 500 ids, inside one
+	 * transaction. The current statuses are read and locked first so that
+	 * only allowed transitions ({@link TaskStatus#canTransitionTo}) are
+	 * applied. Tasks without a status are treated as open.
+	 *
+	 * @param taskIds The IDs of the tasks; duplicates are ignored.
+	 * @param target  The new status.
+	 * @return The outcome for each distinct task ID, in input order.
+	 * @throws DAOException If an error occurs while updating the tasks.
+	 */
+	public static Map<Integer, StatusTransitionOutcome> transitionTaskStatus(Collection<Integer> taskIds,
+			TaskStatus target) throws DAOException {
+		Map<Integer, StatusTransitionOutcome> outcomes = new LinkedHashMap<>();
+		for (Integer taskId : taskIds) {
+			outcomes.put(taskId, StatusTransitionOutcome.NOT_FOUND);
+		}
+		List<Integer> ids = new ArrayList<>(outcomes.keySet());
+		List<Integer> eligible = new ArrayList<>();
+
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			connection.setAutoCommit(false);
+			try {
+				for (int start = 0; start < ids.size(); start += STATUS_CHUNK_SIZE) {
+					List<Integer> chunk = ids.subList(start, Math.min(start + STATUS_CHUNK_SIZE, ids.size()));
+					int size = MultiGet.bucket(chunk.size());
+					String selectQuery = "SELECT task_id, status FROM tasks WHERE task_id IN ("
+							+ MultiGet.placeholders(size) + ") FOR UPDATE";
+
+					try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+						MultiGet.setIds(psmt, 1, chunk, size);
+						try (ResultSet rs = psmt.executeQuery()) {
+							while (rs.next()) {
+								int taskId = rs.getInt(TASKID);
+								String status = rs.getString("status");
+								TaskStatus current = status != null ? TaskStatus.valueOf(status) : null;
+
+								if (current == target) {
+									outcomes.put(taskId, StatusTransitionOutcome.ALREADY_IN_STATUS);
+								} else if (current == null || current.canTransitionTo(target)) {
+									eligible.add(taskId);
+								} else {
+									outcomes.put(taskId, StatusTransitionOutcome.TRANSITION_NOT_ALLOWED);
+								}
+							}
+						}
+					}
+				}
+
+				for (int start = 0; start < eligible.size(); start += STATUS_CHUNK_SIZE) {
+					List<Integer> chunk = eligible.subList(start, Math.min(start + STATUS_CHUNK_SIZE, eligible.size()));
+					int size = MultiGet.bucket(chunk.size());
+					String updateQuery = "UPDATE tasks SET status = ? WHERE task_id IN (" + MultiGet.placeholders(size)
+							+ ")";
+
+					try (PreparedStatement psmt = connection.prepareStatement(updateQuery)) {
+						psmt.setString(1, target.toString());
+						MultiGet.setIds(psmt, 2, chunk, size);
+						psmt.executeUpdate();
+					}
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while updating task: " + e.getMessage());
+			throw new DAOException("Error while updating task status", e);
 		}
+
+		for (Integer taskId : eligible) {
+			outcomes.put(taskId, StatusTransitionOutcome.UPDATED);
+		}
+		return outcomes;
 	}
 
 	/**
@@ -199,38 +497,84 @@ public class TaskDAO {
 	 */
 
 	public static boolean deleteTask(int taskId) throws DAOException {
-		try (Connection connection = ConnectionUtil.getConnection()) {
+		return UnitOfWork.run(() -> {
+			try (Connection connection = ConnectionUtil.getConnection()) {
 
-			String deleteTaskQuery = "DELETE FROM tasks WHERE task_id=?";
-			try (PreparedStatement taskPsmt = connection.prepareStatement(deleteTaskQuery)) {
-				taskPsmt.setInt(1, taskId);
+				String deleteTagsQuery = "DELETE FROM tasktags WHERE task_id=?";
+				try (PreparedStatement tagsPsmt = connection.prepareStatement(deleteTagsQuery)) {
+					tagsPsmt.setInt(1, taskId);
+					tagsPsmt.executeUpdate();
+				}
 
-				int rowAffected = taskPsmt.executeUpdate();
+				String deleteSubtasksQuery = "DELETE FROM subtasks WHERE task_id=?";
+				try (PreparedStatement subtasksPsmt = connection.prepareStatement(deleteSubtasksQuery)) {
+					subtasksPsmt.setInt(1, taskId);
+					if (subtasksPsmt.executeUpdate() > 0) {
+						IdIndex.SUBTASKS.invalidate();
+					}
+				}
 
-				return rowAffected > 0;
+				String deleteTaskQuery = "DELETE FROM tasks WHERE task_id=?";
+				try (PreparedStatement taskPsmt = connection.prepareStatement(deleteTaskQuery)) {
+					taskPsmt.setInt(1, taskId);
+
+					int rowAffected = taskPsmt.executeUpdate();
+					if (rowAffected > 0) {
+						IdIndex.TASKS.removed(taskId);
+					}
+
+					return rowAffected > 0;
+				}
+			} catch (SQLException e) {
+				throw new DAOException("Error while deleting task", e);
 			}
-		} catch (SQLException e) {
-			throw new DAOException("Error while deleting task: " + e.getMessage());
-		}
+		}, Function.identity());
 	}
 
 
+	/**
+	 * Inserts many subtasks in one transaction using JDBC batching. The
+	 * generated id is set on each inserted subtask.
+	 *
+	 * @param subtasks The subtasks to be created.
+	 * @return The generated ids and the rows the database rejected.
+	 * @throws DAOException If an error occurs while creating the subtasks.
+	 */
+	public static BatchResult createSubtasks(List<Subtask> subtasks) throws DAOException {
+		String insertQuery = "INSERT INTO subtasks (task_id, subtask, status) VALUES (?, ?, ?)";
+
+		return BatchInsert.insert(insertQuery, subtasks, (psmt, subtask) -> {
+			psmt.setInt(1, subtask.getTaskId());
+			psmt.setString(2, subtask.getSubtaskName());
+			psmt.setString(3, TaskStatus.TODO.toString());
+		}, (subtask, subtaskId) -> {
+			subtask.setSubtaskId(subtaskId);
+			IdIndex.SUBTASKS.added(subtaskId);
+		}, "Error while creating subtasks");
+	}
+
 	public static boolean createSubTask(Subtask subtask) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String insertQuery = "INSERT INTO subtasks (task_id, subtask, status) VALUES (?, ?, ?)";
 			
-			try (PreparedStatement psmt = connection.prepareStatement(insertQuery)) {
+			try (PreparedStatement psmt = connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS)) {
 				
 				psmt.setInt(1, subtask.getTaskId());
 				psmt.setString(2, subtask.getSubtaskName());
 				psmt.setString(3, TaskStatus.TODO.toString());
 
 				int rowAffected = psmt.executeUpdate();
+				try (ResultSet keys = psmt.getGeneratedKeys()) {
+					if (keys.next()) {
+						subtask.setSubtaskId(keys.getInt(1));
+						IdIndex.SUBTASKS.added(subtask.getSubtaskId());
+					}
+				}
 
 				return rowAffected > 0;
 			}
 		} catch (SQLException e) {
-			throw new DAOException(e.getMessage());
+			throw new DAOException(e);
 		}
 	}
 
@@ -261,6 +605,7 @@ public class TaskDAO {
 						subtask.setNotes(rs.getString("notes") != null ? rs.getString("notes") : null);
 						subtask.setReminder(rs.getTimestamp("reminder") != null ? rs.getTimestamp("reminder").toLocalDateTime() : null);
 						subtask.setCreatedDateTime(rs.getTimestamp("created_date_time") != null ? rs.getTimestamp("created_date_time").toLocalDateTime() : null);
+						subtask.clearChanges();
 
 						subtaskList.add(subtask);
 					}
@@ -268,10 +613,51 @@ public class TaskDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading Subtasks: " + e.getMessage());
+			throw new DAOException("Error while reading Subtasks", e);
 		}
 	}
 
+	/**
+	 * Reads the subtasks of many tasks with a few {@code IN (...)} queries, see
+	 * {@link MultiGet}.
+	 *
+	 * @param taskIds The IDs of the tasks; duplicates are ignored.
+	 * @return The subtasks of each task, in input order. A task without
+	 *         subtasks, or that does not exist, has an empty list.
+	 * @throws DAOException If an error occurs while reading the subtasks.
+	 */
+	public static Map<Integer, List<Subtask>> readSubtasksByTaskIds(Collection<Integer> taskIds) throws DAOException {
+		Map<Integer, List<Subtask>> subtasks = new LinkedHashMap<>();
+		for (Integer taskId : taskIds) {
+			if (taskId != null) {
+				subtasks.putIfAbsent(taskId, new ArrayList<>());
+			}
+		}
+		MultiGet.read("SELECT subtask_id, task_id, subtask, startdate, enddate, priority, status, reminder, notes, "
+				+ "created_date_time FROM subtasks WHERE task_id IN ", subtasks.keySet(), TaskDAO::mapSubtask,
+				subtask -> subtasks.get(subtask.getTaskId()).add(subtask), "Error while reading Subtasks");
+		return subtasks;
+	}
+
+	private static Subtask mapSubtask(ResultSet rs) throws SQLException {
+		Subtask subtask = new Subtask();
+
+		subtask.setSubtaskId(rs.getInt("subtask_id"));
+		subtask.setTaskId(rs.getInt("task_id"));
+		subtask.setSubtaskName(rs.getString("subtask"));
+
+		subtask.setStartDate(rs.getTimestamp("startdate") != null ? rs.getTimestamp("startdate").toLocalDateTime() : null);
+		subtask.setEndDate(rs.getTimestamp("enddate") != null ? rs.getTimestamp("enddate").toLocalDateTime() : null);
+		subtask.setPriority(rs.getString("priority") != null ? TaskPriority.valueOf(rs.getString("priority")) : null);
+		subtask.setStatus(rs.getString("status") != null ? TaskStatus.valueOf(rs.getString("status")) : null);
+		subtask.setNotes(rs.getString("notes"));
+		subtask.setReminder(rs.getTimestamp("reminder") != null ? rs.getTimestamp("reminder").toLocalDateTime() : null);
+		subtask.setCreatedDateTime(rs.getTimestamp("created_date_time") != null ? rs.getTimestamp("created_date_time").toLocalDateTime() : null);
+		subtask.clearChanges();
+
+		return subtask;
+	}
+
 	public static Subtask readSubTaskById(int subtaskId) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String selectSubtaskQuery = "SELECT task_id, subtask, startdate, enddate, priority, status, reminder, notes, created_date_time FROM subtasks WHERE subtask_id = ?";
@@ -297,15 +683,46 @@ public class TaskDAO {
 						subtask.setNotes(rs.getString("notes") != null ? rs.getString("notes") : null);
 						subtask.setReminder(rs.getTimestamp("reminder") != null ? rs.getTimestamp("reminder").toLocalDateTime() : null);
 						subtask.setCreatedDateTime(rs.getTimestamp("created_date_time") != null ? rs.getTimestamp("created_date_time").toLocalDateTime() : null);
+						subtask.clearChanges();
 					}
 					return subtask;
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while getting Subtasks: " + e.getMessage());
+			throw new DAOException("Error while getting Subtasks", e);
 		}
 	}
 
+	/**
+	 * Checks whether a subtask exists, see {@link #taskExists(int)}.
+	 *
+	 * @param subtaskId The ID of the subtask.
+	 * @return True if the subtask exists, false otherwise.
+	 * @throws DAOException If an error occurs while checking the subtask.
+	 */
+	public static boolean subtaskExists(int subtaskId) throws DAOException {
+		Boolean indexed = IdIndex.SUBTASKS.contains(subtaskId);
+		if (indexed != null) {
+			return indexed;
+		}
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			String selectQuery = "SELECT 1 FROM subtasks WHERE subtask_id = ? LIMIT 1";
+			try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+				psmt.setInt(1, subtaskId);
+				try (ResultSet rs = psmt.executeQuery()) {
+					return rs.next();
+				}
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error while checking subtask id", e);
+		}
+	}
+
+	/**
+	 * @deprecated Loads the whole table; use {@link #subtaskExists(int)} for
+	 *             existence checks.
+	 */
+	@Deprecated
 	public static List<Integer> getAllSubtaskIds() throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection()) {
 			String selectQuery = "SELECT subtask_id FROM subtasks";
@@ -319,32 +736,29 @@ public class TaskDAO {
 				}
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while reading subtask id: " + e.getMessage());
+			throw new DAOException("Error while reading subtask id", e);
 		}
 	}
 
+	/**
+	 * Updates the columns of the fields changed since the subtask was read,
+	 * like {@link #updateTask(Task)}.
+	 *
+	 * @param subtask The subtask to update.
+	 * @return True if the subtask exists, false otherwise.
+	 * @throws DAOException If an error occurs while updating the subtask.
+	 */
 	public static boolean updatesubtask(Subtask subtask) throws DAOException {
+		Set<TaskField> fields = subtask.getChangedFields();
+		if (fields.isEmpty()) {
+			return subtaskExists(subtask.getSubtaskId());
+		}
 		try (Connection connection = ConnectionUtil.getConnection()) {
-			String updateQuery = "UPDATE subtasks SET subtask=?, startdate=?, enddate=?, priority=?, status=?, reminder=?, notes=? WHERE subtask_id = ? ";
-			
-			try (PreparedStatement psmt = connection.prepareStatement(updateQuery)) {
-				
-					psmt.setString(1, subtask.getSubtaskName());
-					
-					psmt.setTimestamp(2, subtask.getStartDate() != null ? java.sql.Timestamp.valueOf(subtask.getStartDate()) : null);
-				    psmt.setTimestamp(3, subtask.getEndDate() != null ? java.sql.Timestamp.valueOf(subtask.getEndDate()) : null);
-				    psmt.setString(4, subtask.getPriority() != null ? subtask.getPriority().toString() : null);
-				    psmt.setString(5, subtask.getStatus() != null ? subtask.getStatus().toString() : null);
-				    psmt.setTimestamp(6, subtask.getReminder() != null ? java.sql.Timestamp.valueOf(subtask.getReminder()) : null);
-				    psmt.setString(7, subtask.getNotes() != null ? subtask.getNotes() : null);
-				    
-				    psmt.setInt(8, subtask.getSubtaskId());
-
-				int rowAffected = psmt.executeUpdate();
-				return rowAffected > 0;
-			}
+			boolean updated = SUBTASK_UPDATE.update(connection, subtask, subtask.getSubtaskId(), fields) > 0;
+			UnitOfWork.afterCommit(() -> subtask.clearChanges(fields));
+			return updated;
 		} catch (SQLException e) {
-			throw new DAOException("Error while updating subtask: " + e.getMessage());
+			throw new DAOException("Error while updating subtask", e);
 		}
 	}
 
@@ -357,10 +771,13 @@ public class TaskDAO {
 				subtasksPsmt.setInt(1, subtaskId);
 
 				int rowAffected = subtasksPsmt.executeUpdate();
+				if (rowAffected > 0) {
+					IdIndex.SUBTASKS.removed(subtaskId);
+				}
 				return rowAffected > 0;
 			}
 		} catch (SQLException e) {
-			throw new DAOException("Error while deleting subtask: " + e.getMessage());
+			throw new DAOException("Error while deleting subtask", e);
 		}
 	}
 
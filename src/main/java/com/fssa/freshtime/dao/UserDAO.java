@@ -4,7 +4,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
 import com.fssa.freshtime.models.User;
 import com.fssa.freshtime.utils.ConnectionUtil;
 import com.fssa.freshtime.utils.PasswordUtil;
@@ -13,6 +15,14 @@ public class UserDAO {
 	
 	
     public boolean userRegistration(User user) throws DAOException {
+        return userRegistration(user, PasswordUtil.encryptPassword(user.getPassword()));
+    }
+
+    /**
+     * Registers a user whose password has already been hashed, so no
+     * connection is held while hashing.
+     */
+    public boolean userRegistration(User user, String passwordHash) throws DAOException {
         try (Connection connection = ConnectionUtil.getConnection()) {
 
             String insertQuery = "INSERT INTO users (email_id, user_name, password) VALUES (?, ?, ?)";
@@ -20,17 +30,15 @@ public class UserDAO {
 
                 psmt.setString(1, user.getEmailId());
                 psmt.setString(2, user.getUserName());
-                
-                String hashPassword = PasswordUtil.encryptPassword(user.getPassword());
-    			psmt.setString(3, hashPassword);
-    			
-                // psmt.setString(3, user.getPassword());
+                psmt.setString(3, passwordHash);
 
                 int rowAffected = psmt.executeUpdate();
                 return rowAffected > 0;
             }
+        } catch (SQLIntegrityConstraintViolationException e) {
+            throw new DAOException(ErrorCode.DUPLICATE_EMAIL, "Error while registering user", e);
         } catch (SQLException e) {
-            throw new DAOException("Error while registering user: " + e.getMessage());
+            throw new DAOException("Error while registering user", e);
         }
     }
     
@@ -59,32 +67,35 @@ public class UserDAO {
                     }
                 }
             } catch (SQLException e) {
-                throw new DAOException("Error while checking email existence: " + e.getMessage());
+                throw new DAOException("Error while checking email existence", e);
             }
         } catch (SQLException e) {
             // Handle any exceptions here, e.g., log or rethrow
-            throw new DAOException("Error while getting a database connection: " + e.getMessage());
+            throw new DAOException("Error while getting a database connection", e);
         }
         return false;
     }
 
+    /**
+     * Checks a login. The stored hash is read first and verified after the
+     * connection has been returned.
+     */
     public boolean userLogin(String emailId, String password) throws DAOException, SQLException {
+        String storedPassword = null;
         try (Connection connection = ConnectionUtil.getConnection()) {
-            String selectQuery = "SELECT COUNT(*) FROM users WHERE email_Id = ? AND password = ?";
+            String selectQuery = "SELECT password FROM users WHERE email_Id = ?";
             try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
 
                 psmt.setString(1, emailId);
-                psmt.setString(2, password);
 
                 try (ResultSet rs = psmt.executeQuery()) {
                     if (rs.next()) {
-                        int count = rs.getInt(1);
-                        return count > 0;
+                        storedPassword = rs.getString("password");
                     }
                 }
             }
         }
-        return false;
+        return PasswordUtil.verifyPassword(password, storedPassword);
     }
     
     
@@ -99,21 +110,42 @@ public class UserDAO {
                 
                 try (ResultSet rs = psmt.executeQuery()) {
                     if (rs.next()) {
-                        User user = new User();
-                        user.setUserId(rs.getInt("user_id"));
-                        user.setEmailId(rs.getString("email_id"));
-                        user.setUserName(rs.getString("user_name"));
-                        user.setPassword(rs.getString("password"));
-                        return user;
+                        return mapUser(rs);
                     }
                 }
             }
         } catch (SQLException e) {
-            throw new DAOException(e.getMessage());
+            throw new DAOException(e);
         }
         return null; // User not found
     }
 
+    public User getUserById(int userId) throws DAOException {
+        try (Connection connection = ConnectionUtil.getConnection()) {
+            String selectQuery = "SELECT user_id, email_Id, user_name, password FROM users WHERE user_id = ?";
+            try (PreparedStatement psmt = connection.prepareStatement(selectQuery)) {
+                psmt.setInt(1, userId);
+                try (ResultSet rs = psmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapUser(rs);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Error while reading user", e);
+        }
+        return null;
+    }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setUserId(rs.getInt("user_id"));
+        user.setEmailId(rs.getString("email_id"));
+        user.setUserName(rs.getString("user_name"));
+        user.setPassword(rs.getString("password"));
+        return user;
+    }
+
     
     
     public boolean changeUserName(String email, String userName) throws DAOException {
@@ -130,17 +162,23 @@ public class UserDAO {
             return rowsUpdated > 0;
             
         } catch (SQLException e) {
-            throw new DAOException("Error while changing user name: " + e.getMessage());
+            throw new DAOException("Error while changing user name", e);
         }
     }
     
     public boolean changePassword(String emailId, String newPassword) throws DAOException, SQLException {
+        return changePasswordHash(emailId, PasswordUtil.encryptPassword(newPassword));
+    }
+
+    /**
+     * Stores an already hashed password, so no connection is held while
+     * hashing.
+     */
+    public boolean changePasswordHash(String emailId, String passwordHash) throws DAOException, SQLException {
         try (Connection connection = ConnectionUtil.getConnection()) {
             String updateQuery = "UPDATE users SET password = ? WHERE email_Id = ?";
             try (PreparedStatement psmt = connection.prepareStatement(updateQuery)) {
-            	
-            	String hashPassword = PasswordUtil.encryptPassword(newPassword);
-                psmt.setString(1, hashPassword);
+                psmt.setString(1, passwordHash);
                 psmt.setString(2, emailId);
 
                 int rowAffected = psmt.executeUpdate();
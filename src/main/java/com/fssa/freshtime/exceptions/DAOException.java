@@ -2,12 +2,32 @@ package com.fssa.freshtime.exceptions;
 
 import java.io.Serial;
 
-public class DAOException extends Exception {
+public class DAOException extends FreshTimeException {
 
     @Serial
     private static final long serialVersionUID = -5868756665431641926L;
 
     public DAOException(String message) {
-        super(message);
+        super(ErrorCode.DATABASE_ERROR, message);
+    }
+
+    public DAOException(ErrorCode code, String message) {
+        super(code, message);
+    }
+
+    /**
+     * @param context What was being done, for example "Error while adding task".
+     * @param cause   The underlying error; its message follows the context.
+     */
+    public DAOException(String context, Throwable cause) {
+        super(null, context, cause, ErrorCode.DATABASE_ERROR);
+    }
+
+    public DAOException(ErrorCode code, String context, Throwable cause) {
+        super(code, context, cause, ErrorCode.DATABASE_ERROR);
+    }
+
+    public DAOException(Throwable cause) {
+        super(null, null, cause, ErrorCode.DATABASE_ERROR);
     }
 }
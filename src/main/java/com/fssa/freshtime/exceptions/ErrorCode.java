@@ -0,0 +1,40 @@
+package com.fssa.freshtime.exceptions;
+
+/**
+ * Stable codes for the failures of the DAO and service layers. Callers should
+ * branch on the code rather than on the message text.
+ *
+ * Expected codes describe normal outcomes of bad input, such as an unknown id
+ * or a registered email. Exceptions with these codes skip the stack trace
+ * unless {@code freshtime.exceptions.stackless=false}.
+ */
+public enum ErrorCode {
+
+	/** The input failed validation. */
+	INVALID_INPUT(true),
+	/** An id does not refer to an existing row. */
+	INVALID_ID(true),
+	/** The requested row does not exist. */
+	NOT_FOUND(true),
+	/** The email is already registered. */
+	DUPLICATE_EMAIL(true),
+	/** The request was rejected to protect the application; retry later. */
+	OVERLOADED(true),
+	/** The request did not finish before its deadline. */
+	TIMEOUT(true),
+	/** The database failed or rejected the statement. */
+	DATABASE_ERROR(false),
+	/** Any other failure. */
+	INTERNAL(false);
+
+	private final boolean expected;
+
+	ErrorCode(boolean expected) {
+		this.expected = expected;
+	}
+
+	public boolean isExpected() {
+		return expected;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.fssa.freshtime.exceptions;
+
+import java.io.Serial;
+
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Base of the checked exceptions of the application, carrying an
+ * {@link ErrorCode}.
+ *
+ * An exception with an expected code does not fill in its stack trace, which
+ * is most of the cost of throwing, so invalid input and unknown ids are cheap
+ * to report. Wrapping another exception keeps it as the cause instead of
+ * copying its message; the combined message {@code "context: cause message"}
+ * is only built if someone reads it. A wrapper takes over the code of a
+ * wrapped {@code FreshTimeException} when it does not set its own.
+ */
+public abstract class FreshTimeException extends Exception {
+
+	@Serial
+	private static final long serialVersionUID = 4127605936011358270L;
+
+	private static final boolean STACKLESS = Settings.getBoolean("freshtime.exceptions.stackless",
+			"FRESHTIME_EXCEPTIONS_STACKLESS", true);
+
+	private final ErrorCode code;
+	private final String context;
+	private final boolean wrapsMessage;
+	private transient String message;
+
+	protected FreshTimeException(ErrorCode code, String message) {
+		super(message, null, true, !(STACKLESS && code.isExpected()));
+		this.code = code;
+		this.context = null;
+		this.wrapsMessage = false;
+		this.message = message;
+	}
+
+	/**
+	 * @param code    The code, or null to take it from the cause.
+	 * @param context What was being done, or null to use the cause's message
+	 *                as is.
+	 * @param cause   The exception being wrapped.
+	 * @param other   The code if neither is given.
+	 */
+	protected FreshTimeException(ErrorCode code, String context, Throwable cause, ErrorCode other) {
+		this(resolve(code, cause, other), context, cause);
+	}
+
+	private FreshTimeException(ErrorCode code, String context, Throwable cause) {
+		super(null, cause, true, !(STACKLESS && code.isExpected()));
+		this.code = code;
+		this.context = context;
+		this.wrapsMessage = true;
+	}
+
+	private static ErrorCode resolve(ErrorCode code, Throwable cause, ErrorCode other) {
+		if (code != null) {
+			return code;
+		}
+		if (cause instanceof FreshTimeException freshTimeException) {
+			return freshTimeException.getCode();
+		}
+		return other;
+	}
+
+	public ErrorCode getCode() {
+		return code;
+	}
+
+	/**
+	 * @return True if this is an expected outcome rather than a fault.
+	 */
+	public boolean isExpected() {
+		return code.isExpected();
+	}
+
+	@Override
+	public String getMessage() {
+		if (message == null && wrapsMessage) {
+			String causeMessage = getCause() != null ? getCause().getMessage() : null;
+			if (context == null) {
+				message = causeMessage;
+			} else {
+				message = causeMessage == null ? context : context + ": " + causeMessage;
+			}
+		}
+		return message;
+	}
+
+}
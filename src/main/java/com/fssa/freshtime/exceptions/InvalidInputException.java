@@ -1,10 +1,10 @@
 package com.fssa.freshtime.exceptions;
 
-public class InvalidInputException  extends  Exception{
+public class InvalidInputException  extends  FreshTimeException{
     
 	private static final long serialVersionUID = -9102962645369217192L;
 
 	public InvalidInputException(String msg) {
-        super(msg);
+        super(ErrorCode.INVALID_INPUT, msg);
     }
 }
@@ -1,16 +1,28 @@
 package com.fssa.freshtime.exceptions;
 
-public class ServiceException extends Exception {
+public class ServiceException extends FreshTimeException {
 
 
 	private static final long serialVersionUID = 1L;
 
 	public ServiceException(String msg) {
-        super(msg);
+        super(ErrorCode.INTERNAL, msg);
     }
 
-	public ServiceException(String string, Exception e) {
-		super(string,e);
+	public ServiceException(ErrorCode code, String msg) {
+		super(code, msg);
+	}
+
+	/**
+	 * @param context What was being done, for example "Error while reading task".
+	 * @param cause   The underlying error; its message follows the context.
+	 */
+	public ServiceException(String context, Throwable cause) {
+		super(null, context, cause, ErrorCode.INTERNAL);
+	}
+
+	public ServiceException(Throwable cause) {
+		super(null, null, cause, ErrorCode.INTERNAL);
 	}
 
 }
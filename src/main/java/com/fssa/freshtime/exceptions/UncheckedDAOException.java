@@ -0,0 +1,22 @@
+package com.fssa.freshtime.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Wraps a {@link DAOException} raised while a streamed result is being
+ * consumed, where checked exceptions cannot be thrown.
+ */
+public class UncheckedDAOException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 3712893640527794615L;
+
+    public UncheckedDAOException(DAOException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized DAOException getCause() {
+        return (DAOException) super.getCause();
+    }
+}
@@ -0,0 +1,49 @@
+package com.fssa.freshtime.models;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch insert. Rows are identified by their index in the list
+ * that was passed in.
+ */
+public class BatchResult {
+
+	private final List<Integer> generatedKeys;
+	private final Map<Integer, String> failures;
+
+	public BatchResult(List<Integer> generatedKeys, Map<Integer, String> failures) {
+		this.generatedKeys = Collections.unmodifiableList(generatedKeys);
+		this.failures = Collections.unmodifiableMap(failures);
+	}
+
+	/**
+	 * @return The generated id of each row in input order, null for rows that
+	 *         failed.
+	 */
+	public List<Integer> getGeneratedKeys() {
+		return generatedKeys;
+	}
+
+	/**
+	 * @return The failure reason of each failed row, keyed by row index.
+	 */
+	public Map<Integer, String> getFailures() {
+		return failures;
+	}
+
+	public int getInsertedCount() {
+		return generatedKeys.size() - failures.size();
+	}
+
+	public boolean hasFailures() {
+		return !failures.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "BatchResult [generatedKeys=" + generatedKeys + ", failures=" + failures + "]";
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.fssa.freshtime.models;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the home screen of a user shows, loaded at one point in time.
+ *
+ * The lists and the map cannot be modified. The tasks, subtasks and notes in
+ * them are copies owned by this snapshot.
+ */
+public class Dashboard {
+
+	private final int userId;
+	private final List<Task> tasks;
+	private final Map<Integer, List<Subtask>> subtasksByTask;
+	private final List<Note> notes;
+	private final List<String> categories;
+	private final LocalDateTime loadedAt;
+
+	public Dashboard(int userId, List<Task> tasks, Map<Integer, List<Subtask>> subtasksByTask, List<Note> notes,
+			List<String> categories, LocalDateTime loadedAt) {
+		this.userId = userId;
+		this.tasks = List.copyOf(tasks);
+		Map<Integer, List<Subtask>> subtasks = new LinkedHashMap<>();
+		subtasksByTask.forEach((taskId, list) -> subtasks.put(taskId, List.copyOf(list)));
+		this.subtasksByTask = Collections.unmodifiableMap(subtasks);
+		this.notes = List.copyOf(notes);
+		this.categories = List.copyOf(categories);
+		this.loadedAt = loadedAt;
+	}
+
+	public int getUserId() {
+		return userId;
+	}
+
+	public List<Task> getTasks() {
+		return tasks;
+	}
+
+	/**
+	 * @return The subtasks of a task, empty if it has none.
+	 */
+	public List<Subtask> getSubtasks(int taskId) {
+		return subtasksByTask.getOrDefault(taskId, List.of());
+	}
+
+	public Map<Integer, List<Subtask>> getSubtasksByTask() {
+		return subtasksByTask;
+	}
+
+	public List<Note> getNotes() {
+		return notes;
+	}
+
+	public List<String> getCategories() {
+		return categories;
+	}
+
+	public LocalDateTime getLoadedAt() {
+		return loadedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "Dashboard [userId=" + userId + ", tasks=" + tasks.size() + ", notes=" + notes.size() + ", categories="
+				+ categories + ", loadedAt=" + loadedAt + "]";
+	}
+
+}
@@ -11,6 +11,23 @@ public class Note {
 	private String notes;
 	private LocalDate createdOn;
 
+	public Note() {
+	}
+
+	/**
+	 * Copies all fields of another note.
+	 *
+	 * @param other The note to copy.
+	 */
+	public Note(Note other) {
+		this.notesId = other.notesId;
+		this.userId = other.userId;
+		this.heading = other.heading;
+		this.notesCategory = other.notesCategory;
+		this.notes = other.notes;
+		this.createdOn = other.createdOn;
+	}
+
 	public int getNotesId() {
 		return notesId;
 	}
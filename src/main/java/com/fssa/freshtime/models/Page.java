@@ -0,0 +1,44 @@
+package com.fssa.freshtime.models;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated listing.
+ *
+ * @param <T> The type of the rows.
+ */
+public class Page<T> {
+
+	/** Largest page a caller may request. */
+	public static final int MAX_SIZE = 100;
+
+	private final List<T> items;
+	private final String nextToken;
+
+	public Page(List<T> items, String nextToken) {
+		this.items = items;
+		this.nextToken = nextToken;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return The token to pass back for the next page, or null on the last
+	 *         page.
+	 */
+	public String getNextToken() {
+		return nextToken;
+	}
+
+	public boolean hasNext() {
+		return nextToken != null;
+	}
+
+	@Override
+	public String toString() {
+		return "Page [items=" + items + ", nextToken=" + nextToken + "]";
+	}
+
+}
@@ -1,7 +1,11 @@
 package com.fssa.freshtime.models;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
+import com.fssa.freshtime.models.enums.TaskField;
 import com.fssa.freshtime.models.enums.TaskPriority;
 import com.fssa.freshtime.models.enums.TaskStatus;
 
@@ -16,7 +20,34 @@ public class Subtask {
     private String notes;
     private LocalDateTime reminder;
     private LocalDateTime createdDateTime;
-    
+
+	/**
+	 * Fields changed since the subtask was read or saved, or null before that,
+	 * when every field counts as changed.
+	 */
+	private EnumSet<TaskField> changes;
+
+	public Subtask() {
+	}
+
+	/**
+	 * Copies all fields of another subtask.
+	 *
+	 * @param other The subtask to copy.
+	 */
+	public Subtask(Subtask other) {
+		this.subtaskId = other.subtaskId;
+		this.taskId = other.taskId;
+		this.subtaskName = other.subtaskName;
+		this.startDate = other.startDate;
+		this.endDate = other.endDate;
+		this.status = other.status;
+		this.priority = other.priority;
+		this.notes = other.notes;
+		this.reminder = other.reminder;
+		this.createdDateTime = other.createdDateTime;
+		this.changes = other.changes == null ? null : EnumSet.copyOf(other.changes);
+	}
     
 	public int getSubtaskId() {
 		return subtaskId;
@@ -34,42 +65,49 @@ public class Subtask {
 		return subtaskName;
 	}
 	public void setSubtaskName(String subtaskName) {
+		changed(TaskField.NAME, this.subtaskName, subtaskName);
 		this.subtaskName = subtaskName;
 	}
 	public LocalDateTime getStartDate() {
 		return startDate;
 	}
 	public void setStartDate(LocalDateTime startDate) {
+		changed(TaskField.START_DATE, this.startDate, startDate);
 		this.startDate = startDate;
 	}
 	public LocalDateTime getEndDate() {
 		return endDate;
 	}
 	public void setEndDate(LocalDateTime endDate) {
+		changed(TaskField.END_DATE, this.endDate, endDate);
 		this.endDate = endDate;
 	}
 	public TaskPriority getPriority() {
 		return priority;
 	}
 	public void setPriority(TaskPriority priority) {
+		changed(TaskField.PRIORITY, this.priority, priority);
 		this.priority = priority;
 	}
 	public TaskStatus getStatus() {
 		return status;
 	}
 	public void setStatus(TaskStatus status) {
+		changed(TaskField.STATUS, this.status, status);
 		this.status = status;
 	}
 	public String getNotes() {
 		return notes;
 	}
 	public void setNotes(String notes) {
+		changed(TaskField.NOTES, this.notes, notes);
 		this.notes = notes;
 	}
 	public LocalDateTime getReminder() {
 		return reminder;
 	}
 	public void setReminder(LocalDateTime reminder) {
+		changed(TaskField.REMINDER, this.reminder, reminder);
 		this.reminder = reminder;
 	}
 	public LocalDateTime getCreatedDateTime() {
@@ -79,6 +117,40 @@ public class Subtask {
 		this.createdDateTime = createdDateTime;
 	}
 	
+	/**
+	 * @return The fields changed since the subtask was read from or saved to the
+	 *         database, or every field if it never was.
+	 */
+	public Set<TaskField> getChangedFields() {
+		return changes == null ? EnumSet.allOf(TaskField.class) : EnumSet.copyOf(changes);
+	}
+
+	/**
+	 * Marks the subtask as matching the database, for example after reading it.
+	 */
+	public void clearChanges() {
+		changes = EnumSet.noneOf(TaskField.class);
+	}
+
+	/**
+	 * Marks the given fields as saved; other changes are kept.
+	 *
+	 * @param saved The fields written to the database.
+	 */
+	public void clearChanges(Set<TaskField> saved) {
+		if (changes == null) {
+			changes = EnumSet.noneOf(TaskField.class);
+		} else {
+			changes.removeAll(saved);
+		}
+	}
+
+	private void changed(TaskField field, Object oldValue, Object newValue) {
+		if (changes != null && !Objects.equals(oldValue, newValue)) {
+			changes.add(field);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "Subtask [subtaskId=" + subtaskId + ", taskId=" + taskId + ", subtaskName=" + subtaskName
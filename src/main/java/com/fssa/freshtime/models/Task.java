@@ -1,10 +1,14 @@
 package com.fssa.freshtime.models;
 
 
+import com.fssa.freshtime.models.enums.TaskField;
 import com.fssa.freshtime.models.enums.TaskPriority;
 import com.fssa.freshtime.models.enums.TaskStatus;
 
 import java.time.*;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Task Object
@@ -21,7 +25,34 @@ public class Task {
     private String notes;
     private LocalDateTime reminder;
     private LocalDateTime createdDateTime;
-    
+
+	/**
+	 * Fields changed since the task was read or saved, or null before that,
+	 * when every field counts as changed.
+	 */
+	private EnumSet<TaskField> changes;
+
+	public Task() {
+	}
+
+	/**
+	 * Copies all fields of another task.
+	 *
+	 * @param other The task to copy.
+	 */
+	public Task(Task other) {
+		this.taskId = other.taskId;
+		this.userId = other.userId;
+		this.taskName = other.taskName;
+		this.startDate = other.startDate;
+		this.endDate = other.endDate;
+		this.priority = other.priority;
+		this.status = other.status;
+		this.notes = other.notes;
+		this.reminder = other.reminder;
+		this.createdDateTime = other.createdDateTime;
+		this.changes = other.changes == null ? null : EnumSet.copyOf(other.changes);
+	}
     
 	public int getTaskId() {
 		return taskId;
@@ -39,42 +70,49 @@ public class Task {
 		return taskName;
 	}
 	public void setTaskName(String taskName) {
+		changed(TaskField.NAME, this.taskName, taskName);
 		this.taskName = taskName;
 	}
 	public LocalDateTime getStartDate() {
 		return startDate;
 	}
 	public void setStartDate(LocalDateTime startDate) {
+		changed(TaskField.START_DATE, this.startDate, startDate);
 		this.startDate = startDate;
 	}
 	public LocalDateTime getEndDate() {
 		return endDate;
 	}
 	public void setEndDate(LocalDateTime endDate) {
+		changed(TaskField.END_DATE, this.endDate, endDate);
 		this.endDate = endDate;
 	}
 	public TaskPriority getPriority() {
 		return priority;
 	}
 	public void setPriority(TaskPriority priority) {
+		changed(TaskField.PRIORITY, this.priority, priority);
 		this.priority = priority;
 	}
 	public TaskStatus getStatus() {
 		return status;
 	}
 	public void setStatus(TaskStatus status) {
+		changed(TaskField.STATUS, this.status, status);
 		this.status = status;
 	}
 	public String getNotes() {
 		return notes;
 	}
 	public void setNotes(String notes) {
+		changed(TaskField.NOTES, this.notes, notes);
 		this.notes = notes;
 	}
 	public LocalDateTime getReminder() {
 		return reminder;
 	}
 	public void setReminder(LocalDateTime reminder) {
+		changed(TaskField.REMINDER, this.reminder, reminder);
 		this.reminder = reminder;
 	}
 	public LocalDateTime getCreatedDateTime() {
@@ -83,6 +121,40 @@ public class Task {
 	public void setCreatedDateTime(LocalDateTime createdDateTime) {
 		this.createdDateTime = createdDateTime;
 	}
+	/**
+	 * @return The fields changed since the task was read from or saved to the
+	 *         database, or every field if it never was.
+	 */
+	public Set<TaskField> getChangedFields() {
+		return changes == null ? EnumSet.allOf(TaskField.class) : EnumSet.copyOf(changes);
+	}
+
+	/**
+	 * Marks the task as matching the database, for example after reading it.
+	 */
+	public void clearChanges() {
+		changes = EnumSet.noneOf(TaskField.class);
+	}
+
+	/**
+	 * Marks the given fields as saved; other changes are kept.
+	 *
+	 * @param saved The fields written to the database.
+	 */
+	public void clearChanges(Set<TaskField> saved) {
+		if (changes == null) {
+			changes = EnumSet.noneOf(TaskField.class);
+		} else {
+			changes.removeAll(saved);
+		}
+	}
+
+	private void changed(TaskField field, Object oldValue, Object newValue) {
+		if (changes != null && !Objects.equals(oldValue, newValue)) {
+			changes.add(field);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "Task [taskId=" + taskId + ", userId=" + userId + ", taskName=" + taskName + ", startDate=" + startDate
@@ -0,0 +1,44 @@
+package com.fssa.freshtime.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A task together with its subtasks and tags, as shown when a task is opened.
+ */
+public class TaskAggregate {
+
+	private Task task;
+	private List<Subtask> subtasks = new ArrayList<>();
+	private List<Tasktags> tags = new ArrayList<>();
+
+	public Task getTask() {
+		return task;
+	}
+
+	public void setTask(Task task) {
+		this.task = task;
+	}
+
+	public List<Subtask> getSubtasks() {
+		return subtasks;
+	}
+
+	public void setSubtasks(List<Subtask> subtasks) {
+		this.subtasks = subtasks;
+	}
+
+	public List<Tasktags> getTags() {
+		return tags;
+	}
+
+	public void setTags(List<Tasktags> tags) {
+		this.tags = tags;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskAggregate [task=" + task + ", subtasks=" + subtasks + ", tags=" + tags + "]";
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.fssa.freshtime.models;
+
+public class Tasktags {
+
+	private int tagId;
+	private int taskId;
+	private String tagName;
+
+	public int getTagId() {
+		return tagId;
+	}
+
+	public void setTagId(int tagId) {
+		this.tagId = tagId;
+	}
+
+	public int getTaskId() {
+		return taskId;
+	}
+
+	public void setTaskId(int taskId) {
+		this.taskId = taskId;
+	}
+
+	public String getTagName() {
+		return tagName;
+	}
+
+	public void setTagName(String tagName) {
+		this.tagName = tagName;
+	}
+
+	@Override
+	public String toString() {
+		return "Tasktags [tagId=" + tagId + ", taskId=" + taskId + ", tagName=" + tagName + "]";
+	}
+
+}
@@ -8,6 +8,21 @@ public class User {
     private String userName;
     private String password;
 
+    public User() {
+    }
+
+    /**
+     * Copies all fields of another user.
+     *
+     * @param other The user to copy.
+     */
+    public User(User other) {
+        this.userId = other.userId;
+        this.emailId = other.emailId;
+        this.userName = other.userName;
+        this.password = other.password;
+    }
+
     public int getUserId() {
         return userId;
     }
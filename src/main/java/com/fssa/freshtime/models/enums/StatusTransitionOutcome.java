@@ -0,0 +1,11 @@
+package com.fssa.freshtime.models.enums;
+
+/**
+ * Result of a status change for one task in a bulk transition.
+ */
+public enum StatusTransitionOutcome {
+    UPDATED,
+    NOT_FOUND,
+    ALREADY_IN_STATUS,
+    TRANSITION_NOT_ALLOWED;
+}
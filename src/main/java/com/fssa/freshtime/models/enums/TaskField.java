@@ -0,0 +1,15 @@
+package com.fssa.freshtime.models.enums;
+
+/**
+ * The updatable fields of a task or subtask, in the order their columns
+ * appear in an UPDATE statement.
+ */
+public enum TaskField {
+    NAME,
+    START_DATE,
+    END_DATE,
+    PRIORITY,
+    STATUS,
+    REMINDER,
+    NOTES;
+}
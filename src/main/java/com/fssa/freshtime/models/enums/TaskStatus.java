@@ -6,6 +6,21 @@ public enum TaskStatus {
     COMPLETED,
     BLOCKER,
     OVERDUE;
-}
-
 
+    /**
+     * Whether a task in this status may be moved to the given status. Open
+     * tasks may move anywhere; a completed task can only be reopened.
+     *
+     * @param target The new status.
+     * @return True if the transition is allowed.
+     */
+    public boolean canTransitionTo(TaskStatus target) {
+        if (target == null || target == this) {
+            return false;
+        }
+        if (this == COMPLETED) {
+            return target == TODO || target == INPROGRESS;
+        }
+        return true;
+    }
+}
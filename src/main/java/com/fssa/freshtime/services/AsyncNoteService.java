@@ -0,0 +1,69 @@
+package com.fssa.freshtime.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.models.Page;
+
+/**
+ * Non-blocking facade of {@link NoteService}. Independent reads can be started
+ * together and combined without holding a caller thread per query.
+ *
+ * Each method runs the matching NoteService method on the executor and returns
+ * its result as a {@link CompletableFuture}; a failure completes the future
+ * with the same {@link com.fssa.freshtime.exceptions.ServiceException}. Calls
+ * run on their own threads, so they never join a
+ * {@link com.fssa.freshtime.utils.UnitOfWork} of the caller.
+ */
+public class AsyncNoteService {
+
+	private final NoteService service;
+	private final Executor executor;
+
+	/**
+	 * Uses a new NoteService and {@link ServiceExecutors#defaultExecutor()}.
+	 */
+	public AsyncNoteService() {
+		this(new NoteService(), ServiceExecutors.defaultExecutor());
+	}
+
+	public AsyncNoteService(NoteService service, Executor executor) {
+		this.service = service;
+		this.executor = executor;
+	}
+
+	public CompletableFuture<Boolean> createNote(Note note) {
+		return ServiceExecutors.supply(executor, () -> service.createNote(note));
+	}
+
+	public CompletableFuture<List<Note>> readAllNotesByUser(int userId) {
+		return ServiceExecutors.supply(executor, () -> service.readAllNotesByUser(userId));
+	}
+
+	public CompletableFuture<Page<Note>> readNotesPageByUser(int userId, String pageToken, int pageSize) {
+		return ServiceExecutors.supply(executor, () -> service.readNotesPageByUser(userId, pageToken, pageSize));
+	}
+
+	public CompletableFuture<Note> readNotesByNotesId(int notesId) {
+		return ServiceExecutors.supply(executor, () -> service.readNotesByNotesId(notesId));
+	}
+
+	public CompletableFuture<List<Note>> readNotesByCategory(String category, int userId) {
+		return ServiceExecutors.supply(executor, () -> service.readNotesByCategory(category, userId));
+	}
+
+	public CompletableFuture<Boolean> updateNote(Note note) {
+		return ServiceExecutors.supply(executor, () -> service.updateNote(note));
+	}
+
+	public CompletableFuture<Boolean> deleteNotes(int notesId) {
+		return ServiceExecutors.supply(executor, () -> service.deleteNotes(notesId));
+	}
+
+	public CompletableFuture<List<String>> getAllCategory() {
+		return ServiceExecutors.supply(executor, () -> service.getAllCategory());
+	}
+
+}
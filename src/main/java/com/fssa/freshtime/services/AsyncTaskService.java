@@ -0,0 +1,107 @@
+package com.fssa.freshtime.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.fssa.freshtime.models.BatchResult;
+import com.fssa.freshtime.models.Page;
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.TaskAggregate;
+import com.fssa.freshtime.models.enums.StatusTransitionOutcome;
+import com.fssa.freshtime.models.enums.TaskStatus;
+
+/**
+ * Non-blocking facade of {@link TaskService}. Independent reads can be started
+ * together and combined without holding a caller thread per query.
+ *
+ * Each method runs the matching TaskService method on the executor and returns
+ * its result as a {@link CompletableFuture}; a failure completes the future
+ * with the same {@link com.fssa.freshtime.exceptions.ServiceException}. Calls
+ * run on their own threads, so they never join a
+ * {@link com.fssa.freshtime.utils.UnitOfWork} of the caller.
+ */
+public class AsyncTaskService {
+
+	private final TaskService service;
+	private final Executor executor;
+
+	/**
+	 * Uses a new TaskService and {@link ServiceExecutors#defaultExecutor()}.
+	 */
+	public AsyncTaskService() {
+		this(new TaskService(), ServiceExecutors.defaultExecutor());
+	}
+
+	public AsyncTaskService(TaskService service, Executor executor) {
+		this.service = service;
+		this.executor = executor;
+	}
+
+	public CompletableFuture<Boolean> addTask(Task task) {
+		return ServiceExecutors.supply(executor, () -> service.addTask(task));
+	}
+
+	public CompletableFuture<BatchResult> addTasks(List<Task> tasks) {
+		return ServiceExecutors.supply(executor, () -> service.addTasks(tasks));
+	}
+
+	public CompletableFuture<List<Task>> readAllTaskByUser(int userId) {
+		return ServiceExecutors.supply(executor, () -> service.readAllTaskByUser(userId));
+	}
+
+	public CompletableFuture<Page<Task>> readTaskPageByUser(int userId, String pageToken, int pageSize) {
+		return ServiceExecutors.supply(executor, () -> service.readTaskPageByUser(userId, pageToken, pageSize));
+	}
+
+	public CompletableFuture<Task> readTaskByTaskId(int taskId) {
+		return ServiceExecutors.supply(executor, () -> service.readTaskByTaskId(taskId));
+	}
+
+	public CompletableFuture<TaskAggregate> readTaskAggregate(int taskId) {
+		return ServiceExecutors.supply(executor, () -> service.readTaskAggregate(taskId));
+	}
+
+	public CompletableFuture<List<TaskAggregate>> readAllTaskAggregateByUser(int userId) {
+		return ServiceExecutors.supply(executor, () -> service.readAllTaskAggregateByUser(userId));
+	}
+
+	public CompletableFuture<Boolean> updateTask(Task task) {
+		return ServiceExecutors.supply(executor, () -> service.updateTask(task));
+	}
+
+	public CompletableFuture<Map<Integer, StatusTransitionOutcome>> transitionTaskStatus(List<Integer> taskIds, TaskStatus target) {
+		return ServiceExecutors.supply(executor, () -> service.transitionTaskStatus(taskIds, target));
+	}
+
+	public CompletableFuture<Boolean> deleteTask(int taskId) {
+		return ServiceExecutors.supply(executor, () -> service.deleteTask(taskId));
+	}
+
+	public CompletableFuture<Boolean> createSubtask(Subtask subtask) {
+		return ServiceExecutors.supply(executor, () -> service.createSubtask(subtask));
+	}
+
+	public CompletableFuture<BatchResult> createSubtasks(List<Subtask> subtasks) {
+		return ServiceExecutors.supply(executor, () -> service.createSubtasks(subtasks));
+	}
+
+	public CompletableFuture<List<Subtask>> readAllSubTaskByTaskId(int taskId) {
+		return ServiceExecutors.supply(executor, () -> service.readAllSubTaskByTaskId(taskId));
+	}
+
+	public CompletableFuture<Subtask> readSubTaskById(int subtaskId) {
+		return ServiceExecutors.supply(executor, () -> service.readSubTaskById(subtaskId));
+	}
+
+	public CompletableFuture<Boolean> updateSubtask(Subtask subtask) {
+		return ServiceExecutors.supply(executor, () -> service.updateSubtask(subtask));
+	}
+
+	public CompletableFuture<Boolean> deleteSubTask(int subtaskId) {
+		return ServiceExecutors.supply(executor, () -> service.deleteSubTask(subtaskId));
+	}
+
+}
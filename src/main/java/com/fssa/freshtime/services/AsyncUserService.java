@@ -0,0 +1,63 @@
+package com.fssa.freshtime.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.fssa.freshtime.models.User;
+
+/**
+ * Non-blocking facade of {@link UserService}. Password hashing still runs on
+ * the bounded pool of {@link com.fssa.freshtime.utils.PasswordUtil}.
+ *
+ * Each method runs the matching UserService method on the executor and returns
+ * its result as a {@link CompletableFuture}; a failure completes the future
+ * with the same {@link com.fssa.freshtime.exceptions.ServiceException}. Calls
+ * run on their own threads, so they never join a
+ * {@link com.fssa.freshtime.utils.UnitOfWork} of the caller.
+ */
+public class AsyncUserService {
+
+	private final UserService service;
+	private final Executor executor;
+
+	/**
+	 * Uses a new UserService and {@link ServiceExecutors#defaultExecutor()}.
+	 */
+	public AsyncUserService() {
+		this(new UserService(), ServiceExecutors.defaultExecutor());
+	}
+
+	public AsyncUserService(UserService service, Executor executor) {
+		this.service = service;
+		this.executor = executor;
+	}
+
+	public CompletableFuture<Boolean> userSignUp(User user) {
+		return ServiceExecutors.supply(executor, () -> service.userSignUp(user));
+	}
+
+	public CompletableFuture<Boolean> deleteUser(String emailId) {
+		return ServiceExecutors.supply(executor, () -> service.deleteUser(emailId));
+	}
+
+	public CompletableFuture<Boolean> userLogin(String emailId, String password) {
+		return ServiceExecutors.supply(executor, () -> service.userLogin(emailId, password));
+	}
+
+	public CompletableFuture<User> getUserByEmail(String emailId) {
+		return ServiceExecutors.supply(executor, () -> service.getUserByEmail(emailId));
+	}
+
+	public CompletableFuture<Boolean> changeUserName(String email, String userName) {
+		return ServiceExecutors.supply(executor, () -> service.changeUserName(email, userName));
+	}
+
+	public CompletableFuture<Boolean> changePassword(String emailId, String newPassword) {
+		return ServiceExecutors.supply(executor, () -> service.changePassword(emailId, newPassword));
+	}
+
+	public CompletableFuture<User> getUserById(int userId) {
+		return ServiceExecutors.supply(executor, () -> service.getUserById(userId));
+	}
+
+}
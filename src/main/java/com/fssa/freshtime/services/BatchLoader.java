@@ -0,0 +1,139 @@
+package com.fssa.freshtime.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects single lookups and answers them with one multi-get.
+ *
+ * {@link #load} only queues the key; the queued keys are read together by
+ * {@link #dispatch()}, or as soon as a caller waits on one of the futures with
+ * {@code join} or {@code get}. A list screen can therefore load every row's
+ * key in a loop and then wait, making one round trip instead of one per row.
+ *
+ * A loader is meant for one request: it remembers every key it has loaded,
+ * so asking again for a key returns the same future without reading it
+ * again, and it does not see later changes. Loaders are thread-safe.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class BatchLoader<K, V> {
+
+	/**
+	 * Reads the values of many keys at once.
+	 */
+	@FunctionalInterface
+	public interface BatchFunction<K, V> {
+		/**
+		 * @return The values found; keys without a value may be left out.
+		 */
+		Map<K, V> load(List<K> keys) throws Exception;
+	}
+
+	private final BatchFunction<K, V> function;
+	private final Map<K, Pending> loaded = new HashMap<>();
+	private Map<K, Pending> queue = new LinkedHashMap<>();
+
+	public BatchLoader(BatchFunction<K, V> function) {
+		this.function = function;
+	}
+
+	/**
+	 * @return The value of the key, or null if it has none, once the batch
+	 *         holding it has been read. The future fails with the exception of
+	 *         the batch function.
+	 */
+	public synchronized CompletableFuture<V> load(K key) {
+		Pending pending = loaded.get(key);
+		if (pending == null) {
+			pending = new Pending();
+			loaded.put(key, pending);
+			queue.put(key, pending);
+		}
+		return pending;
+	}
+
+	/**
+	 * @return The values of the keys that have one, in the order of the keys.
+	 */
+	public CompletableFuture<Map<K, V>> loadMany(Collection<K> keys) {
+		Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+		for (K key : keys) {
+			futures.put(key, load(key));
+		}
+		dispatch();
+		return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+			Map<K, V> values = new LinkedHashMap<>();
+			futures.forEach((key, future) -> {
+				V value = future.join();
+				if (value != null) {
+					values.put(key, value);
+				}
+			});
+			return values;
+		});
+	}
+
+	/**
+	 * Reads all queued keys with one call of the batch function, in the
+	 * calling thread. Does nothing if no key is queued.
+	 */
+	public void dispatch() {
+		Map<K, Pending> batch;
+		synchronized (this) {
+			if (queue.isEmpty()) {
+				return;
+			}
+			batch = queue;
+			queue = new LinkedHashMap<>();
+		}
+
+		Map<K, V> values;
+		try {
+			values = function.load(new ArrayList<>(batch.keySet()));
+		} catch (Exception | Error e) {
+			batch.values().forEach(pending -> pending.completeExceptionally(e));
+			return;
+		}
+		batch.forEach((key, pending) -> pending.complete(values.get(key)));
+	}
+
+	/**
+	 * A queued lookup that dispatches its batch when waited on.
+	 */
+	private final class Pending extends CompletableFuture<V> {
+
+		@Override
+		public V join() {
+			dispatch();
+			return super.join();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			dispatch();
+			return super.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			dispatch();
+			return super.get(timeout, unit);
+		}
+
+		@Override
+		public <U> CompletableFuture<U> newIncompleteFuture() {
+			return new CompletableFuture<>();
+		}
+	}
+
+}
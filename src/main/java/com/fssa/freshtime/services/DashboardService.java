@@ -0,0 +1,149 @@
+package com.fssa.freshtime.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.fssa.freshtime.exceptions.ErrorCode;
+import com.fssa.freshtime.exceptions.ServiceException;
+import com.fssa.freshtime.models.Dashboard;
+import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Loads the home screen of a user with its reads running concurrently.
+ *
+ * The tasks, notes and categories are read at the same time, and the
+ * subtasks of all tasks with one multi-get as soon as the tasks are known, so
+ * the page takes about as long as its slowest chain of reads instead of their
+ * sum. All reads share one deadline, {@code freshtime.dashboard.timeoutMillis}
+ * (default 5000). If any read fails or the deadline passes, the reads still
+ * running are cancelled and none are started afterwards.
+ */
+public class DashboardService {
+
+	private static final long TIMEOUT_MILLIS = Settings.getLong("freshtime.dashboard.timeoutMillis",
+			"FRESHTIME_DASHBOARD_TIMEOUT_MILLIS", 5000);
+
+	private final TaskService taskService;
+	private final NoteService noteService;
+	private final Executor executor;
+	private final Duration timeout;
+
+	public DashboardService() {
+		this(new TaskService(), new NoteService(), ServiceExecutors.defaultExecutor(),
+				Duration.ofMillis(TIMEOUT_MILLIS));
+	}
+
+	public DashboardService(TaskService taskService, NoteService noteService, Executor executor, Duration timeout) {
+		this.taskService = taskService;
+		this.noteService = noteService;
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * @param userId The ID of the user.
+	 * @return The user's tasks with their subtasks, notes and the note
+	 *         categories.
+	 * @throws ServiceException If a read fails, with the code of the failing
+	 *                          read, or with {@link ErrorCode#TIMEOUT} if the
+	 *                          deadline passes.
+	 */
+	public Dashboard loadDashboard(int userId) throws ServiceException {
+		Logger.info("Loading dashboard of user " + userId);
+		long deadline = System.nanoTime() + timeout.toNanos();
+		Scope scope = new Scope(executor);
+
+		CompletableFuture<List<Task>> tasks = scope.fork(() -> taskService.readAllTaskByUser(userId));
+		CompletableFuture<List<Note>> notes = scope.fork(() -> noteService.readAllNotesByUser(userId));
+		CompletableFuture<List<String>> categories = scope.fork(noteService::getAllCategory);
+
+		CompletableFuture<Map<Integer, List<Subtask>>> subtasks = tasks.thenCompose(list -> {
+			List<Integer> taskIds = new ArrayList<>();
+			for (Task task : orEmpty(list)) {
+				taskIds.add(task.getTaskId());
+			}
+			return scope.fork(() -> taskService.readSubtasksByTaskIds(taskIds));
+		});
+
+		CompletableFuture<Dashboard> dashboard = CompletableFuture.allOf(subtasks, notes, categories)
+				.thenApply(done -> new Dashboard(userId, orEmpty(tasks.join()), subtasks.join(),
+						orEmpty(notes.join()), orEmpty(categories.join()), LocalDateTime.now()));
+
+		try {
+			CompletableFuture.anyOf(dashboard, scope.failure).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			return dashboard.getNow(null);
+		} catch (ExecutionException e) {
+			throw new ServiceException("Error while loading dashboard", e.getCause());
+		} catch (TimeoutException e) {
+			throw new ServiceException(ErrorCode.TIMEOUT, "Dashboard not loaded within " + timeout.toMillis() + " ms");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceException("Interrupted while loading dashboard", e);
+		} finally {
+			scope.close();
+		}
+	}
+
+	private static <T> List<T> orEmpty(List<T> list) {
+		return list != null ? list : List.of();
+	}
+
+	/**
+	 * The reads of one dashboard. The first failure completes
+	 * {@link #failure}; closing cancels whatever is still running.
+	 */
+	private static final class Scope {
+
+		private final Executor executor;
+		private final List<CompletableFuture<?>> forks = new ArrayList<>();
+		private final CompletableFuture<Void> failure = new CompletableFuture<>();
+		private boolean closed;
+
+		Scope(Executor executor) {
+			this.executor = executor;
+		}
+
+		<T> CompletableFuture<T> fork(ServiceExecutors.Call<T> call) {
+			CompletableFuture<T> future;
+			synchronized (this) {
+				if (closed) {
+					future = new CompletableFuture<>();
+					future.cancel(false);
+					return future;
+				}
+				future = ServiceExecutors.supply(executor, call);
+				forks.add(future);
+			}
+			future.whenComplete((result, e) -> {
+				if (e != null) {
+					failure.completeExceptionally(e);
+				}
+			});
+			return future;
+		}
+
+		void close() {
+			List<CompletableFuture<?>> running;
+			synchronized (this) {
+				closed = true;
+				running = new ArrayList<>(forks);
+			}
+			for (CompletableFuture<?> fork : running) {
+				fork.cancel(true);
+			}
+		}
+	}
+
+}
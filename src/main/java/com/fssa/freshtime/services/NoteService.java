@@ -1,20 +1,38 @@
 package com.fssa.freshtime.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.fssa.freshtime.dao.NoteDAO;
 import com.fssa.freshtime.dao.TaskDAO;
 import com.fssa.freshtime.dao.UserDAO;
 import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
 import com.fssa.freshtime.exceptions.InvalidInputException;
 import com.fssa.freshtime.exceptions.ServiceException;
 import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.models.Page;
 import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.PageToken;
+import com.fssa.freshtime.utils.UnitOfWork;
+import com.fssa.freshtime.utils.cache.FlightStats;
+import com.fssa.freshtime.utils.cache.SingleFlight;
 import com.fssa.freshtime.validators.NotesValidator;
 import com.fssa.freshtime.validators.TaskValidator;
 
+/**
+ * Service class for managing notes.
+ *
+ * Concurrent reads of the same note outside a {@link UnitOfWork} share one
+ * query; each caller gets its own copy of the note. Updates may be buffered by
+ * {@link NoteWriteBehind}; reads apply the buffered updates.
+ */
 public class NoteService {
 
+    private static final SingleFlight<Integer, Note> NOTE_READS = new SingleFlight<>("noteById");
+    private static final NoteWriteBehind WRITE_BEHIND = NoteWriteBehind.get();
+
     public boolean createNote(Note note) throws ServiceException {
     	Logger.info("Inserting Notes in db");
         try {
@@ -23,7 +41,7 @@ public class NoteService {
 			}
 		} catch (InvalidInputException | DAOException e) {
 			
-			throw new ServiceException(e.getMessage());
+			throw new ServiceException(e);
 
 		}
 		return false;
@@ -32,31 +50,95 @@ public class NoteService {
     public List<Note> readAllNotesByUser(int userId) throws ServiceException{
     	Logger.info("Reading All Notes in db");
     	try {
-    		return NoteDAO.readAllNotesByUser(userId);
+    		List<Note> notes = NoteDAO.readAllNotesByUser(userId);
+    		WRITE_BEHIND.overlay(notes);
+    		return notes;
     	}
     	catch(DAOException e) {
-    		throw new ServiceException(e.getMessage());
+    		throw new ServiceException(e);
     	}
     }
     
+    /**
+     * Reads one page of a user's notes, newest first.
+     *
+     * @param userId    The ID of the user.
+     * @param pageToken The next token of the previous page, or null for the
+     *                  first page.
+     * @param pageSize  The number of notes per page, between 1 and
+     *                  {@link Page#MAX_SIZE}.
+     * @return The page of notes.
+     * @throws ServiceException If the page size or token is invalid or the
+     *                          notes cannot be read.
+     */
+    public Page<Note> readNotesPageByUser(int userId, String pageToken, int pageSize) throws ServiceException {
+    	Logger.info("Reading a page of Notes in db");
+    	try {
+    		if (pageSize < 1 || pageSize > Page.MAX_SIZE) {
+    			throw new InvalidInputException("Page size must be between 1 and " + Page.MAX_SIZE);
+    		}
+    		Page<Note> page = NoteDAO.readNotesPageByUser(userId, PageToken.decode(pageToken, PageToken.NOTES), pageSize);
+    		WRITE_BEHIND.overlay(page.getItems());
+    		return page;
+    	}
+    	catch(InvalidInputException | DAOException e) {
+    		throw new ServiceException(e);
+    	}
+    }
+
     public Note readNotesByNotesId(int notesId) throws ServiceException{
     	Logger.info("Reading Notes by user Id in db");
     	try {
-    		return NoteDAO.readNotesByNotesId(notesId);
+    		if (UnitOfWork.isActive()) {
+    			return WRITE_BEHIND.overlay(NoteDAO.readNotesByNotesId(notesId));
+    		}
+    		Note note = NOTE_READS.execute(notesId, () -> NoteDAO.readNotesByNotesId(notesId));
+    		Note buffered = WRITE_BEHIND.overlay(note);
+    		return buffered != note ? buffered : note == null ? null : new Note(note);
     	}
     	catch(DAOException e) {
-    		throw new ServiceException(e.getMessage());
+    		throw new ServiceException(e);
     	}
     }
+
+    /**
+     * Reads many notes with a few queries instead of one per note.
+     *
+     * @param notesIds The IDs of the notes.
+     * @return The notes found by ID, in input order. Missing notes have no entry.
+     * @throws ServiceException If the notes cannot be read.
+     */
+    public Map<Integer, Note> readNotesByIds(Collection<Integer> notesIds) throws ServiceException {
+    	Logger.info("Reading Notes by notes ids in db");
+    	try {
+    		Map<Integer, Note> notes = NoteDAO.readNotesByIds(notesIds);
+    		notes.replaceAll((notesId, note) -> WRITE_BEHIND.overlay(note));
+    		return notes;
+    	}
+    	catch(DAOException e) {
+    		throw new ServiceException(e);
+    	}
+    }
+
+    /**
+     * @return A loader that reads the notes of one request in batches, see
+     *         {@link BatchLoader}.
+     */
+    public BatchLoader<Integer, Note> newNoteLoader() {
+    	return new BatchLoader<>(this::readNotesByIds);
+    }
+
     public List<Note> readNotesByCategory(String category, int userId) throws ServiceException {
     	Logger.info("Reading Notes by Category in db");
         try {
 			if (NotesValidator.validateCategory(category)) {
-			    return NoteDAO.readNoteByCategory(category, userId);
+			    List<Note> notes = NoteDAO.readNoteByCategory(category, userId);
+			    WRITE_BEHIND.overlay(notes);
+			    return notes;
 			}
 		} 
         catch (InvalidInputException | DAOException e) {
-			throw new ServiceException(e.getMessage());
+			throw new ServiceException(e);
 		}
         
 		return null;
@@ -66,11 +148,16 @@ public class NoteService {
     	Logger.info("Updating Notes");
             try {
             	if (NotesValidator.validateNotes(note)) {
-            		return NoteDAO.updateNote(note);
+            		if (WRITE_BEHIND.offer(note)) {
+            			return true;
+            		}
+            		boolean updated = NoteDAO.updateNote(note);
+            		UnitOfWork.afterCommit(() -> NOTE_READS.forget(note.getNotesId()));
+            		return updated;
             	}
             } 
             catch (DAOException | InvalidInputException e) {
-    			throw new ServiceException(e.getMessage());
+    			throw new ServiceException(e);
     		}
             
 			return false;
@@ -79,19 +166,26 @@ public class NoteService {
 
     public boolean deleteNotes(int notesId) throws ServiceException {
     	Logger.info("Deleting Notes in db");
-        try {
-			if (NoteDAO.getAllIds().contains(notesId)) {
-			    try {
-			        return NoteDAO.deleteNotes(notesId);
-			    } catch (DAOException e) {
-			        throw new ServiceException("Error while deleting notes: " + e.getMessage());
-			    }
-			} else {
-			    throw new ServiceException("Invalid notes ID");
+        return UnitOfWork.run(() -> {
+        	try {
+				if (NoteDAO.noteExists(notesId)) {
+				    try {
+				        boolean deleted = NoteDAO.deleteNotes(notesId);
+				        UnitOfWork.afterCommit(() -> {
+				        	WRITE_BEHIND.discard(notesId);
+				        	NOTE_READS.forget(notesId);
+				        });
+				        return deleted;
+				    } catch (DAOException e) {
+				        throw new ServiceException("Error while deleting notes", e);
+				    }
+				} else {
+				    throw new ServiceException(ErrorCode.INVALID_ID, "Invalid notes ID");
+				}
+			} catch (DAOException | ServiceException e) {
+				throw new ServiceException(e);
 			}
-		} catch (DAOException | ServiceException e) {
-			throw new ServiceException(e.getMessage());
-		}
+        }, ServiceException::new);
     }
     
     public List<String> getAllCategory() throws ServiceException{
@@ -100,7 +194,21 @@ public class NoteService {
     		return NoteDAO.getAllCategory();
     	}
     	catch(DAOException e) {
-    		throw new ServiceException(e.getMessage());
+    		throw new ServiceException(e);
     	}
     }
-}
\ No newline at end of file
+
+    /**
+     * A buffered update of the note was written.
+     */
+    static void noteWritten(int notesId) {
+    	NOTE_READS.forget(notesId);
+    }
+
+    /**
+     * @return How many concurrent note reads shared another read's query.
+     */
+    public static FlightStats getFlightStats() {
+    	return NOTE_READS.getStats();
+    }
+}
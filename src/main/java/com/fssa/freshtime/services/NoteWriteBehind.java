@@ -0,0 +1,326 @@
+package com.fssa.freshtime.services;
+
+import java.sql.DataTruncation;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.fssa.freshtime.dao.NoteDAO;
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.Settings;
+import com.fssa.freshtime.utils.UnitOfWork;
+
+/**
+ * Buffers note updates and writes only the latest version of each note.
+ *
+ * With {@code freshtime.notes.writeBehind.enabled=true},
+ * {@link NoteService#updateNote} stores the note here instead of updating the
+ * row. A later update of the same note replaces the buffered one. The buffer
+ * is written every {@code freshtime.notes.writeBehind.flushMillis} (default
+ * 1000), as soon as it holds {@code freshtime.notes.writeBehind.maxPending}
+ * notes (default 1000), on {@link #flush()} and before the connection pool
+ * shuts down. One flush updates all buffered notes in one transaction.
+ *
+ * Reads through {@link NoteService} see buffered updates. A note that could
+ * not be written stays buffered and is retried on the next flush, unless a
+ * newer update replaced it. It is dropped instead if the database rejected
+ * its data, for example a constraint violation or a value too long, or after
+ * {@code freshtime.notes.writeBehind.maxAttempts} failed writes (default 5).
+ * A {@link Listener} is told about every note that is buffered, written or
+ * failed, so an application that cannot lose edits in a crash can journal
+ * them.
+ */
+public class NoteWriteBehind {
+
+	private static final boolean ENABLED = Settings.getBoolean("freshtime.notes.writeBehind.enabled",
+			"FRESHTIME_NOTES_WRITE_BEHIND_ENABLED", false);
+	private static final long FLUSH_MILLIS = Settings.getLong("freshtime.notes.writeBehind.flushMillis",
+			"FRESHTIME_NOTES_WRITE_BEHIND_FLUSH_MILLIS", 1000);
+	private static final int MAX_PENDING = Settings.getInt("freshtime.notes.writeBehind.maxPending",
+			"FRESHTIME_NOTES_WRITE_BEHIND_MAX_PENDING", 1000);
+	private static final int MAX_ATTEMPTS = Settings.getInt("freshtime.notes.writeBehind.maxAttempts",
+			"FRESHTIME_NOTES_WRITE_BEHIND_MAX_ATTEMPTS", 5);
+
+	private static final NoteWriteBehind INSTANCE = new NoteWriteBehind(NoteDAO::updateNote, ENABLED, FLUSH_MILLIS,
+			MAX_PENDING, MAX_ATTEMPTS);
+
+	/**
+	 * Writes one note.
+	 */
+	@FunctionalInterface
+	interface Writer {
+		boolean write(Note note) throws DAOException;
+	}
+
+	/**
+	 * Observes the buffer. The methods run on the thread that buffered or
+	 * wrote the note and should return quickly.
+	 */
+	public interface Listener {
+
+		/**
+		 * The note was buffered and replaces any earlier buffered version.
+		 */
+		default void buffered(Note note) {
+		}
+
+		/**
+		 * The note was written; {@code updated} is false if the row no longer
+		 * exists.
+		 */
+		default void written(Note note, boolean updated) {
+		}
+
+		/**
+		 * Writing the note failed. It stays buffered for the next flush unless
+		 * {@code dropped} is true.
+		 */
+		default void failed(Note note, DAOException e, boolean dropped) {
+		}
+	}
+
+	private final Writer writer;
+	private final long flushMillis;
+	private final int maxPending;
+	private final int maxAttempts;
+	private volatile boolean enabled;
+	private final Map<Integer, Note> pending = new ConcurrentHashMap<>();
+	private final Map<Integer, Integer> failures = new ConcurrentHashMap<>();
+	private final Object flushLock = new Object();
+	private volatile boolean closed;
+	private volatile Listener listener = new Listener() {
+	};
+	private volatile ScheduledExecutorService timer;
+
+	/**
+	 * Creates a buffer with its own writer and settings instead of the shared
+	 * one.
+	 */
+	NoteWriteBehind(Writer writer, boolean enabled, long flushMillis, int maxPending, int maxAttempts) {
+		this.writer = writer;
+		this.enabled = enabled;
+		this.flushMillis = flushMillis;
+		this.maxPending = maxPending;
+		this.maxAttempts = Math.max(1, maxAttempts);
+	}
+
+	/**
+	 * @return The shared buffer used by every {@link NoteService}.
+	 */
+	public static NoteWriteBehind get() {
+		return INSTANCE;
+	}
+
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Turns buffering on or off. Notes already buffered are still written.
+	 */
+	void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Buffers a copy of the note, unless write-behind is disabled or closed, a
+	 * {@link UnitOfWork} is active, whose writes must stay in its transaction,
+	 * or the note does not exist, so that the caller's own update reports it
+	 * as missing. Only the first edit of a note since its last write looks the
+	 * note up; later edits replace the buffered one without a query.
+	 *
+	 * @return True if the note was buffered, false if the caller must write it.
+	 * @throws DAOException If the note could not be looked up.
+	 */
+	boolean offer(Note note) throws DAOException {
+		if (!enabled || closed || UnitOfWork.isActive()) {
+			return false;
+		}
+		if (!pending.containsKey(note.getNotesId()) && !NoteDAO.noteExists(note.getNotesId())) {
+			return false;
+		}
+		start();
+		Note copy = new Note(note);
+		pending.put(copy.getNotesId(), copy);
+		failures.remove(copy.getNotesId());
+		listener.buffered(copy);
+		if (pending.size() >= maxPending) {
+			try {
+				timer.execute(this::flushQuietly);
+			} catch (RejectedExecutionException e) {
+				// Closed meanwhile; close() writes the buffer.
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Applies buffered updates to notes read from the database.
+	 */
+	void overlay(List<Note> notes) {
+		if (notes != null && !pending.isEmpty()) {
+			notes.replaceAll(this::overlay);
+		}
+	}
+
+	/**
+	 * @return The note with a buffered update applied, or the note itself.
+	 */
+	Note overlay(Note note) {
+		Note buffered = note == null ? null : pending.get(note.getNotesId());
+		if (buffered == null) {
+			return note;
+		}
+		Note merged = new Note(note);
+		merged.setHeading(buffered.getHeading());
+		merged.setNotes(buffered.getNotes());
+		return merged;
+	}
+
+	/**
+	 * Drops the buffered update of a deleted note.
+	 */
+	void discard(int notesId) {
+		pending.remove(notesId);
+		failures.remove(notesId);
+	}
+
+	/**
+	 * @return The number of notes waiting to be written.
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Writes all buffered notes now, in one transaction.
+	 */
+	public void flush() {
+		synchronized (flushLock) {
+			List<Note> batch = new ArrayList<>(pending.values());
+			if (batch.isEmpty()) {
+				return;
+			}
+			boolean[] updated = new boolean[batch.size()];
+			try {
+				UnitOfWork.run(() -> {
+					for (int i = 0; i < batch.size(); i++) {
+						updated[i] = writer.write(batch.get(i));
+					}
+					return null;
+				}, Function.identity());
+			} catch (DAOException e) {
+				Logger.info("Writing " + batch.size() + " buffered notes together failed, writing them one by one: "
+						+ e.getMessage());
+				writeEach(batch);
+				return;
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				written(batch.get(i), updated[i]);
+			}
+		}
+	}
+
+	private void writeEach(List<Note> batch) {
+		for (Note note : batch) {
+			try {
+				written(note, writer.write(note));
+			} catch (DAOException e) {
+				failed(note, e);
+			} catch (RuntimeException e) {
+				failed(note, new DAOException("Error while Updating note", e));
+			}
+		}
+	}
+
+	private void written(Note note, boolean updated) {
+		// Keep a newer version buffered while this one was being written.
+		if (pending.remove(note.getNotesId(), note)) {
+			failures.remove(note.getNotesId());
+		}
+		NoteService.noteWritten(note.getNotesId());
+		listener.written(note, updated);
+	}
+
+	private void failed(Note note, DAOException e) {
+		int notesId = note.getNotesId();
+		boolean dropped = false;
+		if (pending.get(notesId) == note) {
+			int attempts = failures.merge(notesId, 1, Integer::sum);
+			if ((isRejected(e) || attempts >= maxAttempts) && pending.remove(notesId, note)) {
+				failures.remove(notesId);
+				NoteService.noteWritten(notesId);
+				dropped = true;
+				Logger.info("Dropped buffered note " + notesId + " after " + attempts + " failed writes: "
+						+ e.getMessage());
+			}
+		}
+		listener.failed(note, e, dropped);
+	}
+
+	/**
+	 * @return True if the database rejected the note's data, so writing it
+	 *         again cannot succeed. Lost connections are retried.
+	 */
+	private static boolean isRejected(DAOException e) {
+		for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLNonTransientConnectionException) {
+				return false;
+			}
+			if (cause instanceof SQLNonTransientException || cause instanceof DataTruncation) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stops buffering and writes what is buffered. Later updates are written
+	 * directly.
+	 */
+	public void close() {
+		closed = true;
+		synchronized (this) {
+			if (timer != null) {
+				timer.shutdown();
+			}
+		}
+		flush();
+	}
+
+	private synchronized void start() {
+		if (timer != null) {
+			return;
+		}
+		timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "freshtime-note-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		timer.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+		ConnectionUtil.beforeShutdown(this::close);
+	}
+
+	/**
+	 * Flushes on the timer, which would stop running after an exception.
+	 */
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			Logger.info("Flushing buffered notes failed: " + e.getMessage());
+		}
+	}
+
+}
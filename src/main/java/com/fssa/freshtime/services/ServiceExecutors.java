@@ -0,0 +1,148 @@
+package com.fssa.freshtime.services;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Executors for the asynchronous service facades.
+ *
+ * {@code freshtime.async.executor} selects the default:
+ * <ul>
+ * <li>{@code virtual} (default): one virtual thread per call, on JDK 21 and
+ * later. On older JDKs this falls back to {@code platform}.</li>
+ * <li>{@code platform}: a fixed pool of {@code freshtime.async.threads}
+ * (default 16) daemon threads.</li>
+ * </ul>
+ * Either way the number of queries running at once is still limited by the
+ * connection pool; extra calls wait there for a connection.
+ */
+public final class ServiceExecutors {
+
+	private static final int THREADS = Settings.getInt("freshtime.async.threads", "FRESHTIME_ASYNC_THREADS", 16);
+
+	private ServiceExecutors() {
+	}
+
+	/**
+	 * A service call.
+	 */
+	@FunctionalInterface
+	interface Call<T> {
+		T call() throws Exception;
+	}
+
+	private static final class Holder {
+		static final ExecutorService DEFAULT = create(
+				Settings.get("freshtime.async.executor", "FRESHTIME_ASYNC_EXECUTOR", "virtual"));
+	}
+
+	/**
+	 * @return The shared executor selected by {@code freshtime.async.executor}.
+	 */
+	public static Executor defaultExecutor() {
+		return Holder.DEFAULT;
+	}
+
+	/**
+	 * @return True if the shared executor runs each call on a virtual thread.
+	 */
+	public static boolean isVirtual() {
+		return !(Holder.DEFAULT instanceof ThreadPoolExecutor);
+	}
+
+	private static ExecutorService create(String mode) {
+		if ("virtual".equalsIgnoreCase(mode)) {
+			try {
+				Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (ExecutorService) factory.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				Logger.info("Virtual threads need JDK 21 or later, using " + THREADS + " platform threads");
+			}
+		} else if (!"platform".equalsIgnoreCase(mode)) {
+			throw new IllegalStateException("freshtime.async.executor must be virtual or platform: " + mode);
+		}
+
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "freshtime-async-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Runs the call on the executor. The future fails with the exception the
+	 * call threw, such as a {@link com.fssa.freshtime.exceptions.ServiceException},
+	 * or with the {@link RejectedExecutionException} of the executor.
+	 * Cancelling the future with {@code mayInterruptIfRunning} interrupts a
+	 * call that has started; one that has not started is skipped.
+	 */
+	static <T> CompletableFuture<T> supply(Executor executor, Call<T> call) {
+		CallFuture<T> future = new CallFuture<>();
+		try {
+			executor.execute(() -> future.run(call));
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	private static final class CallFuture<T> extends CompletableFuture<T> {
+
+		private Thread runner;
+
+		void run(Call<T> call) {
+			synchronized (this) {
+				if (isDone()) {
+					return;
+				}
+				runner = Thread.currentThread();
+			}
+			try {
+				complete(call.call());
+			} catch (Exception | Error e) {
+				completeExceptionally(e);
+			} finally {
+				synchronized (this) {
+					runner = null;
+				}
+				// Clear an interrupt from a late cancel so it does not leak into
+				// the next task on a pooled thread.
+				Thread.interrupted();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled && mayInterruptIfRunning) {
+				synchronized (this) {
+					if (runner != null) {
+						runner.interrupt();
+					}
+				}
+			}
+			return cancelled;
+		}
+
+		@Override
+		public <U> CompletableFuture<U> newIncompleteFuture() {
+			return new CompletableFuture<>();
+		}
+	}
+
+}
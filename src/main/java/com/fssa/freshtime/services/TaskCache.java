@@ -0,0 +1,163 @@
+package com.fssa.freshtime.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.enums.TaskField;
+import com.fssa.freshtime.utils.Settings;
+import com.fssa.freshtime.utils.UnitOfWork;
+import com.fssa.freshtime.utils.cache.BoundedCache;
+import com.fssa.freshtime.utils.cache.CacheStats;
+import com.fssa.freshtime.utils.cache.FlightStats;
+import com.fssa.freshtime.utils.cache.SingleFlight;
+
+/**
+ * The read-through caches behind {@link TaskService}: the tasks of a user, a
+ * task by id and the subtasks of a task.
+ *
+ * Each cache holds at most {@code freshtime.cache.tasks.maxSize} entries
+ * (default 1000) for {@code freshtime.cache.tasks.ttlSeconds} (default 30);
+ * {@code freshtime.cache.tasks.enabled=false} turns them off. The TTL bounds
+ * how long a change made outside this service, for example by another
+ * instance, stays invisible.
+ *
+ * Concurrent misses of the same task share one query through
+ * {@link #TASK_READS}, whether or not the caches are enabled.
+ *
+ * Callers get copies, so changing a returned task does not change the cache.
+ * The invalidation methods run after the current {@link UnitOfWork} commits.
+ */
+final class TaskCache {
+
+	private static final boolean ENABLED = Settings.getBoolean("freshtime.cache.tasks.enabled",
+			"FRESHTIME_CACHE_TASKS_ENABLED", true);
+	private static final int MAX_SIZE = ENABLED
+			? Settings.getInt("freshtime.cache.tasks.maxSize", "FRESHTIME_CACHE_TASKS_MAX_SIZE", 1000)
+			: 0;
+	private static final long TTL_MILLIS = Settings.getLong("freshtime.cache.tasks.ttlSeconds",
+			"FRESHTIME_CACHE_TASKS_TTL_SECONDS", 30) * 1000;
+
+	static final BoundedCache<Integer, List<Task>> TASKS_BY_USER = new BoundedCache<>("tasksByUser", MAX_SIZE,
+			TTL_MILLIS);
+	static final BoundedCache<Integer, Task> TASK_BY_ID = new BoundedCache<>("taskById", MAX_SIZE, TTL_MILLIS);
+	static final BoundedCache<Integer, List<Subtask>> SUBTASKS_BY_TASK = new BoundedCache<>("subtasksByTask",
+			MAX_SIZE, TTL_MILLIS);
+
+	static final SingleFlight<Integer, Task> TASK_READS = new SingleFlight<>("taskById");
+
+	private TaskCache() {
+	}
+
+	static List<CacheStats> stats() {
+		return List.of(TASKS_BY_USER.getStats(), TASK_BY_ID.getStats(), SUBTASKS_BY_TASK.getStats());
+	}
+
+	static FlightStats flightStats() {
+		return TASK_READS.getStats();
+	}
+
+	/**
+	 * A user gained a task.
+	 */
+	static void userChanged(int userId) {
+		UnitOfWork.afterCommit(() -> TASKS_BY_USER.invalidate(userId));
+	}
+
+	/**
+	 * A task was changed or deleted, together with its subtasks.
+	 */
+	static void taskChanged(int taskId) {
+		UnitOfWork.afterCommit(() -> {
+			TASK_READS.forget(taskId);
+			TASK_BY_ID.invalidate(taskId);
+			SUBTASKS_BY_TASK.invalidate(taskId);
+			TASKS_BY_USER.invalidateIf((userId, tasks) -> containsTask(tasks, taskId));
+		});
+	}
+
+	/**
+	 * Fields of a task were updated. Its subtasks stay cached, and nothing is
+	 * invalidated if no field changed.
+	 */
+	static void taskUpdated(int taskId, Set<TaskField> fields) {
+		if (fields.isEmpty()) {
+			return;
+		}
+		UnitOfWork.afterCommit(() -> {
+			TASK_READS.forget(taskId);
+			TASK_BY_ID.invalidate(taskId);
+			TASKS_BY_USER.invalidateIf((userId, tasks) -> containsTask(tasks, taskId));
+		});
+	}
+
+	/**
+	 * A task gained a subtask.
+	 */
+	static void subtasksChanged(int taskId) {
+		UnitOfWork.afterCommit(() -> SUBTASKS_BY_TASK.invalidate(taskId));
+	}
+
+	/**
+	 * Fields of a subtask were updated; nothing is invalidated if no field
+	 * changed.
+	 */
+	static void subtaskUpdated(int subtaskId, Set<TaskField> fields) {
+		if (!fields.isEmpty()) {
+			subtaskChanged(subtaskId);
+		}
+	}
+
+	/**
+	 * A subtask was changed or deleted. Its parent is looked up in the cached
+	 * lists since callers do not always know it.
+	 */
+	static void subtaskChanged(int subtaskId) {
+		UnitOfWork.afterCommit(() -> SUBTASKS_BY_TASK.invalidateIf((taskId, subtasks) -> {
+			for (Subtask subtask : subtasks) {
+				if (subtask.getSubtaskId() == subtaskId) {
+					return true;
+				}
+			}
+			return false;
+		}));
+	}
+
+	static List<Task> copyTasks(List<Task> tasks) {
+		if (tasks == null) {
+			return null;
+		}
+		List<Task> copy = new ArrayList<>(tasks.size());
+		for (Task task : tasks) {
+			copy.add(new Task(task));
+		}
+		return copy;
+	}
+
+	static Task copyTask(Task task) {
+		return task == null ? null : new Task(task);
+	}
+
+	static List<Subtask> copySubtasks(List<Subtask> subtasks) {
+		if (subtasks == null) {
+			return null;
+		}
+		List<Subtask> copy = new ArrayList<>(subtasks.size());
+		for (Subtask subtask : subtasks) {
+			copy.add(new Subtask(subtask));
+		}
+		return copy;
+	}
+
+	private static boolean containsTask(List<Task> tasks, int taskId) {
+		for (Task task : tasks) {
+			if (task.getTaskId() == taskId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -1,21 +1,43 @@
 package com.fssa.freshtime.services;
 
+import com.fssa.freshtime.dao.TaskAggregateDAO;
 import com.fssa.freshtime.dao.TaskDAO;
 import com.fssa.freshtime.dao.UserDAO;
+import com.fssa.freshtime.models.enums.StatusTransitionOutcome;
+import com.fssa.freshtime.models.enums.TaskField;
 import com.fssa.freshtime.models.enums.TaskStatus;
 import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.PageToken;
+import com.fssa.freshtime.utils.UnitOfWork;
+import com.fssa.freshtime.utils.cache.CacheStats;
+import com.fssa.freshtime.utils.cache.FlightStats;
 import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
 import com.fssa.freshtime.exceptions.InvalidInputException;
 import com.fssa.freshtime.exceptions.ServiceException;
+import com.fssa.freshtime.models.BatchResult;
+import com.fssa.freshtime.models.Page;
 import com.fssa.freshtime.models.Subtask;
 import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.TaskAggregate;
 import com.fssa.freshtime.validators.TaskValidator;
 import com.fssa.freshtime.validators.UserValidator;
+import com.fssa.freshtime.validators.errors.TaskErrors;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service class for managing tasks in the FreshTime application.
+ *
+ * Reads of a user's tasks, a task and a task's subtasks are served from
+ * {@link TaskCache} when possible; every write through this service
+ * invalidates the entries it affects once it has committed. Reads inside a
+ * {@link UnitOfWork} bypass the cache so they see the unit's own changes.
+ * Concurrent misses of the same task share one query.
  */
 public class TaskService {
 
@@ -35,67 +57,262 @@ public class TaskService {
 	public boolean addTask(Task task) throws ServiceException {
 		Logger.info("Adding Task in db");
 		try {
-			if (TaskValidator.validateTaskName(task.getTaskName())) {
-				if(task.getEndDate().isBefore(task.getStartDate())) {
-					throw new InvalidInputException("End Date Can't be before start date");
+			validateNewTask(task);
+			boolean added = TaskDAO.addTask(task);
+			TaskCache.userChanged(task.getUserId());
+			return added;
+		} catch (InvalidInputException | DAOException e) {
+			throw new ServiceException("Error while adding task", e);
+		}
+	}
+
+
+	/**
+	 * Adds many tasks in one batch. Every task is validated before anything is
+	 * written, so an invalid task rejects the whole batch.
+	 *
+	 * @param tasks The tasks to be added.
+	 * @return The generated ids and the rows the database rejected.
+	 * @throws ServiceException If a task is invalid or the batch fails.
+	 */
+	public BatchResult addTasks(List<Task> tasks) throws ServiceException {
+		Logger.info("Adding " + (tasks != null ? tasks.size() : 0) + " Tasks in db");
+		try {
+			if (tasks == null || tasks.isEmpty()) {
+				throw new InvalidInputException(TaskErrors.TASKS_EMPTY);
+			}
+			for (int i = 0; i < tasks.size(); i++) {
+				try {
+					validateNewTask(tasks.get(i));
+				} catch (InvalidInputException e) {
+					throw new InvalidInputException("Task " + i + ": " + e.getMessage());
+				}
+			}
+			BatchResult result = TaskDAO.addTasks(tasks);
+			Set<Integer> userIds = new HashSet<>();
+			for (Task task : tasks) {
+				if (userIds.add(task.getUserId())) {
+					TaskCache.userChanged(task.getUserId());
 				}
-				return TaskDAO.addTask(task);
-				
 			}
+			return result;
 		} catch (InvalidInputException | DAOException e) {
-			throw new ServiceException("Error while adding task: " + e.getMessage());
+			throw new ServiceException("Error while adding tasks", e);
 		}
-		return false;
 	}
 
+	/**
+	 * The checks shared by {@link #addTask(Task)} and {@link #addTasks(List)}:
+	 * the task name, both dates and their order.
+	 */
+	private static void validateNewTask(Task task) throws InvalidInputException {
+		if (task == null) {
+			throw new InvalidInputException(TaskErrors.TASK_NULL);
+		}
+		TaskValidator.validateTaskName(task.getTaskName());
+		TaskValidator.validateSchedule(task.getStartDate(), task.getEndDate());
+	}
 
 	public List<Task> readAllTaskByUser(int userId) throws ServiceException, InvalidInputException {
 		Logger.info("Reading Tasks by user id in db");
-		try {
-			if (TaskDAO.getAllIds().contains(userId)) {
+		if (UnitOfWork.isActive()) {
+			return loadAllTaskByUser(userId);
+		}
+		return TaskCache.copyTasks(TaskCache.TASKS_BY_USER.getOrLoad(userId, () -> loadAllTaskByUser(userId)));
+	}
+
+	private List<Task> loadAllTaskByUser(int userId) throws ServiceException {
+		return UnitOfWork.run(() -> {
+			try {
 				return TaskDAO.readTaskByUser(userId);
+			} catch (DAOException e) {
+				throw new ServiceException("Error while reading task", e);
 			}
-		} catch (DAOException e) {
-			throw new ServiceException("Error while reading task: " + e.getMessage());
+		}, ServiceException::new);
+	}
+
+	/**
+	 * Reads one page of a user's tasks ordered by end date.
+	 *
+	 * @param userId    The ID of the user.
+	 * @param pageToken The next token of the previous page, or null for the
+	 *                  first page.
+	 * @param pageSize  The number of tasks per page, between 1 and
+	 *                  {@link Page#MAX_SIZE}.
+	 * @return The page of tasks.
+	 * @throws ServiceException If the page size or token is invalid or the
+	 *                          tasks cannot be read.
+	 */
+	public Page<Task> readTaskPageByUser(int userId, String pageToken, int pageSize) throws ServiceException {
+		Logger.info("Reading a page of Tasks by user id in db");
+		try {
+			if (pageSize < 1 || pageSize > Page.MAX_SIZE) {
+				throw new InvalidInputException("Page size must be between 1 and " + Page.MAX_SIZE);
+			}
+			return TaskDAO.readTaskPageByUser(userId, PageToken.decode(pageToken, PageToken.TASKS), pageSize);
+		} catch (InvalidInputException | DAOException e) {
+			throw new ServiceException("Error while reading task", e);
 		}
-		return null;
 	}
 
 	public Task readTaskByTaskId(int taskId) throws ServiceException, InvalidInputException {
 		Logger.info("Reading All Task by task id in db");
+		if (UnitOfWork.isActive()) {
+			return loadTaskByTaskId(taskId);
+		}
+		return TaskCache.copyTask(TaskCache.TASK_BY_ID.getOrLoad(taskId,
+				() -> TaskCache.TASK_READS.execute(taskId, () -> loadTaskByTaskId(taskId))));
+	}
+
+	private Task loadTaskByTaskId(int taskId) throws ServiceException {
+		return UnitOfWork.run(() -> {
+			try {
+				if (TaskDAO.taskExists(taskId)) {
+					return TaskDAO.readTaskByTaskId(taskId);
+				}
+			} catch (DAOException e) {
+				throw new ServiceException("Error while reading task", e);
+			}
+			return null;
+		}, ServiceException::new);
+	}
+
+	/**
+	 * Reads many tasks with a few queries instead of one per task. Cached
+	 * tasks are not read again.
+	 *
+	 * @param taskIds The IDs of the tasks.
+	 * @return The tasks found by ID, in input order. Missing tasks have no entry.
+	 * @throws ServiceException If the tasks cannot be read.
+	 */
+	public Map<Integer, Task> readTasksByIds(Collection<Integer> taskIds) throws ServiceException {
+		Logger.info("Reading Tasks by task ids in db");
+		if (UnitOfWork.isActive()) {
+			return loadTasksByIds(taskIds);
+		}
+		Map<Integer, Task> tasks = TaskCache.TASK_BY_ID.getAllOrLoad(taskIds, this::loadTasksByIds);
+		tasks.replaceAll((taskId, task) -> TaskCache.copyTask(task));
+		return tasks;
+	}
+
+	private Map<Integer, Task> loadTasksByIds(Collection<Integer> taskIds) throws ServiceException {
+		try {
+			return TaskDAO.readTasksByIds(taskIds);
+		} catch (DAOException e) {
+			throw new ServiceException("Error while reading task", e);
+		}
+	}
+
+	/**
+	 * @return A loader that reads the tasks of one request in batches, see
+	 *         {@link BatchLoader}.
+	 */
+	public BatchLoader<Integer, Task> newTaskLoader() {
+		return new BatchLoader<>(this::readTasksByIds);
+	}
+
+	/**
+	 * Reads a task together with its subtasks and tags in a single query.
+	 *
+	 * @param taskId The ID of the task.
+	 * @return The task aggregate.
+	 * @throws ServiceException If the task doesn't exist or cannot be read.
+	 */
+	public TaskAggregate readTaskAggregate(int taskId) throws ServiceException {
+		Logger.info("Reading Task with subtasks and tags by task id in db");
 		try {
-			if (TaskDAO.getAllIds().contains(taskId)) {
-				return TaskDAO.readTaskByTaskId(taskId);
+			TaskAggregate aggregate = TaskAggregateDAO.readTaskAggregate(taskId);
+			if (aggregate == null) {
+				throw new ServiceException(ErrorCode.INVALID_ID, INVALID_TASK_ID);
 			}
+			return aggregate;
 		} catch (DAOException e) {
-			throw new ServiceException("Error while reading task: " + e.getMessage());
+			throw new ServiceException("Error while reading task", e);
+		}
+	}
+
+	/**
+	 * Reads all tasks of a user together with their subtasks and tags in a
+	 * single query, instead of one subtask query per task.
+	 *
+	 * @param userId The ID of the user.
+	 * @return The task aggregates, empty if the user has no tasks.
+	 * @throws ServiceException If the tasks cannot be read.
+	 */
+	public List<TaskAggregate> readAllTaskAggregateByUser(int userId) throws ServiceException {
+		Logger.info("Reading Tasks with subtasks and tags by user id in db");
+		try {
+			return TaskAggregateDAO.readTaskAggregatesByUser(userId);
+		} catch (DAOException e) {
+			throw new ServiceException("Error while reading task", e);
 		}
-		return null;
 	}
 
 	public boolean updateTask(Task task) throws ServiceException {
 		Logger.info("updating Task in db");
-		try {
-			if(task != null) {
-				if (TaskDAO.getAllIds().contains(task.getTaskId())) {				    
-					if (TaskValidator.validateTaskName(task.getTaskName())) {
-						if(task.getEndDate().isBefore(task.getStartDate())) {
-							throw new InvalidInputException("End Date Can't be before start date");
-						}
-						return TaskDAO.updateTask(task);
+		return UnitOfWork.run(() -> {
+			try {
+				if(task != null) {
+					if (TaskDAO.taskExists(task.getTaskId())) {				    
+						if (TaskValidator.validateTaskName(task.getTaskName())) {
+							if(task.getEndDate().isBefore(task.getStartDate())) {
+								throw new InvalidInputException(TaskErrors.INVALID_END_DATE_BEFORE_START_DATE);
+							}
+							Set<TaskField> fields = task.getChangedFields();
+							boolean updated = TaskDAO.updateTask(task);
+							TaskCache.taskUpdated(task.getTaskId(), fields);
+							return updated;
 						
+						}
+					} else {
+						throw new ServiceException(ErrorCode.INVALID_ID, INVALID_TASK_ID);
 					}
-				} else {
-					throw new ServiceException(INVALID_TASK_ID);
 				}
+				else {
+					throw new ServiceException(ErrorCode.INVALID_INPUT, "Task Can Not be null");
+				}
+			} catch (InvalidInputException | DAOException e) {
+				throw new ServiceException("Error while updating task", e);
+			}
+			return false;
+		}, ServiceException::new);
+	}
+
+	/**
+	 * Moves many tasks to a new status at once, for example when closing a
+	 * sprint. Only allowed transitions are applied; every other task is left
+	 * unchanged and reported with the reason.
+	 *
+	 * @param taskIds The IDs of the tasks.
+	 * @param target  The new status.
+	 * @return The outcome for each distinct task ID, in input order.
+	 * @throws ServiceException If the input is invalid or the update fails.
+	 */
+	public Map<Integer, StatusTransitionOutcome> transitionTaskStatus(List<Integer> taskIds, TaskStatus target)
+			throws ServiceException {
+		Logger.info("Changing status of " + (taskIds != null ? taskIds.size() : 0) + " Tasks in db");
+		try {
+			if (target == null) {
+				throw new InvalidInputException("Task status can not be null");
 			}
-			else {
-				throw new ServiceException("Task Can Not be null");
+			if (taskIds == null || taskIds.isEmpty()) {
+				throw new InvalidInputException("Task ids can not be empty");
 			}
+			for (Integer taskId : taskIds) {
+				if (taskId == null || taskId <= 0) {
+					throw new InvalidInputException(INVALID_TASK_ID + ": " + taskId);
+				}
+			}
+			Map<Integer, StatusTransitionOutcome> outcomes = TaskDAO.transitionTaskStatus(taskIds, target);
+			outcomes.forEach((taskId, outcome) -> {
+				if (outcome == StatusTransitionOutcome.UPDATED) {
+					TaskCache.taskChanged(taskId);
+				}
+			});
+			return outcomes;
 		} catch (InvalidInputException | DAOException e) {
-			throw new ServiceException("Error while updating task: " + e.getMessage());
+			throw new ServiceException("Error while updating task status", e);
 		}
-		return false;
 	}
 
 	/**
@@ -108,56 +325,151 @@ public class TaskService {
 	 */
 	public boolean deleteTask(int taskId) throws ServiceException {
 		Logger.info("Deleting Task in db");
-		try {
-			if (TaskDAO.getAllIds().contains(taskId)) {
-				return TaskDAO.deleteTask(taskId);
-			} else {
-				throw new ServiceException(INVALID_TASK_ID);
+		return UnitOfWork.run(() -> {
+			try {
+				if (TaskDAO.taskExists(taskId)) {
+					boolean deleted = TaskDAO.deleteTask(taskId);
+					TaskCache.taskChanged(taskId);
+					return deleted;
+				} else {
+					throw new ServiceException(ErrorCode.INVALID_ID, INVALID_TASK_ID);
+				}
+			} catch (DAOException e) {
+				throw new ServiceException(e);
 			}
-		} catch (DAOException e) {
-			throw new ServiceException(e.getMessage());
-		}
+		}, ServiceException::new);
 	}
 
 
 	public boolean createSubtask(Subtask subtask) throws ServiceException {
 		Logger.info("Inserting Sub Task in db");
-		try {
-			if (TaskDAO.getAllIds().contains(subtask.getTaskId())) {
-				if (TaskValidator.validateTaskName(subtask.getSubtaskName())) {
-					return TaskDAO.createSubTask(subtask);
+		return UnitOfWork.run(() -> {
+			try {
+				if (TaskDAO.taskExists(subtask.getTaskId())) {
+					if (TaskValidator.validateTaskName(subtask.getSubtaskName())) {
+						boolean created = TaskDAO.createSubTask(subtask);
+						TaskCache.subtasksChanged(subtask.getTaskId());
+						return created;
+					}
+				} else {
+					throw new ServiceException(ErrorCode.INVALID_ID, "Invalid Task Id: Task Id don't exist.");
 				}
-			} else {
-				throw new ServiceException("Invalid Task Id: Task Id don't exist.");
+			} catch (DAOException | InvalidInputException e) {
+				throw new ServiceException("Error while creating subtask", e);
 			}
-		} catch (DAOException | InvalidInputException e) {
-			throw new ServiceException("Error while creating subtask: " + e.getMessage());
-		}
-		return false;
+			return false;
+		}, ServiceException::new);
+	}
+
+	/**
+	 * Creates many subtasks in one batch. Every subtask is validated and every
+	 * parent task is checked before anything is written.
+	 *
+	 * @param subtasks The subtasks to be created.
+	 * @return The generated ids and the rows the database rejected.
+	 * @throws ServiceException If a subtask is invalid or the batch fails.
+	 */
+	public BatchResult createSubtasks(List<Subtask> subtasks) throws ServiceException {
+		Logger.info("Inserting " + (subtasks != null ? subtasks.size() : 0) + " Sub Tasks in db");
+		return UnitOfWork.run(() -> {
+			try {
+				if (subtasks == null || subtasks.isEmpty()) {
+					throw new InvalidInputException("Subtasks can not be empty");
+				}
+				Set<Integer> checkedTaskIds = new HashSet<>();
+				for (int i = 0; i < subtasks.size(); i++) {
+					Subtask subtask = subtasks.get(i);
+					try {
+						if (subtask == null) {
+							throw new InvalidInputException("Subtask can not be null");
+						}
+						TaskValidator.validateTaskName(subtask.getSubtaskName());
+						if (checkedTaskIds.add(subtask.getTaskId()) && !TaskDAO.taskExists(subtask.getTaskId())) {
+							throw new InvalidInputException("Invalid Task Id: Task Id don't exist.");
+						}
+					} catch (InvalidInputException e) {
+						throw new InvalidInputException("Subtask " + i + ": " + e.getMessage());
+					}
+				}
+				BatchResult result = TaskDAO.createSubtasks(subtasks);
+				for (Integer taskId : checkedTaskIds) {
+					TaskCache.subtasksChanged(taskId);
+				}
+				return result;
+			} catch (DAOException | InvalidInputException e) {
+				throw new ServiceException("Error while creating subtasks", e);
+			}
+		}, ServiceException::new);
 	}
 
 	public List<Subtask> readAllSubTaskByTaskId(int taskId) throws ServiceException, InvalidInputException {
 		Logger.info("Reading Sub Task by Task id in db");
+		if (UnitOfWork.isActive()) {
+			return loadAllSubTaskByTaskId(taskId);
+		}
+		return TaskCache.copySubtasks(
+				TaskCache.SUBTASKS_BY_TASK.getOrLoad(taskId, () -> loadAllSubTaskByTaskId(taskId)));
+	}
+
+	private List<Subtask> loadAllSubTaskByTaskId(int taskId) throws ServiceException {
 		try {
 			return TaskDAO.readAllSubTaskByTaskId(taskId);
 		} catch (DAOException e) {
-			throw new ServiceException("Error while reading Subtask: " + e.getMessage());
+			throw new ServiceException("Error while reading Subtask", e);
 		}
 	}
 
-	public Subtask readSubTaskById(int subtaskId) throws ServiceException, InvalidInputException {
-		Logger.info("Reading Sub Task by SubTask id in db");
+	/**
+	 * Reads the subtasks of many tasks with a few queries instead of one per
+	 * task. Cached subtask lists are not read again.
+	 *
+	 * @param taskIds The IDs of the tasks.
+	 * @return The subtasks of each task, in input order; empty for a task
+	 *         without subtasks.
+	 * @throws ServiceException If the subtasks cannot be read.
+	 */
+	public Map<Integer, List<Subtask>> readSubtasksByTaskIds(Collection<Integer> taskIds) throws ServiceException {
+		Logger.info("Reading Sub Tasks by Task ids in db");
+		if (UnitOfWork.isActive()) {
+			return loadSubtasksByTaskIds(taskIds);
+		}
+		Map<Integer, List<Subtask>> subtasks = TaskCache.SUBTASKS_BY_TASK.getAllOrLoad(taskIds,
+				this::loadSubtasksByTaskIds);
+		subtasks.replaceAll((taskId, list) -> TaskCache.copySubtasks(list));
+		return subtasks;
+	}
+
+	private Map<Integer, List<Subtask>> loadSubtasksByTaskIds(Collection<Integer> taskIds) throws ServiceException {
 		try {
-			if (TaskDAO.getAllSubtaskIds().contains(subtaskId)) {
-				return TaskDAO.readSubTaskById(subtaskId);
-			} else {
-				throw new ServiceException("Invalid Sub Task Id: Subtask Id doesn't exist,");
-			}
+			return TaskDAO.readSubtasksByTaskIds(taskIds);
 		} catch (DAOException e) {
-			throw new ServiceException("Error while reading Subtask: " + e.getMessage());
+			throw new ServiceException("Error while reading Subtask", e);
 		}
 	}
 
+	/**
+	 * @return A loader that reads the subtasks of one request's tasks in
+	 *         batches, see {@link BatchLoader}.
+	 */
+	public BatchLoader<Integer, List<Subtask>> newSubtaskLoader() {
+		return new BatchLoader<>(this::readSubtasksByTaskIds);
+	}
+
+	public Subtask readSubTaskById(int subtaskId) throws ServiceException, InvalidInputException {
+		Logger.info("Reading Sub Task by SubTask id in db");
+		return UnitOfWork.run(() -> {
+			try {
+				if (TaskDAO.subtaskExists(subtaskId)) {
+					return TaskDAO.readSubTaskById(subtaskId);
+				} else {
+					throw new ServiceException(ErrorCode.INVALID_ID, "Invalid Sub Task Id: Subtask Id doesn't exist,");
+				}
+			} catch (DAOException e) {
+				throw new ServiceException("Error while reading Subtask", e);
+			}
+		}, ServiceException::new);
+	}
+
 	/**
 	 * Updates a specific subtask in the database.
 	 *
@@ -169,38 +481,61 @@ public class TaskService {
 	 */
 	public boolean updateSubtask(Subtask subtask) throws ServiceException {
 		Logger.info("Updating Sub Task in db");
-		try {
-			if (subtask != null) {
-				if (TaskDAO.getAllSubtaskIds().contains(subtask.getSubtaskId())) {
-					if (TaskValidator.validateTaskName(subtask.getSubtaskName())) {
-						if(subtask.getEndDate().isBefore(subtask.getStartDate())) {
-							throw new InvalidInputException("End Date Can't be before start date");
+		return UnitOfWork.run(() -> {
+			try {
+				if (subtask != null) {
+					if (TaskDAO.subtaskExists(subtask.getSubtaskId())) {
+						if (TaskValidator.validateTaskName(subtask.getSubtaskName())) {
+							if(subtask.getEndDate().isBefore(subtask.getStartDate())) {
+								throw new InvalidInputException(TaskErrors.INVALID_END_DATE_BEFORE_START_DATE);
+							}
+							Set<TaskField> fields = subtask.getChangedFields();
+							boolean updated = TaskDAO.updatesubtask(subtask);
+							TaskCache.subtaskUpdated(subtask.getSubtaskId(), fields);
+							return updated;
 						}
-						return TaskDAO.updatesubtask(subtask);
+					} else {
+						throw new ServiceException(ErrorCode.INVALID_ID, "Invalid Subtask Id");
 					}
 				} else {
-					throw new ServiceException("Invalid Subtask Id");
+					throw new ServiceException(ErrorCode.INVALID_INPUT, "Subtask can not be null");
 				}
-			} else {
-				throw new ServiceException("Subtask can not be null");
+			} catch (DAOException | InvalidInputException e) {
+				throw new ServiceException("Error while updating subtask", e);
 			}
-		} catch (DAOException | InvalidInputException e) {
-			throw new ServiceException("Error while updating subtask: " + e.getMessage());
-		}
-		return false;
+			return false;
+		}, ServiceException::new);
 	}
 
 	public boolean deleteSubTask(int subtaskId) throws ServiceException {
 		Logger.info("Deleting Subtask in db");
-		try {
-			if (TaskDAO.getAllSubtaskIds().contains(subtaskId)) {
-				return TaskDAO.deleteSubTask(subtaskId);
-			} else {
-				throw new ServiceException("Invalid subtaskId: subtask doesn't exist");
+		return UnitOfWork.run(() -> {
+			try {
+				if (TaskDAO.subtaskExists(subtaskId)) {
+					boolean deleted = TaskDAO.deleteSubTask(subtaskId);
+					TaskCache.subtaskChanged(subtaskId);
+					return deleted;
+				} else {
+					throw new ServiceException(ErrorCode.INVALID_ID, "Invalid subtaskId: subtask doesn't exist");
+				}
+			} catch (DAOException e) {
+				throw new ServiceException(e);
 			}
-		} catch (DAOException e) {
-			throw new ServiceException(e.getMessage());
-		}
+		}, ServiceException::new);
+	}
+
+	/**
+	 * @return Hit and miss counters of the task caches, for monitoring.
+	 */
+	public static List<CacheStats> getCacheStats() {
+		return TaskCache.stats();
+	}
+
+	/**
+	 * @return How many concurrent task reads shared another read's query.
+	 */
+	public static FlightStats getFlightStats() {
+		return TaskCache.flightStats();
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.fssa.freshtime.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.fssa.freshtime.models.User;
+import com.fssa.freshtime.utils.Settings;
+import com.fssa.freshtime.utils.UnitOfWork;
+import com.fssa.freshtime.utils.cache.BoundedCache;
+import com.fssa.freshtime.utils.cache.CacheStats;
+
+/**
+ * The user lookups behind {@link UserService}, by email and by user id.
+ *
+ * A lookup of an unknown email is cached as an empty entry, so repeated
+ * logins with a wrong address do not reach the database either. Each cache
+ * holds at most {@code freshtime.cache.users.maxSize} entries (default 10000)
+ * for {@code freshtime.cache.users.ttlSeconds} (default 60);
+ * {@code freshtime.cache.users.enabled=false} turns them off.
+ *
+ * Emails are compared without case when invalidating, as the MySQL
+ * collation does, so a change made with a differently cased address still
+ * clears the cached entry. The invalidation methods run after the current
+ * {@link UnitOfWork} commits.
+ */
+final class UserCache {
+
+	private static final boolean ENABLED = Settings.getBoolean("freshtime.cache.users.enabled",
+			"FRESHTIME_CACHE_USERS_ENABLED", true);
+	private static final int MAX_SIZE = ENABLED
+			? Settings.getInt("freshtime.cache.users.maxSize", "FRESHTIME_CACHE_USERS_MAX_SIZE", 10000)
+			: 0;
+	private static final long TTL_MILLIS = Settings.getLong("freshtime.cache.users.ttlSeconds",
+			"FRESHTIME_CACHE_USERS_TTL_SECONDS", 60) * 1000;
+
+	static final BoundedCache<String, Optional<User>> BY_EMAIL = new BoundedCache<>("usersByEmail", MAX_SIZE,
+			TTL_MILLIS);
+	static final BoundedCache<Integer, User> BY_ID = new BoundedCache<>("usersById", MAX_SIZE, TTL_MILLIS);
+
+	private UserCache() {
+	}
+
+	static List<CacheStats> stats() {
+		return List.of(BY_EMAIL.getStats(), BY_ID.getStats());
+	}
+
+	/**
+	 * A user was created, changed or deleted.
+	 *
+	 * @param emailId The email used for the change.
+	 * @param userId  The user's id, or 0 if unknown.
+	 */
+	static void userChanged(String emailId, int userId) {
+		UnitOfWork.afterCommit(() -> {
+			BY_EMAIL.invalidateIf((email, user) -> email.equalsIgnoreCase(emailId)
+					|| (userId != 0 && user.isPresent() && user.get().getUserId() == userId));
+			if (userId != 0) {
+				BY_ID.invalidate(userId);
+			}
+		});
+	}
+
+	static User copy(User user) {
+		return user == null ? null : new User(user);
+	}
+
+}
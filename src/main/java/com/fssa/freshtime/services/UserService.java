@@ -2,25 +2,57 @@ package com.fssa.freshtime.services;
 
 import com.fssa.freshtime.dao.UserDAO;
 import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
 import com.fssa.freshtime.exceptions.InvalidInputException;
 import com.fssa.freshtime.exceptions.ServiceException;
 import com.fssa.freshtime.models.User;
 import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.PasswordUtil;
+import com.fssa.freshtime.utils.UnitOfWork;
+import com.fssa.freshtime.utils.cache.CacheStats;
 import com.fssa.freshtime.validators.UserValidator;
 
 import java.sql.SQLException;
-
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service class for managing users in the FreshTime application.
+ *
+ * Users are looked up through {@link UserCache}, including emails that are
+ * not registered, so a repeated login or profile read usually needs no
+ * database round trip. Every change through this service invalidates the
+ * cached user.
+ */
 public class UserService {
 
 	UserDAO userDAO = new UserDAO();
 
+	/**
+	 * @return The user with this email, or null if there is none.
+	 */
+	private User findUser(String emailId) throws DAOException {
+		if (UnitOfWork.isActive()) {
+			return userDAO.getUserByEmail(emailId);
+		}
+		return UserCache.BY_EMAIL.getOrLoad(emailId, () -> Optional.ofNullable(userDAO.getUserByEmail(emailId)))
+				.orElse(null);
+	}
+
 	public boolean userSignUp(User user) throws ServiceException {
 		Logger.info("Inserting user in db");
 		try {
-			if (UserValidator.validateUser(user))
-				return userDAO.userRegistration(user);
+			if (UserValidator.validateUser(user)) {
+				String passwordHash = PasswordUtil.encryptPassword(user.getPassword());
+				boolean registered = userDAO.userRegistration(user, passwordHash);
+				UserCache.userChanged(user.getEmailId(), 0);
+				return registered;
+			}
 		} catch (InvalidInputException | DAOException e) {
-			throw new ServiceException(e.getMessage());
+			throw new ServiceException(e);
+		} catch (RejectedExecutionException e) {
+			throw new ServiceException(ErrorCode.OVERLOADED, e.getMessage());
 		}
 
 		return false;
@@ -31,16 +63,20 @@ public class UserService {
 		Logger.info("Deleting user in db");
 		try {
 			if (UserValidator.validateEmailId(emailId)) {
-				if(userDAO.emailExists(emailId)) {
-					return userDAO.deleteUser(emailId);
+				User user = findUser(emailId);
+				if(user != null) {
+					boolean deleted = userDAO.deleteUser(emailId);
+					UserCache.userChanged(emailId, user.getUserId());
+					TaskCache.userChanged(user.getUserId());
+					return deleted;
 				}
 				else {
-					throw new ServiceException("Email Not Found");
+					throw new ServiceException(ErrorCode.NOT_FOUND, "Email Not Found");
 				}
 			}
 				
 		} catch (InvalidInputException | DAOException | SQLException e) {
-			throw new ServiceException(e.getMessage());
+			throw new ServiceException(e);
 		}
 
 		return false;
@@ -51,14 +87,17 @@ public class UserService {
 		Logger.info("checking email and pass in db");
 	    try {
 			if (UserValidator.validateEmailId(emailId) && UserValidator.validatePassword(password)) {
-			    if (userDAO.emailExists(emailId)) {
-			        return userDAO.userLogin(emailId, password);
+			    User user = findUser(emailId);
+			    if (user != null) {
+			        return PasswordUtil.verifyPassword(password, user.getPassword());
 			    } else {
-			        throw new DAOException("Email not found: " + emailId);
+			        throw new DAOException(ErrorCode.NOT_FOUND, "Email not found: " + emailId);
 			    }
 			}
-		} catch (InvalidInputException | DAOException | SQLException e) {
-			throw new ServiceException(e.getMessage());
+		} catch (InvalidInputException | DAOException e) {
+			throw new ServiceException(e);
+		} catch (RejectedExecutionException e) {
+			throw new ServiceException(ErrorCode.OVERLOADED, e.getMessage());
 		}
 	    return false;
 	}
@@ -68,14 +107,15 @@ public class UserService {
 		Logger.info("Getting user by email in db");
 	    try {
 			if (UserValidator.validateEmailId(emailId)) {
-			    if (userDAO.emailExists(emailId)) {
-			        return userDAO.getUserByEmail(emailId);
+			    User user = findUser(emailId);
+			    if (user != null) {
+			        return UserCache.copy(user);
 			    } else {
-			        throw new DAOException("User not found for email: " + emailId);
+			        throw new DAOException(ErrorCode.NOT_FOUND, "User not found for email: " + emailId);
 			    }
 			}
 		} catch (InvalidInputException | DAOException e) {
-			throw new ServiceException(e.getMessage());
+			throw new ServiceException(e);
 		}
 	    return null;
 	}
@@ -86,17 +126,20 @@ public class UserService {
 	 public boolean changeUserName(String email, String userName) throws ServiceException {
 		 
 	        try {
-	            if (userDAO.emailExists(email)) {
+	            User user = findUser(email);
+	            if (user != null) {
 	            	if(UserValidator.validateUserName(userName)) {
 	            		Logger.info("changing username in db");
-	            		return userDAO.changeUserName(email,userName);
+	            		boolean changed = userDAO.changeUserName(email,userName);
+	            		UserCache.userChanged(email, user.getUserId());
+	            		return changed;
 	            } else {
-	                throw new DAOException("Email not found: " + userName);
+	                throw new DAOException(ErrorCode.NOT_FOUND, "Email not found: " + userName);
 	            }
 	            }
 	        }
 	        catch (DAOException | InvalidInputException e) {
-	            throw new ServiceException("Error updating user profile: " + e.getMessage());
+	            throw new ServiceException("Error updating user profile", e);
 	        }
 			return false;
 	 }
@@ -106,18 +149,51 @@ public class UserService {
 		    try {
 				if (UserValidator.validateEmailId(emailId) && UserValidator.validatePassword(newPassword)) {
 					
-				    if (userDAO.emailExists(emailId)) {
+				    User user = findUser(emailId);
+				    if (user != null) {
 				    	Logger.info("Changing pass in db");
-				        return userDAO.changePassword(emailId, newPassword);
+				    	String passwordHash = PasswordUtil.encryptPassword(newPassword);
+				        boolean changed = userDAO.changePasswordHash(emailId, passwordHash);
+				        UserCache.userChanged(emailId, user.getUserId());
+				        return changed;
 				    } else {
-				        throw new DAOException("Email not found: " + emailId);
+				        throw new DAOException(ErrorCode.NOT_FOUND, "Email not found: " + emailId);
 				    }
 				}
 			} catch (InvalidInputException | DAOException | SQLException e) {
-				throw new ServiceException(e.getMessage());
+				throw new ServiceException(e);
+			} catch (RejectedExecutionException e) {
+				throw new ServiceException(ErrorCode.OVERLOADED, e.getMessage());
 			}
 			return false;
 		}
 
+	/**
+	 * Reads a user by id.
+	 *
+	 * @param userId The ID of the user.
+	 * @return The user.
+	 * @throws ServiceException If the user doesn't exist or cannot be read.
+	 */
+	public User getUserById(int userId) throws ServiceException {
+		Logger.info("Getting user by id in db");
+		try {
+			User user = UnitOfWork.isActive() ? userDAO.getUserById(userId)
+					: UserCache.BY_ID.getOrLoad(userId, () -> userDAO.getUserById(userId));
+			if (user == null) {
+				throw new DAOException(ErrorCode.NOT_FOUND, "User not found for id: " + userId);
+			}
+			return UserCache.copy(user);
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * @return Hit and miss counters of the user caches, for monitoring.
+	 */
+	public static List<CacheStats> getCacheStats() {
+		return UserCache.stats();
+	}
 
 }
@@ -1,37 +1,137 @@
 package com.fssa.freshtime.utils;
 
 import java.sql.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fssa.freshtime.utils.migration.MigrationRunner;
+import com.fssa.freshtime.utils.pool.ConnectionPool;
+import com.fssa.freshtime.utils.pool.PoolConfig;
+import com.fssa.freshtime.utils.pool.PoolStats;
 
 public class ConnectionUtil {
 
-	public static Connection getConnection() {
-		Connection con = null;
+	private static final List<Runnable> BEFORE_SHUTDOWN = new CopyOnWriteArrayList<>();
 
-		String url, userName, passWord;
+	/**
+	 * The pool is created on first use so that merely loading this class does
+	 * not need a database.
+	 */
+	private static final class PoolHolder {
+		static final ConnectionPool POOL = createPool();
 
-		url = System.getenv("DATABASE_HOST");
-		userName = System.getenv("DATABASE_USERNAME");
-		passWord = System.getenv("DATABASE_PASSWORD");
+		private static ConnectionPool createPool() {
+			ConnectionPool pool = new ConnectionPool(PoolConfig.fromEnvironment());
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				runBeforeShutdown();
+				pool.close();
+			}, "freshtime-pool-shutdown"));
+			prepareSchema(pool);
+			return pool;
+		}
 
-//		url = System.getenv("CLOUD_DATABASE_HOST");
-//		userName = System.getenv("CLOUD_DATABASE_USERNAME");
-//		passWord = System.getenv("CLOUD_DATABASE_PASSWORD");
-		
-		
+		/**
+		 * Applies pending schema migrations unless {@code freshtime.db.migrate}
+		 * is false. The embedded database is always migrated and, unless
+		 * {@code freshtime.db.seed} is false, seeded while the users table is
+		 * still empty.
+		 */
+		private static void prepareSchema(ConnectionPool pool) {
+			boolean embedded = DatabaseProfile.current() == DatabaseProfile.EMBEDDED;
+			if (!embedded && !Settings.getBoolean("freshtime.db.migrate", "FRESHTIME_DB_MIGRATE", true)) {
+				return;
+			}
+			try (Connection connection = pool.getConnection()) {
+				MigrationRunner.fromClasspath().migrate(connection);
+				if (embedded && Settings.getBoolean("freshtime.db.seed", "FRESHTIME_DB_SEED", true)
+						&& isEmpty(connection)) {
+					SqlScript.run(connection, DatabaseProfile.SEED_SCRIPT);
+					Logger.info("Embedded database seeded");
+				}
+			} catch (SQLException e) {
+				pool.close();
+				throw new IllegalStateException("Unable to prepare the database schema: " + e.getMessage(), e);
+			}
+		}
+
+		private static boolean isEmpty(Connection connection) throws SQLException {
+			try (Statement statement = connection.createStatement();
+					ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+				return rs.next() && rs.getInt(1) == 0;
+			}
+		}
+	}
+
+	/**
+	 * Borrows a connection from the shared pool. Closing the connection returns
+	 * it to the pool, so callers keep using try-with-resources as before.
+	 *
+	 * Inside a {@link UnitOfWork} this returns the unit's connection instead,
+	 * so the caller joins its transaction.
+	 *
+	 * @return A pooled database connection.
+	 */
+	public static Connection getConnection() {
+		Connection current = UnitOfWork.currentConnection();
+		if (current != null) {
+			return current;
+		}
+		return borrowConnection();
+	}
+
+	static Connection borrowConnection() {
 		try {
-			Class.forName("com.mysql.cj.jdbc.Driver");
-			con = DriverManager.getConnection(url, userName, passWord);
-			Logger.info("Connected to db");
-		} catch (Exception e) {
-			e.printStackTrace();
-			throw new RuntimeException("Unable to connect to the database");
+			return PoolHolder.POOL.getConnection();
+		} catch (SQLException e) {
+			throw new RuntimeException("Unable to connect to the database", e);
 		}
-		return con;
 	}
-	
+
+	/**
+	 * @return Active, idle and waiter counts of the shared pool.
+	 */
+	public static PoolStats getPoolStats() {
+		return PoolHolder.POOL.getStats();
+	}
+
+	/**
+	 * Closes the shared pool. Only meant for application shutdown.
+	 */
+	public static void shutdown() {
+		runBeforeShutdown();
+		PoolHolder.POOL.close();
+	}
+
+	/**
+	 * Registers an action that still needs the database at shutdown, such as
+	 * flushing buffered writes. The actions run once, in registration order,
+	 * before the shared pool is closed by {@link #shutdown()} or on JVM exit.
+	 *
+	 * @param hook The action to run.
+	 */
+	public static void beforeShutdown(Runnable hook) {
+		BEFORE_SHUTDOWN.add(hook);
+	}
+
+	private static void runBeforeShutdown() {
+		for (Runnable hook : BEFORE_SHUTDOWN) {
+			if (BEFORE_SHUTDOWN.remove(hook)) {
+				try {
+					hook.run();
+				} catch (RuntimeException e) {
+					Logger.info("Shutdown action failed: " + e.getMessage());
+				}
+			}
+		}
+	}
+
 	public static void main(String[] args) {
-		System.out.println(ConnectionUtil.getConnection());
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			System.out.println(connection);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		System.out.println(ConnectionUtil.getPoolStats());
 	}
 
 }
-
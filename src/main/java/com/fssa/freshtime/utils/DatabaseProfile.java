@@ -0,0 +1,45 @@
+package com.fssa.freshtime.utils;
+
+/**
+ * The database the application runs against.
+ *
+ * Selected with {@code -Dfreshtime.db.profile=embedded} (or
+ * FRESHTIME_DB_PROFILE). The default {@link #MYSQL} profile connects to the
+ * server named in DATABASE_HOST. {@link #EMBEDDED} runs an in-memory H2
+ * database in MySQL mode inside the JVM, applies the schema migrations and
+ * loads the seed data from {@code src/main/sql/embedded} on first use, so
+ * tests, benchmarks and load runs need no external service.
+ */
+public enum DatabaseProfile {
+
+	MYSQL("com.mysql.cj.jdbc.Driver", null),
+	EMBEDDED("org.h2.Driver", "jdbc:h2:mem:freshtime;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+	public static final String SEED_SCRIPT = "sql/embedded/seed.sql";
+
+	private final String driverClassName;
+	private final String defaultUrl;
+
+	DatabaseProfile(String driverClassName, String defaultUrl) {
+		this.driverClassName = driverClassName;
+		this.defaultUrl = defaultUrl;
+	}
+
+	public static DatabaseProfile current() {
+		String profile = Settings.get("freshtime.db.profile", "FRESHTIME_DB_PROFILE", MYSQL.name());
+		try {
+			return valueOf(profile.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("Unknown database profile: " + profile, e);
+		}
+	}
+
+	public String getDriverClassName() {
+		return driverClassName;
+	}
+
+	public String getDefaultUrl() {
+		return defaultUrl;
+	}
+
+}
@@ -0,0 +1,239 @@
+package com.fssa.freshtime.utils;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative int ids.
+ *
+ * Ids are split into 65536-wide chunks by their upper 16 bits. A sparse chunk
+ * stores its lower 16 bits in a sorted char array, a dense chunk (more than
+ * 4096 ids) switches to a 8 KB bitset. Auto-increment ids are dense, so a
+ * million ids take roughly 128 KB and a lookup is a binary search over the
+ * chunk keys plus one array or bit probe, without boxing.
+ *
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public class IdBitmap {
+
+	private static final int ARRAY_MAX_SIZE = 4096;
+	private static final int BITSET_WORDS = 1024;
+
+	private char[] keys = new char[4];
+	private Object[] chunks = new Object[4];
+	private int chunkCount;
+	private int cardinality;
+
+	/** Sparse chunk: sorted low bits. */
+	private static final class ArrayChunk {
+		char[] values = new char[4];
+		int size;
+	}
+
+	/** Dense chunk: one bit per low-bit value. */
+	private static final class BitsetChunk {
+		final long[] words = new long[BITSET_WORDS];
+		int size;
+	}
+
+	public boolean contains(int id) {
+		if (id < 0) {
+			return false;
+		}
+		int index = chunkIndex((char) (id >>> 16));
+		if (index < 0) {
+			return false;
+		}
+		char low = (char) id;
+		Object chunk = chunks[index];
+		if (chunk instanceof BitsetChunk bitset) {
+			return (bitset.words[low >>> 6] & (1L << low)) != 0;
+		}
+		ArrayChunk array = (ArrayChunk) chunk;
+		return Arrays.binarySearch(array.values, 0, array.size, low) >= 0;
+	}
+
+	/**
+	 * @return True if the id was not present before.
+	 */
+	public boolean add(int id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Negative id: " + id);
+		}
+		char high = (char) (id >>> 16);
+		char low = (char) id;
+
+		int index = chunkIndex(high);
+		if (index < 0) {
+			index = -index - 1;
+			insertChunk(index, high, new ArrayChunk());
+		}
+
+		boolean added;
+		Object chunk = chunks[index];
+		if (chunk instanceof BitsetChunk bitset) {
+			added = addToBitset(bitset, low);
+		} else {
+			ArrayChunk array = (ArrayChunk) chunk;
+			added = addToArray(array, low);
+			if (added && array.size > ARRAY_MAX_SIZE) {
+				chunks[index] = toBitset(array);
+			}
+		}
+		if (added) {
+			cardinality++;
+		}
+		return added;
+	}
+
+	/**
+	 * @return True if the id was present.
+	 */
+	public boolean remove(int id) {
+		if (id < 0) {
+			return false;
+		}
+		int index = chunkIndex((char) (id >>> 16));
+		if (index < 0) {
+			return false;
+		}
+		char low = (char) id;
+
+		boolean removed;
+		int remaining;
+		Object chunk = chunks[index];
+		if (chunk instanceof BitsetChunk bitset) {
+			removed = removeFromBitset(bitset, low);
+			remaining = bitset.size;
+			if (removed && remaining > 0 && remaining <= ARRAY_MAX_SIZE) {
+				chunks[index] = toArray(bitset);
+			}
+		} else {
+			ArrayChunk array = (ArrayChunk) chunk;
+			removed = removeFromArray(array, low);
+			remaining = array.size;
+		}
+
+		if (removed) {
+			cardinality--;
+			if (remaining == 0) {
+				removeChunk(index);
+			}
+		}
+		return removed;
+	}
+
+	public int cardinality() {
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	/**
+	 * @return Approximate heap used by the chunks, in bytes.
+	 */
+	public long sizeInBytes() {
+		long bytes = (long) keys.length * Character.BYTES + (long) chunks.length * 8;
+		for (int i = 0; i < chunkCount; i++) {
+			Object chunk = chunks[i];
+			bytes += chunk instanceof BitsetChunk ? BITSET_WORDS * Long.BYTES
+					: ((ArrayChunk) chunk).values.length * Character.BYTES;
+		}
+		return bytes;
+	}
+
+	private int chunkIndex(char high) {
+		return Arrays.binarySearch(keys, 0, chunkCount, high);
+	}
+
+	private void insertChunk(int index, char high, Object chunk) {
+		if (chunkCount == keys.length) {
+			keys = Arrays.copyOf(keys, chunkCount * 2);
+			chunks = Arrays.copyOf(chunks, chunkCount * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+		System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+		keys[index] = high;
+		chunks[index] = chunk;
+		chunkCount++;
+	}
+
+	private void removeChunk(int index) {
+		System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+		System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+		chunkCount--;
+		chunks[chunkCount] = null;
+	}
+
+	private static boolean addToArray(ArrayChunk array, char low) {
+		int position = Arrays.binarySearch(array.values, 0, array.size, low);
+		if (position >= 0) {
+			return false;
+		}
+		position = -position - 1;
+		if (array.size == array.values.length) {
+			array.values = Arrays.copyOf(array.values, Math.min(array.size * 2, ARRAY_MAX_SIZE + 1));
+		}
+		System.arraycopy(array.values, position, array.values, position + 1, array.size - position);
+		array.values[position] = low;
+		array.size++;
+		return true;
+	}
+
+	private static boolean removeFromArray(ArrayChunk array, char low) {
+		int position = Arrays.binarySearch(array.values, 0, array.size, low);
+		if (position < 0) {
+			return false;
+		}
+		System.arraycopy(array.values, position + 1, array.values, position, array.size - position - 1);
+		array.size--;
+		return true;
+	}
+
+	private static boolean addToBitset(BitsetChunk bitset, char low) {
+		long mask = 1L << low;
+		int word = low >>> 6;
+		if ((bitset.words[word] & mask) != 0) {
+			return false;
+		}
+		bitset.words[word] |= mask;
+		bitset.size++;
+		return true;
+	}
+
+	private static boolean removeFromBitset(BitsetChunk bitset, char low) {
+		long mask = 1L << low;
+		int word = low >>> 6;
+		if ((bitset.words[word] & mask) == 0) {
+			return false;
+		}
+		bitset.words[word] &= ~mask;
+		bitset.size--;
+		return true;
+	}
+
+	private static BitsetChunk toBitset(ArrayChunk array) {
+		BitsetChunk bitset = new BitsetChunk();
+		for (int i = 0; i < array.size; i++) {
+			char low = array.values[i];
+			bitset.words[low >>> 6] |= 1L << low;
+		}
+		bitset.size = array.size;
+		return bitset;
+	}
+
+	private static ArrayChunk toArray(BitsetChunk bitset) {
+		ArrayChunk array = new ArrayChunk();
+		array.values = new char[bitset.size];
+		for (int word = 0; word < BITSET_WORDS; word++) {
+			long bits = bitset.words[word];
+			while (bits != 0) {
+				array.values[array.size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+				bits &= bits - 1;
+			}
+		}
+		return array;
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.fssa.freshtime.utils;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import com.fssa.freshtime.exceptions.InvalidInputException;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ *
+ * A token records the sort key and id of the last row of a page, so the next
+ * page starts strictly after it no matter how many rows were inserted or
+ * deleted in between. Clients only ever see the url-safe Base64 form and must
+ * treat it as opaque; the leading version and kind bytes let us change the
+ * layout later and stop a notes token from being replayed against tasks.
+ */
+public final class PageToken {
+
+	public static final byte TASKS = 'T';
+	public static final byte NOTES = 'N';
+
+	private static final byte VERSION = 1;
+	private static final int LENGTH = 1 + 1 + 1 + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+	private final byte kind;
+	private final boolean nullKey;
+	private final long seconds;
+	private final int nanos;
+	private final int id;
+
+	private PageToken(byte kind, boolean nullKey, long seconds, int nanos, int id) {
+		this.kind = kind;
+		this.nullKey = nullKey;
+		this.seconds = seconds;
+		this.nanos = nanos;
+		this.id = id;
+	}
+
+	/**
+	 * @param key The sort key of the last row, may be null.
+	 * @param id  The id of the last row.
+	 */
+	public static PageToken of(byte kind, LocalDateTime key, int id) {
+		if (key == null) {
+			return new PageToken(kind, true, 0, 0, id);
+		}
+		return new PageToken(kind, false, key.toEpochSecond(ZoneOffset.UTC), key.getNano(), id);
+	}
+
+	public static PageToken of(byte kind, LocalDate key, int id) {
+		return of(kind, key != null ? key.atStartOfDay() : null, id);
+	}
+
+	/**
+	 * Decodes a token handed back by a client.
+	 *
+	 * @param token        The encoded token, null or blank for the first page.
+	 * @param expectedKind The listing the token must belong to.
+	 * @return The decoded token, or null for the first page.
+	 * @throws InvalidInputException If the token is malformed or belongs to
+	 *                               another listing.
+	 */
+	public static PageToken decode(String token, byte expectedKind) throws InvalidInputException {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(token.trim());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidInputException("Invalid page token");
+		}
+		if (bytes.length != LENGTH) {
+			throw new InvalidInputException("Invalid page token");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		byte version = buffer.get();
+		byte kind = buffer.get();
+		if (version != VERSION || kind != expectedKind) {
+			throw new InvalidInputException("Invalid page token");
+		}
+		boolean nullKey = buffer.get() != 0;
+		long seconds = buffer.getLong();
+		int nanos = buffer.getInt();
+		int id = buffer.getInt();
+		if (nanos < 0 || nanos > 999_999_999) {
+			throw new InvalidInputException("Invalid page token");
+		}
+		return new PageToken(kind, nullKey, seconds, nanos, id);
+	}
+
+	public String encode() {
+		ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+		buffer.put(VERSION).put(kind).put((byte) (nullKey ? 1 : 0)).putLong(seconds).putInt(nanos).putInt(id);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	/**
+	 * @return True if the last row had a null sort key.
+	 */
+	public boolean isNullKey() {
+		return nullKey;
+	}
+
+	public LocalDateTime getDateTimeKey() {
+		return nullKey ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+	}
+
+	public LocalDate getDateKey() {
+		return nullKey ? null : getDateTimeKey().toLocalDate();
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return encode();
+	}
+
+}
@@ -1,8 +1,146 @@
 package com.fssa.freshtime.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * Hashes and verifies passwords with BCrypt.
+ *
+ * BCrypt is deliberately slow, so the work runs on a small pool of its own
+ * instead of the caller's thread: {@code freshtime.bcrypt.threads} workers
+ * (default: the number of processors) behind a queue of
+ * {@code freshtime.bcrypt.queueSize} requests (default 64). When the queue is
+ * full, or a request waits longer than {@code freshtime.bcrypt.timeoutMillis}
+ * (default 10000), the call fails with {@link RejectedExecutionException}
+ * instead of piling up more waiting threads. A signup burst therefore
+ * saturates these workers and not every request thread.
+ *
+ * The cost factor is {@code freshtime.bcrypt.cost} (default 10, 4 to 31).
+ * Hashes store their own cost, so changing it only affects new hashes.
+ *
+ * Hash before borrowing a connection; the caller waits for the result.
+ */
 public class PasswordUtil {
+
+	public static final int COST = Settings.getInt("freshtime.bcrypt.cost", "FRESHTIME_BCRYPT_COST", 10);
+	private static final int THREADS = Settings.getInt("freshtime.bcrypt.threads", "FRESHTIME_BCRYPT_THREADS",
+			Runtime.getRuntime().availableProcessors());
+	private static final int QUEUE_SIZE = Settings.getInt("freshtime.bcrypt.queueSize", "FRESHTIME_BCRYPT_QUEUE_SIZE",
+			64);
+	private static final long TIMEOUT_MILLIS = Settings.getLong("freshtime.bcrypt.timeoutMillis",
+			"FRESHTIME_BCRYPT_TIMEOUT_MILLIS", 10000);
+
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+	private PasswordUtil() {
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		if (COST < 4 || COST > 31) {
+			throw new IllegalStateException("freshtime.bcrypt.cost must be between 4 and 31: " + COST);
+		}
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+					Thread thread = new Thread(runnable, "freshtime-bcrypt-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Hashes a password with the configured cost.
+	 *
+	 * @param plainPassword The password.
+	 * @return The BCrypt hash.
+	 * @throws RejectedExecutionException If the hashing pool is overloaded.
+	 */
 	public static String encryptPassword(String plainPassword) {
-		return BCrypt.hashpw(plainPassword, BCrypt.gensalt());
+		return encryptPassword(plainPassword, COST);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Hashes a password with the given cost.
+	 *
+	 * @param plainPassword The password.
+	 * @param cost          The log2 of the number of rounds, 4 to 31.
+	 * @return The BCrypt hash.
+	 * @throws RejectedExecutionException If the hashing pool is overloaded.
+	 */
+	public static String encryptPassword(String plainPassword, int cost) {
+		return submit(() -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost)));
+	}
+
+	/**
+	 * Checks a password against the stored value. Rows written before
+	 * passwords were hashed still hold the plain password; those are compared
+	 * directly, in constant time.
+	 *
+	 * @param plainPassword  The password to check.
+	 * @param storedPassword The stored hash or legacy plain password.
+	 * @return True if the password matches.
+	 * @throws RejectedExecutionException If the hashing pool is overloaded.
+	 */
+	public static boolean verifyPassword(String plainPassword, String storedPassword) {
+		if (plainPassword == null || storedPassword == null) {
+			return false;
+		}
+		if (!isHash(storedPassword)) {
+			return MessageDigest.isEqual(plainPassword.getBytes(StandardCharsets.UTF_8),
+					storedPassword.getBytes(StandardCharsets.UTF_8));
+		}
+		return submit(() -> {
+			try {
+				return BCrypt.checkpw(plainPassword, storedPassword);
+			} catch (IllegalArgumentException e) {
+				// A hash variant this BCrypt version cannot read.
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * @return True if the value looks like a BCrypt hash.
+	 */
+	public static boolean isHash(String storedPassword) {
+		return storedPassword.length() == 60 && storedPassword.startsWith("$2");
+	}
+
+	private static <T> T submit(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = EXECUTOR.submit(task);
+		} catch (RejectedExecutionException e) {
+			throw new RejectedExecutionException("Too many password requests, try again later");
+		}
+		try {
+			return future.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new RejectedExecutionException("Password hashing timed out, try again later");
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted while hashing the password");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.fssa.freshtime.utils;
+
+/**
+ * Reads tuning settings from system properties, falling back to environment
+ * variables. System properties win so a single run can override the
+ * environment with {@code -D}.
+ */
+public class Settings {
+
+	private Settings() {
+	}
+
+	public static String get(String property, String env, String defaultValue) {
+		String value = System.getProperty(property);
+		if (value == null || value.isBlank()) {
+			value = System.getenv(env);
+		}
+		return value == null || value.isBlank() ? defaultValue : value.trim();
+	}
+
+	public static int getInt(String property, String env, int defaultValue) {
+		String value = get(property, env, null);
+		return value == null ? defaultValue : Integer.parseInt(value);
+	}
+
+	public static long getLong(String property, String env, long defaultValue) {
+		String value = get(property, env, null);
+		return value == null ? defaultValue : Long.parseLong(value);
+	}
+
+	public static boolean getBoolean(String property, String env, boolean defaultValue) {
+		String value = get(property, env, null);
+		return value == null ? defaultValue : Boolean.parseBoolean(value);
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.fssa.freshtime.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs SQL scripts from the classpath.
+ *
+ * Statements are separated by semicolons outside of quotes; lines starting
+ * with {@code --} are comments.
+ */
+public class SqlScript {
+
+	private SqlScript() {
+	}
+
+	/**
+	 * @param connection The connection to run the script on.
+	 * @param resource   The classpath location of the script.
+	 * @throws SQLException If the script is missing or a statement fails.
+	 */
+	public static void run(Connection connection, String resource) throws SQLException {
+		execute(connection, read(resource));
+	}
+
+	/**
+	 * @param connection The connection to run the script on.
+	 * @param script     The script text.
+	 * @throws SQLException If a statement fails.
+	 */
+	public static void execute(Connection connection, String script) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			for (String sql : split(script)) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+	public static String read(String resource) throws SQLException {
+		try (InputStream in = SqlScript.class.getClassLoader().getResourceAsStream(resource)) {
+			if (in == null) {
+				throw new SQLException("SQL script not found on the classpath: " + resource);
+			}
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new SQLException("Unable to read SQL script " + resource + ": " + e.getMessage(), e);
+		}
+	}
+
+	static List<String> split(String script) {
+		List<String> statements = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		char quote = 0;
+
+		for (String line : script.split("\r?\n")) {
+			if (quote == 0 && line.trim().startsWith("--")) {
+				continue;
+			}
+			for (int i = 0; i < line.length(); i++) {
+				char c = line.charAt(i);
+				if (quote != 0) {
+					if (c == quote) {
+						quote = 0;
+					}
+				} else if (c == '\'' || c == '"' || c == '`') {
+					quote = c;
+				} else if (c == ';') {
+					add(statements, current);
+					continue;
+				}
+				current.append(c);
+			}
+			current.append('\n');
+		}
+		add(statements, current);
+		return statements;
+	}
+
+	private static void add(List<String> statements, StringBuilder current) {
+		String sql = current.toString().trim();
+		if (!sql.isEmpty()) {
+			statements.add(sql);
+		}
+		current.setLength(0);
+	}
+
+}
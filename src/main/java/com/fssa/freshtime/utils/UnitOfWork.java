@@ -0,0 +1,211 @@
+package com.fssa.freshtime.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fssa.freshtime.exceptions.DAOException;
+
+/**
+ * Runs a piece of work on one connection and in one transaction.
+ *
+ * While a unit of work is active on a thread, {@link ConnectionUtil#getConnection()}
+ * hands out the unit's connection instead of borrowing a new one, so DAO
+ * methods join the transaction without any change to their code. Closing,
+ * committing or changing auto-commit on that connection is ignored; the unit
+ * commits once when the outermost {@link #run} returns and rolls back if it
+ * throws. A DAO that rolls back on an error marks the unit rollback-only.
+ *
+ * Nested calls to {@link #run} join the outer unit.
+ */
+public final class UnitOfWork {
+
+	private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+	private final Connection connection;
+	private final List<Runnable> afterCommit = new ArrayList<>();
+	private boolean rollbackOnly;
+
+	/**
+	 * Work run inside a unit of work.
+	 */
+	@FunctionalInterface
+	public interface Work<T, E extends Exception> {
+		T execute() throws E;
+	}
+
+	private UnitOfWork(Connection connection) {
+		this.connection = connection;
+	}
+
+	/**
+	 * Runs the work in a transaction, or inside the current one if a unit of
+	 * work is already active on this thread.
+	 *
+	 * @param work    The work to run.
+	 * @param failure Turns a failure of the transaction itself into the
+	 *                work's exception type, for example
+	 *                {@code ServiceException::new}. It receives a
+	 *                {@link DAOException} with
+	 *                {@link com.fssa.freshtime.exceptions.ErrorCode#DATABASE_ERROR}
+	 *                when the commit fails or a statement marked the unit
+	 *                rollback-only.
+	 * @return The result of the work.
+	 * @throws E If the work or the transaction fails; the transaction is
+	 *           rolled back.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, E extends Exception> T run(Work<T, E> work, Function<DAOException, E> failure) throws E {
+		if (CURRENT.get() != null) {
+			return work.execute();
+		}
+
+		Connection connection = ConnectionUtil.borrowConnection();
+		UnitOfWork unit = new UnitOfWork(connection);
+		T result;
+		DAOException transactionFailure = null;
+		try {
+			connection.setAutoCommit(false);
+			CURRENT.set(unit);
+			try {
+				result = work.execute();
+			} finally {
+				CURRENT.remove();
+			}
+			if (unit.rollbackOnly) {
+				transactionFailure = new DAOException("Transaction rolled back because a statement failed");
+			} else {
+				connection.commit();
+			}
+		} catch (SQLException e) {
+			result = null;
+			transactionFailure = new DAOException("Transaction failed", e);
+		} catch (Exception | Error e) {
+			rollbackQuietly(connection);
+			closeQuietly(connection);
+			if (e instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e instanceof Error error) {
+				throw error;
+			}
+			throw (E) e;
+		}
+		if (transactionFailure != null) {
+			rollbackQuietly(connection);
+			closeQuietly(connection);
+			throw failure.apply(transactionFailure);
+		}
+		closeQuietly(connection);
+
+		for (Runnable hook : unit.afterCommit) {
+			hook.run();
+		}
+		return result;
+	}
+
+	/**
+	 * @return True if a unit of work is active on this thread.
+	 */
+	public static boolean isActive() {
+		return CURRENT.get() != null;
+	}
+
+	/**
+	 * Runs the hook once the current unit of work has committed, or right away
+	 * if there is none. Hooks of a rolled back unit are dropped, so in-memory
+	 * state such as caches and indexes only follows committed changes.
+	 *
+	 * @param hook The action to run.
+	 */
+	public static void afterCommit(Runnable hook) {
+		UnitOfWork unit = CURRENT.get();
+		if (unit == null) {
+			hook.run();
+		} else {
+			unit.afterCommit.add(hook);
+		}
+	}
+
+	/**
+	 * @return A view of the current unit's connection, or null if there is no
+	 *         active unit of work.
+	 */
+	static Connection currentConnection() {
+		UnitOfWork unit = CURRENT.get();
+		if (unit == null) {
+			return null;
+		}
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+				unit.new ParticipantHandler());
+	}
+
+	private static void rollbackQuietly(Connection connection) {
+		try {
+			connection.rollback();
+		} catch (SQLException e) {
+			// The pool discards the connection if it is broken.
+		}
+	}
+
+	private static void closeQuietly(Connection connection) {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// Nothing left to release.
+		}
+	}
+
+	/**
+	 * The connection seen by DAO code inside the unit.
+	 */
+	private final class ParticipantHandler implements InvocationHandler {
+
+		private boolean closed;
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				closed = true;
+				return null;
+			case "isClosed":
+				return closed || connection.isClosed();
+			case "commit", "setAutoCommit", "setReadOnly", "setTransactionIsolation":
+				return null;
+			case "getAutoCommit":
+				return false;
+			case "rollback":
+				if (args == null) {
+					rollbackOnly = true;
+					return null;
+				}
+				break;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "UnitOfWork[" + connection + "]";
+			default:
+				break;
+			}
+
+			if (closed) {
+				throw new SQLException("Connection is closed", "08003");
+			}
+			try {
+				return method.invoke(connection, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+}
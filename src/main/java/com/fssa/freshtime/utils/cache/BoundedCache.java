@@ -0,0 +1,222 @@
+package com.fssa.freshtime.utils.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe in-memory cache bounded by entry count and age.
+ *
+ * When full, the least recently used entry is evicted; entries older than the
+ * time to live are dropped on access. A cache with a maximum size of zero
+ * stores nothing.
+ *
+ * Loads run outside the lock. To keep a load that raced with a write from
+ * caching stale data, {@link #getOrLoad} only stores its result if nothing
+ * was invalidated while it ran.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class BoundedCache<K, V> {
+
+	/**
+	 * Loads a missing value.
+	 */
+	@FunctionalInterface
+	public interface Loader<V, E extends Exception> {
+		V load() throws E;
+	}
+
+	/**
+	 * Loads many missing values at once.
+	 */
+	@FunctionalInterface
+	public interface BulkLoader<K, V, E extends Exception> {
+		/**
+		 * @return The values found; keys without a value may be left out.
+		 */
+		Map<K, V> load(List<K> keys) throws E;
+	}
+
+	private static final class Entry<V> {
+		final V value;
+		final long expiresAt;
+
+		Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final String name;
+	private final int maxSize;
+	private final long ttlNanos;
+	private final LongSupplier clock;
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long generation;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long expirations;
+
+	/**
+	 * @param name      Name shown in the statistics.
+	 * @param maxSize   Maximum number of entries, 0 to disable the cache.
+	 * @param ttlMillis Time to live of an entry in milliseconds.
+	 */
+	public BoundedCache(String name, int maxSize, long ttlMillis) {
+		this(name, maxSize, ttlMillis, System::nanoTime);
+	}
+
+	BoundedCache(String name, int maxSize, long ttlMillis, LongSupplier clock) {
+		this.name = name;
+		this.maxSize = Math.max(0, maxSize);
+		this.ttlNanos = ttlMillis * 1_000_000;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return The cached value, or null if absent or expired.
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null && clock.getAsLong() - entry.expiresAt >= 0) {
+			entries.remove(key);
+			expirations++;
+			entry = null;
+		}
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	/**
+	 * Returns the cached value or loads, caches and returns it. Null results
+	 * are not cached.
+	 */
+	public <E extends Exception> V getOrLoad(K key, Loader<V, E> loader) throws E {
+		long stamp;
+		synchronized (this) {
+			V cached = get(key);
+			if (cached != null) {
+				return cached;
+			}
+			stamp = generation;
+		}
+		V value = loader.load();
+		if (value != null) {
+			putIfUnchanged(key, value, stamp);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cached values and loads all missing ones with one call of
+	 * the loader, caching its non-null results like {@link #getOrLoad}.
+	 *
+	 * @return The values by key in the order of the keys; keys without a
+	 *         value have no entry.
+	 */
+	public <E extends Exception> Map<K, V> getAllOrLoad(Collection<K> keys, BulkLoader<K, V, E> loader) throws E {
+		Map<K, V> found = new HashMap<>();
+		List<K> missing = new ArrayList<>();
+		long stamp;
+		synchronized (this) {
+			for (K key : new LinkedHashSet<>(keys)) {
+				V cached = get(key);
+				if (cached != null) {
+					found.put(key, cached);
+				} else {
+					missing.add(key);
+				}
+			}
+			stamp = generation;
+		}
+		if (!missing.isEmpty()) {
+			Map<K, V> loaded = loader.load(missing);
+			for (K key : missing) {
+				V value = loaded.get(key);
+				if (value != null) {
+					found.put(key, value);
+					putIfUnchanged(key, value, stamp);
+				}
+			}
+		}
+
+		Map<K, V> values = new LinkedHashMap<>();
+		for (K key : keys) {
+			V value = found.get(key);
+			if (value != null) {
+				values.put(key, value);
+			}
+		}
+		return values;
+	}
+
+	public synchronized void put(K key, V value) {
+		putIfUnchanged(key, value, generation);
+	}
+
+	private synchronized void putIfUnchanged(K key, V value, long stamp) {
+		if (maxSize == 0 || stamp != generation) {
+			return;
+		}
+		entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+		if (entries.size() > maxSize) {
+			Iterator<K> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void invalidate(K key) {
+		generation++;
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes every entry matching the predicate.
+	 */
+	public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+		generation++;
+		entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value));
+	}
+
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized CacheStats getStats() {
+		return new CacheStats(name, hits, misses, evictions, expirations, entries.size());
+	}
+
+	/**
+	 * Entries of the map in least recently used order, for tests.
+	 */
+	synchronized Map<K, V> snapshot() {
+		Map<K, V> copy = new LinkedHashMap<>();
+		for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+			copy.put(entry.getKey(), entry.getValue().value);
+		}
+		return copy;
+	}
+
+}
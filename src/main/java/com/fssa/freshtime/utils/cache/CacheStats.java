@@ -0,0 +1,69 @@
+package com.fssa.freshtime.utils.cache;
+
+/**
+ * Point-in-time counters of a {@link BoundedCache}.
+ */
+public class CacheStats {
+
+	private final String name;
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+	private final long expirations;
+	private final int size;
+
+	public CacheStats(String name, long hits, long misses, long evictions, long expirations, int size) {
+		this.name = name;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.expirations = expirations;
+		this.size = size;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return Entries dropped because the cache was full.
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return Entries dropped because they outlived the time to live.
+	 */
+	public long getExpirations() {
+		return expirations;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return Hits divided by lookups, or 0 before the first lookup.
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [name=" + name + ", hits=" + hits + ", misses=" + misses + ", hitRate="
+				+ String.format("%.3f", getHitRate()) + ", evictions=" + evictions + ", expirations=" + expirations
+				+ ", size=" + size + "]";
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.fssa.freshtime.utils.cache;
+
+/**
+ * Point-in-time counters of a {@link SingleFlight}.
+ */
+public class FlightStats {
+
+	private final String name;
+	private final long calls;
+	private final long coalesced;
+	private final int inFlight;
+
+	public FlightStats(String name, long calls, long coalesced, int inFlight) {
+		this.name = name;
+		this.calls = calls;
+		this.coalesced = coalesced;
+		this.inFlight = inFlight;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	/**
+	 * @return Calls that waited for another call's load instead of loading.
+	 */
+	public long getCoalesced() {
+		return coalesced;
+	}
+
+	/**
+	 * @return Loads running when the counters were read.
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * @return Coalesced calls divided by calls, or 0 before the first call.
+	 */
+	public double getCoalescedRate() {
+		return calls == 0 ? 0 : (double) coalesced / calls;
+	}
+
+	@Override
+	public String toString() {
+		return "FlightStats [name=" + name + ", calls=" + calls + ", coalesced=" + coalesced + ", coalescedRate="
+				+ String.format("%.3f", getCoalescedRate()) + ", inFlight=" + inFlight + "]";
+	}
+
+}
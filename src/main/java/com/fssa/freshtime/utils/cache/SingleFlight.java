@@ -0,0 +1,103 @@
+package com.fssa.freshtime.utils.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent loads of the same key into one.
+ *
+ * The first caller of a key runs its loader; callers that arrive while it is
+ * running wait for it and get the same result or exception instead of running
+ * their own. Nothing is kept once the load ends, so the next call loads
+ * again. Callers of one instance must pass equivalent loaders for a key, and
+ * share the result, so mutable values should be copied by the caller.
+ *
+ * Waiting callers are not interrupted; they wait for the running load to end.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class SingleFlight<K, V> {
+
+	private final String name;
+	private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * @param name Name shown in the statistics.
+	 */
+	public SingleFlight(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Runs the loader, or waits for the load of the key already running.
+	 *
+	 * @return The loaded value.
+	 * @throws E The exception the load threw.
+	 */
+	public <E extends Exception> V execute(K key, BoundedCache.Loader<V, E> loader) throws E {
+		calls.increment();
+		CompletableFuture<V> flight = new CompletableFuture<>();
+		CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+		if (running != null) {
+			coalesced.increment();
+			return await(running);
+		}
+
+		try {
+			V value = loader.load();
+			flights.remove(key, flight);
+			flight.complete(value);
+			return value;
+		} catch (Exception | Error e) {
+			flights.remove(key, flight);
+			flight.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Lets the next call of the key load again even if a load is running, for
+	 * example after the value was changed. Callers already waiting still get
+	 * the running load's result.
+	 */
+	public void forget(K key) {
+		flights.remove(key);
+	}
+
+	public FlightStats getStats() {
+		return new FlightStats(name, calls.sum(), coalesced.sum(), flights.size());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V, E extends Exception> V await(CompletableFuture<V> flight) throws E {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return flight.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw (E) cause;
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
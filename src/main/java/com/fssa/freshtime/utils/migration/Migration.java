@@ -0,0 +1,79 @@
+package com.fssa.freshtime.utils.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One versioned migration script, named {@code V<version>__<description>.sql}.
+ */
+public final class Migration {
+
+	private static final Pattern NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+	private final int version;
+	private final String description;
+	private final String script;
+	private final String checksum;
+
+	Migration(int version, String description, String script) {
+		this.version = version;
+		this.description = description;
+		this.script = script;
+		this.checksum = checksum(script);
+	}
+
+	/**
+	 * @param fileName The script file name.
+	 * @param script   The script text.
+	 * @return The migration.
+	 * @throws IllegalArgumentException If the file name does not follow the
+	 *                                  naming pattern.
+	 */
+	static Migration of(String fileName, String script) {
+		Matcher matcher = NAME.matcher(fileName);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Invalid migration file name: " + fileName);
+		}
+		return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), script);
+	}
+
+	/**
+	 * SHA-256 of the script with line endings normalised, so a checkout with
+	 * CRLF endings does not look like an edited migration.
+	 */
+	static String checksum(String script) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getScript() {
+		return script;
+	}
+
+	public String getChecksum() {
+		return checksum;
+	}
+
+	@Override
+	public String toString() {
+		return "V" + version + " " + description;
+	}
+
+}
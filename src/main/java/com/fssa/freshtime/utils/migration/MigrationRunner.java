@@ -0,0 +1,171 @@
+package com.fssa.freshtime.utils.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fssa.freshtime.utils.Logger;
+import com.fssa.freshtime.utils.SqlScript;
+
+/**
+ * Applies the versioned migrations in {@code src/main/sql/migrations} in
+ * order and records them in the {@code schema_migrations} table.
+ *
+ * The scripts to run are listed in {@code index.txt} next to them. Each
+ * applied migration is stored with a SHA-256 checksum of its script; if an
+ * applied script has since been edited, startup fails instead of running
+ * against a schema that no longer matches the files. On MySQL a named lock
+ * keeps two application instances from migrating at the same time.
+ *
+ * MySQL commits every DDL statement on its own, so a migration that fails
+ * halfway can leave its earlier statements applied. Keep one change per
+ * statement and write new migrations so they can be re-run after a fix.
+ */
+public class MigrationRunner {
+
+	public static final String LOCATION = "sql/migrations/";
+	private static final String INDEX = LOCATION + "index.txt";
+	private static final String LOCK_NAME = "freshtime_schema_migrations";
+	private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+	private static final String CREATE_HISTORY = "CREATE TABLE IF NOT EXISTS schema_migrations ("
+			+ "version INT PRIMARY KEY NOT NULL, description VARCHAR(255) NOT NULL, checksum CHAR(64) NOT NULL, "
+			+ "installed_on DATETIME NOT NULL, execution_ms INT NOT NULL)";
+
+	private final List<Migration> migrations;
+
+	public MigrationRunner(List<Migration> migrations) {
+		List<Migration> sorted = new ArrayList<>(migrations);
+		sorted.sort(Comparator.comparingInt(Migration::getVersion));
+		for (int i = 1; i < sorted.size(); i++) {
+			if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+				throw new IllegalArgumentException("Duplicate migration version: V" + sorted.get(i).getVersion());
+			}
+		}
+		this.migrations = sorted;
+	}
+
+	/**
+	 * @return A runner for the migrations listed in the classpath index.
+	 * @throws SQLException If the index or a listed script cannot be read.
+	 */
+	public static MigrationRunner fromClasspath() throws SQLException {
+		List<Migration> migrations = new ArrayList<>();
+		for (String line : SqlScript.read(INDEX).split("\r?\n")) {
+			String fileName = line.trim();
+			if (!fileName.isEmpty() && !fileName.startsWith("#")) {
+				migrations.add(Migration.of(fileName, SqlScript.read(LOCATION + fileName)));
+			}
+		}
+		return new MigrationRunner(migrations);
+	}
+
+	public List<Migration> getMigrations() {
+		return migrations;
+	}
+
+	/**
+	 * Applies every migration that has not been applied yet.
+	 *
+	 * @param connection The connection to migrate through, in auto-commit mode.
+	 * @return The number of migrations applied.
+	 * @throws SQLException If a migration fails or an applied migration was
+	 *                      edited.
+	 */
+	public int migrate(Connection connection) throws SQLException {
+		boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+		if (mysql) {
+			lock(connection);
+		}
+		try {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute(CREATE_HISTORY);
+			}
+			Map<Integer, String> applied = readApplied(connection);
+
+			int count = 0;
+			for (Migration migration : migrations) {
+				String checksum = applied.remove(migration.getVersion());
+				if (checksum == null) {
+					apply(connection, migration);
+					count++;
+				} else if (!checksum.equals(migration.getChecksum())) {
+					throw new SQLException("Checksum mismatch for applied migration " + migration
+							+ ": the script was edited after it ran");
+				}
+			}
+			for (Integer version : applied.keySet()) {
+				Logger.info("Database has migration V" + version + " which this build does not know about");
+			}
+			if (count > 0) {
+				Logger.info("Applied " + count + " schema migration(s)");
+			}
+			return count;
+		} finally {
+			if (mysql) {
+				unlock(connection);
+			}
+		}
+	}
+
+	private static Map<Integer, String> readApplied(Connection connection) throws SQLException {
+		Map<Integer, String> applied = new HashMap<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+			while (rs.next()) {
+				applied.put(rs.getInt("version"), rs.getString("checksum"));
+			}
+		}
+		return applied;
+	}
+
+	private static void apply(Connection connection, Migration migration) throws SQLException {
+		Logger.info("Applying schema migration " + migration);
+		long start = System.nanoTime();
+		try {
+			SqlScript.execute(connection, migration.getScript());
+		} catch (SQLException e) {
+			throw new SQLException("Migration " + migration + " failed: " + e.getMessage(), e.getSQLState(), e);
+		}
+		int elapsedMillis = (int) ((System.nanoTime() - start) / 1_000_000);
+
+		String insertQuery = "INSERT INTO schema_migrations (version, description, checksum, installed_on, execution_ms) VALUES (?, ?, ?, ?, ?)";
+		try (PreparedStatement psmt = connection.prepareStatement(insertQuery)) {
+			psmt.setInt(1, migration.getVersion());
+			psmt.setString(2, migration.getDescription());
+			psmt.setString(3, migration.getChecksum());
+			psmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+			psmt.setInt(5, elapsedMillis);
+			psmt.executeUpdate();
+		}
+	}
+
+	private static void lock(Connection connection) throws SQLException {
+		try (PreparedStatement psmt = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+			psmt.setString(1, LOCK_NAME);
+			psmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+			try (ResultSet rs = psmt.executeQuery()) {
+				if (!rs.next() || rs.getInt(1) != 1) {
+					throw new SQLException("Timed out waiting for the schema migration lock");
+				}
+			}
+		}
+	}
+
+	private static void unlock(Connection connection) throws SQLException {
+		try (PreparedStatement psmt = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+			psmt.setString(1, LOCK_NAME);
+			psmt.executeQuery().close();
+		}
+	}
+
+}
@@ -0,0 +1,426 @@
+package com.fssa.freshtime.utils.pool;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fssa.freshtime.utils.Logger;
+
+/**
+ * A small blocking JDBC connection pool.
+ *
+ * Connections are opened lazily up to {@code maxSize}, validated when they
+ * have been idle for a while, and handed back to the pool when the caller
+ * closes them. A background housekeeper keeps {@code minSize} connections
+ * open, closes connections that stayed idle past the idle timeout, and
+ * reports borrowed connections that look leaked.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+	private final PoolConfig config;
+
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private final Condition available = lock.newCondition();
+
+	/** Most recently returned connection first. */
+	private final Deque<PooledEntry> idle = new ArrayDeque<>();
+	private final Set<PooledEntry> borrowed = new HashSet<>();
+	private int total;
+	private int waiters;
+	private boolean closed;
+
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong destroyed = new AtomicLong();
+	private final AtomicLong borrowTimeouts = new AtomicLong();
+	private final AtomicLong leaksDetected = new AtomicLong();
+	private final AtomicLong statementCacheHits = new AtomicLong();
+	private final AtomicLong statementCacheMisses = new AtomicLong();
+
+	private final ScheduledExecutorService housekeeper;
+
+	public ConnectionPool(PoolConfig config) {
+		if (config.getMaxSize() < 1 || config.getMinSize() < 0 || config.getMinSize() > config.getMaxSize()) {
+			throw new IllegalArgumentException("Invalid pool size: " + config);
+		}
+		this.config = config;
+
+		if (config.getDriverClassName() != null) {
+			try {
+				Class.forName(config.getDriverClassName());
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException("JDBC driver not found: " + config.getDriverClassName(), e);
+			}
+		}
+
+		this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "freshtime-pool-housekeeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0, config.getHousekeepingIntervalMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrows a connection, waiting up to the borrow timeout when every
+	 * connection is in use. Closing the returned connection gives it back.
+	 *
+	 * @return A validated connection.
+	 * @throws SQLException If no connection could be obtained in time or the
+	 *                      database refused a new connection.
+	 */
+	public Connection getConnection() throws SQLException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getBorrowTimeoutMillis());
+
+		while (true) {
+			PooledEntry entry = acquire(deadline);
+
+			if (entry == null) {
+				entry = open();
+			} else if (!isAlive(entry)) {
+				discard(entry);
+				continue;
+			}
+			return lend(entry);
+		}
+	}
+
+	/**
+	 * Takes an idle entry, or reserves a slot for a new connection (returning
+	 * null), or waits until one of the two becomes possible.
+	 */
+	private PooledEntry acquire(long deadline) throws SQLException {
+		lock.lock();
+		try {
+			while (true) {
+				if (closed) {
+					throw new SQLException("Connection pool is closed");
+				}
+				PooledEntry entry = idle.pollFirst();
+				if (entry != null) {
+					return entry;
+				}
+				if (total < config.getMaxSize()) {
+					total++;
+					return null;
+				}
+
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					borrowTimeouts.incrementAndGet();
+					throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMillis()
+							+ "ms waiting for a database connection (active=" + borrowed.size() + ", max="
+							+ config.getMaxSize() + ", waiters=" + waiters + ")");
+				}
+
+				waiters++;
+				try {
+					available.awaitNanos(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while waiting for a database connection", e);
+				} finally {
+					waiters--;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** Opens a physical connection for a slot reserved by {@link #acquire}. */
+	private PooledEntry open() throws SQLException {
+		try {
+			Connection connection = DriverManager.getConnection(config.getUrl(), connectionProperties());
+			created.incrementAndGet();
+			Logger.info("Connected to db");
+			StatementCache statementCache = config.getStatementCacheSize() > 0
+					? new StatementCache(config.getStatementCacheSize(), statementCacheHits, statementCacheMisses)
+					: null;
+			return new PooledEntry(connection, statementCache, System.currentTimeMillis());
+		} catch (SQLException | RuntimeException e) {
+			freeSlot();
+			throw e;
+		}
+	}
+
+	private Properties connectionProperties() {
+		Properties properties = new Properties();
+		if (config.getUserName() != null) {
+			properties.setProperty("user", config.getUserName());
+		}
+		if (config.getPassword() != null) {
+			properties.setProperty("password", config.getPassword());
+		}
+		// Connector/J prepares on the client unless told otherwise, which would
+		// leave nothing for the statement cache to save. Settings in the URL
+		// still take precedence.
+		if (config.getStatementCacheSize() > 0 && config.getUrl() != null && config.getUrl().startsWith("jdbc:mysql:")) {
+			properties.setProperty("useServerPrepStmts", "true");
+		}
+		return properties;
+	}
+
+	private boolean isAlive(PooledEntry entry) {
+		if (entry.broken) {
+			return false;
+		}
+		if (System.currentTimeMillis() - entry.lastUsedAt < config.getValidationIntervalMillis()) {
+			return true;
+		}
+		try {
+			return entry.connection.isValid(config.getValidationTimeoutSeconds());
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private Connection lend(PooledEntry entry) {
+		entry.borrowedAt = System.currentTimeMillis();
+		entry.leakReported = false;
+		entry.borrowSite = config.getLeakDetectionThresholdMillis() > 0
+				? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+				: null;
+
+		lock.lock();
+		try {
+			borrowed.add(entry);
+		} finally {
+			lock.unlock();
+		}
+		return PooledConnectionHandler.newProxy(this, entry);
+	}
+
+	/**
+	 * Called when a caller closes its connection. Resets the session state
+	 * the caller may have changed and puts the connection back.
+	 */
+	void release(PooledEntry entry) {
+		if (entry.statementCache != null) {
+			entry.statementCache.release();
+		}
+
+		boolean reusable = !entry.broken;
+		if (reusable) {
+			try {
+				if (!entry.connection.getAutoCommit()) {
+					entry.connection.rollback();
+					entry.connection.setAutoCommit(true);
+				}
+				if (entry.connection.isReadOnly()) {
+					entry.connection.setReadOnly(false);
+				}
+				entry.connection.clearWarnings();
+			} catch (SQLException e) {
+				reusable = false;
+			}
+		}
+
+		lock.lock();
+		try {
+			borrowed.remove(entry);
+			entry.borrowSite = null;
+			if (reusable && !closed) {
+				entry.lastUsedAt = System.currentTimeMillis();
+				idle.addFirst(entry);
+				available.signal();
+				return;
+			}
+		} finally {
+			lock.unlock();
+		}
+		discard(entry);
+	}
+
+	/** Closes a connection that has already been removed from idle/borrowed. */
+	private void discard(PooledEntry entry) {
+		closeQuietly(entry);
+		freeSlot();
+	}
+
+	private void freeSlot() {
+		lock.lock();
+		try {
+			total--;
+			available.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void closeQuietly(PooledEntry entry) {
+		if (entry.statementCache != null) {
+			entry.statementCache.clear();
+		}
+		try {
+			entry.connection.close();
+		} catch (SQLException e) {
+			Logger.info("Error while closing pooled connection: " + e.getMessage());
+		}
+		destroyed.incrementAndGet();
+	}
+
+	/**
+	 * Evicts idle connections, reports leaks and tops the pool up to
+	 * {@code minSize}.
+	 */
+	void housekeep() {
+		try {
+			evictIdle();
+			detectLeaks();
+			fillToMinimum();
+		} catch (RuntimeException e) {
+			Logger.info("Connection pool housekeeping failed: " + e.getMessage());
+		}
+	}
+
+	private void evictIdle() {
+		long now = System.currentTimeMillis();
+		List<PooledEntry> evicted = new ArrayList<>();
+
+		lock.lock();
+		try {
+			Iterator<PooledEntry> oldestFirst = idle.descendingIterator();
+			while (oldestFirst.hasNext() && total - evicted.size() > config.getMinSize()) {
+				PooledEntry entry = oldestFirst.next();
+				if (now - entry.lastUsedAt > config.getIdleTimeoutMillis()) {
+					oldestFirst.remove();
+					evicted.add(entry);
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		for (PooledEntry entry : evicted) {
+			discard(entry);
+		}
+	}
+
+	private void detectLeaks() {
+		long threshold = config.getLeakDetectionThresholdMillis();
+		if (threshold <= 0) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		List<PooledEntry> leaked = new ArrayList<>();
+
+		lock.lock();
+		try {
+			for (PooledEntry entry : borrowed) {
+				if (!entry.leakReported && now - entry.borrowedAt > threshold) {
+					entry.leakReported = true;
+					leaked.add(entry);
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		for (PooledEntry entry : leaked) {
+			leaksDetected.incrementAndGet();
+			Throwable site = entry.borrowSite;
+			StringWriter trace = new StringWriter();
+			if (site != null) {
+				site.printStackTrace(new PrintWriter(trace));
+			}
+			Logger.info("Possible connection leak: connection held for " + (now - entry.borrowedAt) + "ms\n" + trace);
+		}
+	}
+
+	private void fillToMinimum() {
+		while (true) {
+			lock.lock();
+			try {
+				if (closed || total >= config.getMinSize()) {
+					return;
+				}
+				total++;
+			} finally {
+				lock.unlock();
+			}
+
+			PooledEntry entry;
+			try {
+				entry = open();
+			} catch (SQLException e) {
+				Logger.info("Unable to pre-open database connection: " + e.getMessage());
+				return;
+			}
+
+			lock.lock();
+			try {
+				if (!closed) {
+					idle.addLast(entry);
+					available.signal();
+					continue;
+				}
+			} finally {
+				lock.unlock();
+			}
+			discard(entry);
+			return;
+		}
+	}
+
+	/**
+	 * @return A snapshot of the pool counters.
+	 */
+	public PoolStats getStats() {
+		lock.lock();
+		try {
+			return new PoolStats(borrowed.size(), idle.size(), waiters, total, created.get(), destroyed.get(),
+					borrowTimeouts.get(), leaksDetected.get(), statementCacheHits.get(), statementCacheMisses.get());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public PoolConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Closes every idle connection and stops handing out new ones. Borrowed
+	 * connections are closed when their borrowers give them back.
+	 */
+	@Override
+	public void close() {
+		List<PooledEntry> toClose;
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			toClose = new ArrayList<>(idle);
+			idle.clear();
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+
+		housekeeper.shutdownNow();
+		for (PooledEntry entry : toClose) {
+			discard(entry);
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+package com.fssa.freshtime.utils.pool;
+
+import com.fssa.freshtime.utils.DatabaseProfile;
+import com.fssa.freshtime.utils.Settings;
+
+/**
+ * Settings for the {@link ConnectionPool}.
+ *
+ * Every setting can be given as a system property (e.g.
+ * {@code -Dfreshtime.pool.maxSize=20}) or as an environment variable (e.g.
+ * {@code DATABASE_POOL_MAX_SIZE=20}). System properties win over environment
+ * variables.
+ */
+public class PoolConfig {
+
+	private String driverClassName = "com.mysql.cj.jdbc.Driver";
+	private String url;
+	private String userName;
+	private String password;
+
+	private int minSize = 2;
+	private int maxSize = 10;
+	private long idleTimeoutMillis = 600_000;
+	private long borrowTimeoutMillis = 30_000;
+	private long validationIntervalMillis = 500;
+	private int validationTimeoutSeconds = 5;
+	private long leakDetectionThresholdMillis = 0;
+	private long housekeepingIntervalMillis = 30_000;
+	private int statementCacheSize = 32;
+
+	/**
+	 * Builds the configuration from the DATABASE_* environment variables used by
+	 * the application, plus the optional pool settings. With the embedded
+	 * {@link DatabaseProfile} the DATABASE_* connection variables are ignored.
+	 *
+	 * @return The pool configuration.
+	 */
+	public static PoolConfig fromEnvironment() {
+		PoolConfig config = new PoolConfig();
+		DatabaseProfile profile = DatabaseProfile.current();
+
+		config.setDriverClassName(profile.getDriverClassName());
+		if (profile == DatabaseProfile.EMBEDDED) {
+			config.setUrl(Settings.get("freshtime.db.embeddedUrl", "FRESHTIME_EMBEDDED_DB_URL", profile.getDefaultUrl()));
+			config.setUserName("sa");
+			config.setPassword("");
+		} else {
+			config.setUrl(Settings.get("freshtime.db.url", "DATABASE_HOST", null));
+			config.setUserName(Settings.get("freshtime.db.username", "DATABASE_USERNAME", null));
+			config.setPassword(Settings.get("freshtime.db.password", "DATABASE_PASSWORD", null));
+		}
+
+		config.setMinSize(Settings.getInt("freshtime.pool.minSize", "DATABASE_POOL_MIN_SIZE", config.getMinSize()));
+		config.setMaxSize(Settings.getInt("freshtime.pool.maxSize", "DATABASE_POOL_MAX_SIZE", config.getMaxSize()));
+		config.setIdleTimeoutMillis(Settings.getLong("freshtime.pool.idleTimeoutMillis", "DATABASE_POOL_IDLE_TIMEOUT_MS",
+				config.getIdleTimeoutMillis()));
+		config.setBorrowTimeoutMillis(Settings.getLong("freshtime.pool.borrowTimeoutMillis",
+				"DATABASE_POOL_BORROW_TIMEOUT_MS", config.getBorrowTimeoutMillis()));
+		config.setValidationIntervalMillis(Settings.getLong("freshtime.pool.validationIntervalMillis",
+				"DATABASE_POOL_VALIDATION_INTERVAL_MS", config.getValidationIntervalMillis()));
+		config.setValidationTimeoutSeconds(Settings.getInt("freshtime.pool.validationTimeoutSeconds",
+				"DATABASE_POOL_VALIDATION_TIMEOUT_S", config.getValidationTimeoutSeconds()));
+		config.setLeakDetectionThresholdMillis(Settings.getLong("freshtime.pool.leakDetectionThresholdMillis",
+				"DATABASE_POOL_LEAK_DETECTION_MS", config.getLeakDetectionThresholdMillis()));
+		config.setHousekeepingIntervalMillis(Settings.getLong("freshtime.pool.housekeepingIntervalMillis",
+				"DATABASE_POOL_HOUSEKEEPING_MS", config.getHousekeepingIntervalMillis()));
+		config.setStatementCacheSize(Settings.getInt("freshtime.pool.statementCacheSize", "DATABASE_STATEMENT_CACHE_SIZE",
+				config.getStatementCacheSize()));
+
+		return config;
+	}
+
+	public String getDriverClassName() {
+		return driverClassName;
+	}
+
+	public void setDriverClassName(String driverClassName) {
+		this.driverClassName = driverClassName;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public void setUrl(String url) {
+		this.url = url;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	/** Number of connections the housekeeper keeps open even when idle. */
+	public void setMinSize(int minSize) {
+		this.minSize = minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/** Upper bound of open connections, borrowed and idle together. */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	/** Idle connections above {@code minSize} are closed after this long. */
+	public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	public long getBorrowTimeoutMillis() {
+		return borrowTimeoutMillis;
+	}
+
+	/** How long a caller waits for a free connection before giving up. */
+	public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+	}
+
+	public long getValidationIntervalMillis() {
+		return validationIntervalMillis;
+	}
+
+	/**
+	 * Connections used more recently than this are handed out without a
+	 * validation round trip.
+	 */
+	public void setValidationIntervalMillis(long validationIntervalMillis) {
+		this.validationIntervalMillis = validationIntervalMillis;
+	}
+
+	public int getValidationTimeoutSeconds() {
+		return validationTimeoutSeconds;
+	}
+
+	public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+		this.validationTimeoutSeconds = validationTimeoutSeconds;
+	}
+
+	public long getLeakDetectionThresholdMillis() {
+		return leakDetectionThresholdMillis;
+	}
+
+	/**
+	 * Connections held longer than this are reported together with the stack
+	 * trace of the borrower. Zero disables leak detection, which also skips the
+	 * stack capture on every borrow.
+	 */
+	public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+		this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+	}
+
+	public long getHousekeepingIntervalMillis() {
+		return housekeepingIntervalMillis;
+	}
+
+	public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) {
+		this.housekeepingIntervalMillis = housekeepingIntervalMillis;
+	}
+
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	/**
+	 * Prepared statements kept open per connection. Zero disables the cache.
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolConfig [url=" + url + ", userName=" + userName + ", minSize=" + minSize + ", maxSize=" + maxSize
+				+ ", idleTimeoutMillis=" + idleTimeoutMillis + ", borrowTimeoutMillis=" + borrowTimeoutMillis
+				+ ", leakDetectionThresholdMillis=" + leakDetectionThresholdMillis + ", statementCacheSize="
+				+ statementCacheSize + "]";
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.fssa.freshtime.utils.pool;
+
+/**
+ * Point-in-time snapshot of the {@link ConnectionPool} counters.
+ */
+public class PoolStats {
+
+	private final int active;
+	private final int idle;
+	private final int waiters;
+	private final int total;
+	private final long created;
+	private final long destroyed;
+	private final long borrowTimeouts;
+	private final long leaksDetected;
+	private final long statementCacheHits;
+	private final long statementCacheMisses;
+
+	PoolStats(int active, int idle, int waiters, int total, long created, long destroyed, long borrowTimeouts,
+			long leaksDetected, long statementCacheHits, long statementCacheMisses) {
+		this.active = active;
+		this.idle = idle;
+		this.waiters = waiters;
+		this.total = total;
+		this.created = created;
+		this.destroyed = destroyed;
+		this.borrowTimeouts = borrowTimeouts;
+		this.leaksDetected = leaksDetected;
+		this.statementCacheHits = statementCacheHits;
+		this.statementCacheMisses = statementCacheMisses;
+	}
+
+	/** Connections currently borrowed by callers. */
+	public int getActive() {
+		return active;
+	}
+
+	/** Open connections waiting in the pool. */
+	public int getIdle() {
+		return idle;
+	}
+
+	/** Callers blocked waiting for a connection. */
+	public int getWaiters() {
+		return waiters;
+	}
+
+	/** Open connections, including those being opened right now. */
+	public int getTotal() {
+		return total;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public long getDestroyed() {
+		return destroyed;
+	}
+
+	public long getBorrowTimeouts() {
+		return borrowTimeouts;
+	}
+
+	public long getLeaksDetected() {
+		return leaksDetected;
+	}
+
+	/** Prepared statements served from a connection's statement cache. */
+	public long getStatementCacheHits() {
+		return statementCacheHits;
+	}
+
+	/** Prepared statements that had to be prepared on the server. */
+	public long getStatementCacheMisses() {
+		return statementCacheMisses;
+	}
+
+	public double getStatementCacheHitRate() {
+		long lookups = statementCacheHits + statementCacheMisses;
+		return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStats [active=" + active + ", idle=" + idle + ", waiters=" + waiters + ", total=" + total
+				+ ", created=" + created + ", destroyed=" + destroyed + ", borrowTimeouts=" + borrowTimeouts
+				+ ", leaksDetected=" + leaksDetected + ", statementCacheHits=" + statementCacheHits
+				+ ", statementCacheMisses=" + statementCacheMisses + "]";
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.fssa.freshtime.utils.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Backs the {@link Connection} handed to callers. Closing it gives the
+ * physical connection back to the pool instead of closing the socket, and any
+ * use after close fails like a real closed connection would.
+ */
+final class PooledConnectionHandler implements InvocationHandler {
+
+	private final ConnectionPool pool;
+	private final PooledEntry entry;
+	private boolean closed;
+
+	private PooledConnectionHandler(ConnectionPool pool, PooledEntry entry) {
+		this.pool = pool;
+		this.entry = entry;
+	}
+
+	static Connection newProxy(ConnectionPool pool, PooledEntry entry) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+				new PooledConnectionHandler(pool, entry));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch (method.getName()) {
+		case "close":
+			if (!closed) {
+				closed = true;
+				pool.release(entry);
+			}
+			return null;
+		case "isClosed":
+			return closed || entry.connection.isClosed();
+		case "equals":
+			return proxy == args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "toString":
+			return "PooledConnection[" + entry.connection + (closed ? ", closed]" : "]");
+		default:
+			break;
+		}
+
+		if (closed) {
+			throw new SQLException("Connection is closed", "08003");
+		}
+
+		if (entry.statementCache != null && isCacheablePrepare(method, args)) {
+			int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+			try {
+				return entry.statementCache.prepare(entry.connection, (Connection) proxy, (String) args[0],
+						autoGeneratedKeys);
+			} catch (SQLException e) {
+				if (isFatal(e)) {
+					entry.broken = true;
+				}
+				throw e;
+			}
+		}
+
+		try {
+			return method.invoke(entry.connection, args);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+				entry.broken = true;
+			}
+			throw cause;
+		}
+	}
+
+	/**
+	 * Only {@code prepareStatement(sql)} and
+	 * {@code prepareStatement(sql, autoGeneratedKeys)} are cached; statements
+	 * with custom result set types or holdability are prepared directly.
+	 */
+	private static boolean isCacheablePrepare(Method method, Object[] args) {
+		if (!"prepareStatement".equals(method.getName())) {
+			return false;
+		}
+		Class<?>[] types = method.getParameterTypes();
+		return types.length == 1 || (types.length == 2 && types[1] == int.class);
+	}
+
+	/**
+	 * SQL state class 08 means the connection itself is gone, so it must not go
+	 * back into the pool.
+	 */
+	static boolean isFatal(SQLException e) {
+		String state = e.getSQLState();
+		return state != null && state.startsWith("08");
+	}
+
+}
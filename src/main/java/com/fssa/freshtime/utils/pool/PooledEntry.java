@@ -0,0 +1,27 @@
+package com.fssa.freshtime.utils.pool;
+
+import java.sql.Connection;
+
+/**
+ * Book-keeping for one physical connection owned by the pool.
+ */
+final class PooledEntry {
+
+	final Connection connection;
+	final long createdAt;
+	final StatementCache statementCache;
+
+	long lastUsedAt;
+	long borrowedAt;
+	Throwable borrowSite;
+	boolean leakReported;
+	volatile boolean broken;
+
+	PooledEntry(Connection connection, StatementCache statementCache, long now) {
+		this.connection = connection;
+		this.statementCache = statementCache;
+		this.createdAt = now;
+		this.lastUsedAt = now;
+	}
+
+}
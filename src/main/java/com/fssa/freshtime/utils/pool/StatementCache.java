@@ -0,0 +1,218 @@
+package com.fssa.freshtime.utils.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the prepared statements of one physical connection open between
+ * borrows, keyed by SQL text, so the fixed DAO queries are parsed and
+ * prepared once per connection instead of once per call.
+ *
+ * Statements handed out from the cache go back into it when the caller closes
+ * them. The least recently used statement is closed once the cache is full.
+ */
+final class StatementCache {
+
+	/** Statement settings that would leak into the next caller if cached. */
+	private static final Set<String> SETTING_CHANGES = Set.of("setFetchSize", "setFetchDirection", "setMaxRows",
+			"setLargeMaxRows", "setMaxFieldSize", "setQueryTimeout", "setEscapeProcessing", "setCursorName",
+			"setPoolable", "closeOnCompletion");
+
+	private record StatementKey(String sql, int autoGeneratedKeys) {
+	}
+
+	private final int maxSize;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final LinkedHashMap<StatementKey, CachedStatement> statements;
+
+	StatementCache(int maxSize, AtomicLong hits, AtomicLong misses) {
+		this.maxSize = maxSize;
+		this.hits = hits;
+		this.misses = misses;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+				if (size() <= StatementCache.this.maxSize) {
+					return false;
+				}
+				eldest.getValue().evict();
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached statement for the SQL text, preparing it on a miss. If
+	 * the cached statement is still open by the same caller a plain uncached
+	 * statement is returned instead.
+	 */
+	synchronized PreparedStatement prepare(Connection physical, Connection owner, String sql, int autoGeneratedKeys)
+			throws SQLException {
+		StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+		CachedStatement cached = statements.get(key);
+
+		if (cached != null && !cached.inUse) {
+			hits.incrementAndGet();
+			cached.checkout(owner);
+			return cached.proxy;
+		}
+
+		misses.incrementAndGet();
+		PreparedStatement statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+				? physical.prepareStatement(sql)
+				: physical.prepareStatement(sql, autoGeneratedKeys);
+		if (cached != null) {
+			return statement;
+		}
+
+		cached = new CachedStatement(key, statement);
+		cached.checkout(owner);
+		statements.put(key, cached);
+		return cached.proxy;
+	}
+
+	/**
+	 * Called when the connection goes back to the pool. Statements the caller
+	 * forgot to close are dropped, since their state is unknown.
+	 */
+	synchronized void release() {
+		Iterator<CachedStatement> iterator = statements.values().iterator();
+		while (iterator.hasNext()) {
+			CachedStatement cached = iterator.next();
+			if (cached.inUse) {
+				iterator.remove();
+				cached.inUse = false;
+				cached.evict();
+			}
+			cached.owner = null;
+		}
+	}
+
+	synchronized void clear() {
+		List<CachedStatement> all = new ArrayList<>(statements.values());
+		statements.clear();
+		for (CachedStatement cached : all) {
+			cached.evict();
+		}
+	}
+
+	synchronized int size() {
+		return statements.size();
+	}
+
+	private synchronized void checkin(CachedStatement cached) {
+		cached.inUse = false;
+		cached.owner = null;
+		if (cached.evicted) {
+			cached.closePhysical();
+			return;
+		}
+		if (cached.settingsChanged) {
+			statements.remove(cached.key);
+			cached.evicted = true;
+			cached.closePhysical();
+			return;
+		}
+		try {
+			cached.statement.clearParameters();
+			cached.statement.clearBatch();
+		} catch (SQLException e) {
+			statements.remove(cached.key);
+			cached.evicted = true;
+			cached.closePhysical();
+		}
+	}
+
+	private final class CachedStatement implements InvocationHandler {
+
+		final StatementKey key;
+		final PreparedStatement statement;
+		final PreparedStatement proxy;
+		Connection owner;
+		boolean inUse;
+		boolean evicted;
+		boolean settingsChanged;
+
+		CachedStatement(StatementKey key, PreparedStatement statement) {
+			this.key = key;
+			this.statement = statement;
+			this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, this);
+		}
+
+		void checkout(Connection owner) {
+			this.owner = owner;
+			this.inUse = true;
+		}
+
+		/** Removed from the cache; closed now, or on checkin if still in use. */
+		void evict() {
+			evicted = true;
+			if (!inUse) {
+				closePhysical();
+			}
+		}
+
+		void closePhysical() {
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				// The statement is being thrown away anyway.
+			}
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "close":
+				if (inUse) {
+					checkin(this);
+				}
+				return null;
+			case "isClosed":
+				return !inUse || statement.isClosed();
+			case "getConnection":
+				return owner;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "CachedStatement[" + key.sql() + "]";
+			default:
+				break;
+			}
+
+			if (!inUse) {
+				throw new SQLException("Statement is closed");
+			}
+			if (SETTING_CHANGES.contains(name)) {
+				settingsChanged = true;
+			}
+
+			try {
+				return method.invoke(statement, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.fssa.freshtime.validators;
+
+import com.fssa.freshtime.validators.contants.ValidatorConstants;
+import com.fssa.freshtime.validators.errors.UserErrors;
+
+/**
+ * Password and email rules checked in a single pass over the characters,
+ * without regular expressions or allocation.
+ *
+ * The results match the regular expressions these checks replace, including
+ * their corner cases: the character classes are ASCII only, and a password
+ * containing a line terminator fails the digit rule first because
+ * {@code .*[0-9].*} cannot match across lines.
+ */
+public final class CredentialRules {
+
+	private static final int DIGIT = 1;
+	private static final int SPECIAL = 1 << 1;
+	private static final int UPPERCASE = 1 << 2;
+	private static final int LOWERCASE = 1 << 3;
+	private static final int WHITESPACE = 1 << 4;
+	private static final int LINE_TERMINATOR = 1 << 5;
+
+	private static final int EMAIL_LOCAL = 1;
+	private static final int EMAIL_DOMAIN = 1 << 1;
+	private static final int EMAIL_DOMAIN_END = 1 << 2;
+
+	/** Classes of the ASCII characters, indexed by char. */
+	private static final byte[] PASSWORD_CLASSES = new byte[128];
+	private static final byte[] EMAIL_CLASSES = new byte[128];
+
+	static {
+		for (char c = '0'; c <= '9'; c++) {
+			PASSWORD_CLASSES[c] = DIGIT;
+			EMAIL_CLASSES[c] = EMAIL_LOCAL | EMAIL_DOMAIN;
+		}
+		for (char c = 'A'; c <= 'Z'; c++) {
+			PASSWORD_CLASSES[c] = UPPERCASE;
+			PASSWORD_CLASSES[Character.toLowerCase(c)] = LOWERCASE;
+			EMAIL_CLASSES[c] = EMAIL_LOCAL | EMAIL_DOMAIN | EMAIL_DOMAIN_END;
+			EMAIL_CLASSES[Character.toLowerCase(c)] = EMAIL_LOCAL | EMAIL_DOMAIN | EMAIL_DOMAIN_END;
+		}
+		for (char c : "!@#$%^&*()_+{}[]:;\"'<>,.?/~".toCharArray()) {
+			PASSWORD_CLASSES[c] = SPECIAL;
+		}
+		for (char c : " \t\u000B\f".toCharArray()) {
+			PASSWORD_CLASSES[c] = WHITESPACE;
+		}
+		PASSWORD_CLASSES['\n'] = WHITESPACE | LINE_TERMINATOR;
+		PASSWORD_CLASSES['\r'] = WHITESPACE | LINE_TERMINATOR;
+
+		for (char c : "_!#$%&'*+/=?`{|}~^".toCharArray()) {
+			EMAIL_CLASSES[c] = EMAIL_LOCAL;
+		}
+		EMAIL_CLASSES['.'] = EMAIL_LOCAL | EMAIL_DOMAIN | EMAIL_DOMAIN_END;
+		EMAIL_CLASSES['-'] = EMAIL_LOCAL | EMAIL_DOMAIN | EMAIL_DOMAIN_END;
+	}
+
+	private CredentialRules() {
+	}
+
+	/**
+	 * @param password The password, not null.
+	 * @return The first broken rule as a {@link UserErrors} message, or null if
+	 *         the password is valid.
+	 */
+	public static String passwordError(String password) {
+		if (password.isEmpty()) {
+			return UserErrors.INVALID_PASSWORD_EMPTY;
+		}
+		if (password.length() < ValidatorConstants.MIN_PASSWORD_LEN) {
+			return UserErrors.INVALID_PASSWORD_LENGTH;
+		}
+
+		int seen = 0;
+		for (int i = 0; i < password.length(); i++) {
+			char c = password.charAt(i);
+			if (c < 128) {
+				seen |= PASSWORD_CLASSES[c];
+			} else if (c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				seen |= LINE_TERMINATOR;
+			}
+		}
+
+		if ((seen & LINE_TERMINATOR) != 0 || (seen & DIGIT) == 0) {
+			return UserErrors.INVALID_PASSWORD_DIGIT;
+		}
+		if ((seen & SPECIAL) == 0) {
+			return UserErrors.INVALID_PASSWORD_SPECIAL_CHAR;
+		}
+		if ((seen & UPPERCASE) == 0) {
+			return UserErrors.INVALID_PASSWORD_UPPERCASE;
+		}
+		if ((seen & LOWERCASE) == 0) {
+			return UserErrors.INVALID_PASSWORD_LOWERCASE;
+		}
+		if ((seen & WHITESPACE) != 0) {
+			return UserErrors.INVALID_PASSWORD_WHITESPACE;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks {@code local@domain}, where the domain has at least two
+	 * characters and does not end with a digit.
+	 *
+	 * @param emailId The email, not null.
+	 * @return True if the email has a valid format.
+	 */
+	public static boolean isValidEmail(String emailId) {
+		int at = -1;
+		for (int i = 0; i < emailId.length(); i++) {
+			char c = emailId.charAt(i);
+			if (c == '@') {
+				at = i;
+				break;
+			}
+			if (!hasEmailClass(c, EMAIL_LOCAL)) {
+				return false;
+			}
+		}
+		int length = emailId.length();
+		if (at < 1 || length - at - 1 < 2) {
+			return false;
+		}
+		for (int i = at + 1; i < length - 1; i++) {
+			if (!hasEmailClass(emailId.charAt(i), EMAIL_DOMAIN)) {
+				return false;
+			}
+		}
+		return hasEmailClass(emailId.charAt(length - 1), EMAIL_DOMAIN_END);
+	}
+
+	/**
+	 * @return True if the value is empty after {@link String#trim()}.
+	 */
+	public static boolean isBlank(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasEmailClass(char c, int emailClass) {
+		return c < 128 && (EMAIL_CLASSES[c] & emailClass) != 0;
+	}
+
+}
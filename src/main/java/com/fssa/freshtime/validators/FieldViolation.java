@@ -0,0 +1,35 @@
+package com.fssa.freshtime.validators;
+
+/**
+ * A rule broken by one field of a validated object.
+ */
+public class FieldViolation {
+
+	private final String field;
+	private final String message;
+
+	public FieldViolation(String field, String message) {
+		this.field = field;
+		this.message = message;
+	}
+
+	/**
+	 * @return The name of the field, as in the model class.
+	 */
+	public String getField() {
+		return field;
+	}
+
+	/**
+	 * @return The error message, one of the constants in the errors package.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return field + ": " + message;
+	}
+
+}
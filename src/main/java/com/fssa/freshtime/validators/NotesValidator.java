@@ -2,32 +2,42 @@ package com.fssa.freshtime.validators;
 
 import com.fssa.freshtime.exceptions.InvalidInputException;
 import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.validators.errors.NoteErrors;
 
 public class NotesValidator {
 	
 	public static boolean validateNotes(Note note) throws InvalidInputException {
-	    if (note == null) {
-	        throw new InvalidInputException("Note cannot be null");
-	    }
-
+	    check(note).throwIfInvalid();
+	    return true;
+	}
 
-	    if (note.getHeading() == null || note.getHeading().isEmpty()) {
-	        throw new InvalidInputException("Heading cannot be null or empty");
+	/**
+	 * Checks every field of a Note without throwing.
+	 *
+	 * @param note The note to be checked.
+	 * @return All violations, in the order {@link #validateNotes(Note)} checks
+	 *         them.
+	 */
+	public static ValidationResult check(Note note) {
+	    ValidationResult result = new ValidationResult();
+	    if (note == null) {
+	        return result.add("note", NoteErrors.NOTE_NULL);
 	    }
 
-	    if (note.getNotes() == null || note.getNotes().isEmpty()) {
-	        throw new InvalidInputException("Notes content cannot be null or empty");
-	    }
-	    
-	    return true;
+	    return result.add("heading", isEmpty(note.getHeading()) ? NoteErrors.INVALID_HEADING : null)
+	            .add("notes", isEmpty(note.getNotes()) ? NoteErrors.INVALID_NOTES_CONTENT : null);
 	}
 
 
     public static boolean validateCategory(String category) throws InvalidInputException {
-    	if (category == null || category.isEmpty()) {
-	        throw new InvalidInputException("Notes category cannot be null or empty");
+    	if (isEmpty(category)) {
+	        throw new InvalidInputException(NoteErrors.INVALID_CATEGORY);
 	    }
 		return true;
     }
 
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.fssa.freshtime.validators;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+
+/**
+ * Validates tasks and subtasks against an injected {@link Clock}, with the
+ * same rules as {@link TaskValidator}.
+ *
+ * Every call reads the clock once, so all objects of a batch are checked
+ * against the same point in time however long the batch takes. Batches of
+ * {@link #PARALLEL_THRESHOLD} or more objects are checked in parallel on the
+ * common fork-join pool; the results keep the input order.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public class TaskBatchValidator {
+
+	/** Smallest batch that is worth splitting across cores. */
+	public static final int PARALLEL_THRESHOLD = 512;
+
+	private final Clock clock;
+
+	/**
+	 * Validates against the system clock in the default time zone.
+	 */
+	public TaskBatchValidator() {
+		this(Clock.systemDefaultZone());
+	}
+
+	public TaskBatchValidator(Clock clock) {
+		this.clock = clock;
+	}
+
+	public ValidationResult check(Task task) {
+		return TaskValidator.check(task, LocalDateTime.now(clock));
+	}
+
+	public ValidationResult check(Subtask subtask) {
+		return TaskValidator.check(subtask, LocalDateTime.now(clock));
+	}
+
+	/**
+	 * @param tasks The tasks to check.
+	 * @return One result per task, in input order.
+	 */
+	public List<ValidationResult> checkTasks(List<Task> tasks) {
+		return checkAll(tasks, TaskValidator::check);
+	}
+
+	/**
+	 * @param subtasks The subtasks to check.
+	 * @return One result per subtask, in input order.
+	 */
+	public List<ValidationResult> checkSubtasks(List<Subtask> subtasks) {
+		return checkAll(subtasks, TaskValidator::check);
+	}
+
+	private <T> List<ValidationResult> checkAll(List<T> items,
+			BiFunction<T, LocalDateTime, ValidationResult> rules) {
+		LocalDateTime now = LocalDateTime.now(clock);
+		List<T> list = items instanceof RandomAccess ? items : new ArrayList<>(items);
+		ValidationResult[] results = new ValidationResult[items.size()];
+		IntStream indexes = IntStream.range(0, results.length);
+		if (results.length >= PARALLEL_THRESHOLD) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(i -> results[i] = rules.apply(list.get(i), now));
+		return Arrays.asList(results);
+	}
+
+}
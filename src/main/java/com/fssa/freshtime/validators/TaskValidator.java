@@ -6,11 +6,14 @@ import com.fssa.freshtime.exceptions.InvalidInputException;
 import com.fssa.freshtime.models.Subtask;
 import com.fssa.freshtime.models.Task;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 
 
 /**
  * TaskValidator class contains static methods to validate various properties of a Task object.
+ *
+ * Each call reads the system clock. To validate many objects against one
+ * point in time, or against a fixed clock, use {@link TaskBatchValidator}.
  */
 public class TaskValidator {
     /**
@@ -20,18 +23,62 @@ public class TaskValidator {
      * @return true if the Task is valid, otherwise throw InvalidInputException.
      */
     public static boolean validate(Task task) throws InvalidInputException {
+        check(task).throwIfInvalid();
+        return true;
+    }
+
+    /**
+     * Checks every field of a Task without throwing.
+     *
+     * @param task The Task object to be checked.
+     * @return All violations, in the order {@link #validate(Task)} checks them.
+     */
+    public static ValidationResult check(Task task) {
+        return check(task, LocalDateTime.now());
+    }
 
-        if(task == null){
-            throw new InvalidInputException(TaskErrors.TASK_NULL);
+    static ValidationResult check(Task task, LocalDateTime now) {
+        LocalDateTime currentTime = currentMinute(now);
+        ValidationResult result = new ValidationResult();
+        if (task == null) {
+            return result.add("task", TaskErrors.TASK_NULL);
         }
 
-        validateTaskName(task.getTaskName());
-        validateStartDate(task.getStartDate());
-        validateEndDate(task.getEndDate());
-        validateTaskNotes(task.getNotes());
-        validateReminder(task.getReminder());
+        return result.add("taskName", taskNameError(task.getTaskName()))
+                .add("startDate", dateError(task.getStartDate(), currentTime))
+                .add("endDate", dateError(task.getEndDate(), currentTime))
+                .add("notes", taskNotesError(task.getNotes()))
+                .add("reminder", reminderError(task.getReminder(), now));
+    }
 
-        return true;
+    /**
+     * Checks every field of a Subtask without throwing. The name and dates
+     * are required; notes and reminder are checked when present.
+     *
+     * @param subtask The Subtask object to be checked.
+     * @return All violations.
+     */
+    public static ValidationResult check(Subtask subtask) {
+        return check(subtask, LocalDateTime.now());
+    }
+
+    static ValidationResult check(Subtask subtask, LocalDateTime now) {
+        LocalDateTime currentTime = currentMinute(now);
+        ValidationResult result = new ValidationResult();
+        if (subtask == null) {
+            return result.add("subtask", TaskErrors.SUBTASK_NULL);
+        }
+
+        result.add("subtaskName", taskNameError(subtask.getSubtaskName()))
+                .add("startDate", dateError(subtask.getStartDate(), currentTime))
+                .add("endDate", dateError(subtask.getEndDate(), currentTime));
+        if (subtask.getNotes() != null) {
+            result.add("notes", taskNotesError(subtask.getNotes()));
+        }
+        if (subtask.getReminder() != null) {
+            result.add("reminder", reminderError(subtask.getReminder(), now));
+        }
+        return result;
     }
 
     /**
@@ -41,27 +88,34 @@ public class TaskValidator {
      * @return true if the task name is valid, throws an InvalidInputException if invalid.
      */
     public static boolean validateTaskName(String taskName) throws InvalidInputException {
+        throwIfError(taskNameError(taskName));
+        return true;
+    }
+
+    static String taskNameError(String taskName) {
 
         if(taskName == null ){
-            throw new InvalidInputException(TaskErrors.INVALID_TASK_NAME_NULL);
+            return TaskErrors.INVALID_TASK_NAME_NULL;
         }
 
         if (taskName.trim().length() < ValidatorConstants.VERY_SHORT_MIN_LEN){
-            throw new InvalidInputException(TaskErrors.INVALID_TASK_NAME_LESS_THAN_THREE_CHAR);
+            return TaskErrors.INVALID_TASK_NAME_LESS_THAN_THREE_CHAR;
         }
 
         if(taskName.trim().length() > ValidatorConstants.SHORT_MAX_LEN) {
-            throw new InvalidInputException(TaskErrors.INVALID_TASK_NAME_MORE_THAN_FIFTY_CHAR);
+            return TaskErrors.INVALID_TASK_NAME_MORE_THAN_FIFTY_CHAR;
         }
 
-        return true;
+        return null;
     }
 
 
-    static LocalDateTime now = LocalDateTime.now();
-    static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    static String formattedTime = now.format(formatter);
-    static LocalDateTime currentTime = LocalDateTime.parse(formattedTime, formatter);
+    /**
+     * Start and end dates may lie earlier in the current minute.
+     */
+    static LocalDateTime currentMinute(LocalDateTime now) {
+        return now.truncatedTo(ChronoUnit.MINUTES);
+    }
 
     
     /**
@@ -71,15 +125,7 @@ public class TaskValidator {
      * @return true if the start date is valid, throws an InvalidInputException if invalid.
      */
     public static boolean validateStartDate(LocalDateTime startDate) throws InvalidInputException {
-        
-        if(startDate == null){
-            throw new InvalidInputException(TaskErrors.INVALID_DATE_NULL);
-        }
-
-        if (startDate.isBefore(currentTime)) {
-            throw new InvalidInputException(TaskErrors.INVALID_DATE_BEFORE_DATE);
-        }
-
+        throwIfError(dateError(startDate, currentMinute(LocalDateTime.now())));
         return true;
     }
     
@@ -90,18 +136,49 @@ public class TaskValidator {
      * @return true if the end date is valid, throws an InvalidInputException if invalid.
      */
     public static boolean validateEndDate(LocalDateTime endDate) throws InvalidInputException {
-        
-        if(endDate == null){
-            throw new InvalidInputException(TaskErrors.INVALID_DATE_NULL);
+        throwIfError(dateError(endDate, currentMinute(LocalDateTime.now())));
+        return true;
+    }
+
+    static String dateError(LocalDateTime date, LocalDateTime currentTime) {
+
+        if(date == null){
+            return TaskErrors.INVALID_DATE_NULL;
         }
 
-        if (endDate.isBefore(currentTime)) {
-            throw new InvalidInputException(TaskErrors.INVALID_DATE_BEFORE_DATE);
+        if (date.isBefore(currentTime)) {
+            return TaskErrors.INVALID_DATE_BEFORE_DATE;
         }
 
+        return null;
+    }
+
+
+    /**
+     * Validates that both dates are present and the end is not before the
+     * start.
+     *
+     * @param startDate The start date of the task.
+     * @param endDate   The end date of the task.
+     * @return true if the dates are valid, throws an InvalidInputException if invalid.
+     */
+    public static boolean validateSchedule(LocalDateTime startDate, LocalDateTime endDate) throws InvalidInputException {
+        throwIfError(scheduleError(startDate, endDate));
         return true;
     }
 
+    static String scheduleError(LocalDateTime startDate, LocalDateTime endDate) {
+
+        if(startDate == null || endDate == null){
+            return TaskErrors.INVALID_DATES_NULL;
+        }
+
+        if(endDate.isBefore(startDate)) {
+            return TaskErrors.INVALID_END_DATE_BEFORE_START_DATE;
+        }
+
+        return null;
+    }
 
     /**
      * Validates the task notes.
@@ -110,16 +187,25 @@ public class TaskValidator {
      * @return true if the notes are valid, throws an InvalidInputException if invalid.
      */
     public static boolean validateTaskNotes(String notes) throws InvalidInputException {
+        throwIfError(taskNotesError(notes));
+        return true;
+    }
+
+    static String taskNotesError(String notes) {
+
+        if(notes == null){
+            return TaskErrors.INVALID_TASK_NOTES_NULL;
+        }
 
         if(notes.trim().length() < ValidatorConstants.SHORT_MIN_LEN){
-            throw new InvalidInputException(TaskErrors.INVALID_TASK_NOTES_LESS_THAN_TEN_CHAR);
+            return TaskErrors.INVALID_TASK_NOTES_LESS_THAN_TEN_CHAR;
         }
 
         if(notes.trim().length() > ValidatorConstants.VERY_LONG_MAX_LEN) {
-            throw new InvalidInputException(TaskErrors.INVALID_TASK_NOTES_MORE_THAN_ONEFIFTY_CHAR);
+            return TaskErrors.INVALID_TASK_NOTES_MORE_THAN_ONEFIFTY_CHAR;
         }
 
-        return true;
+        return null;
     }
 
     /**
@@ -129,21 +215,31 @@ public class TaskValidator {
      * @return true if the reminder date is valid, throws an InvalidInputException if invalid.
      */
     public static boolean validateReminder(LocalDateTime reminder) throws InvalidInputException {
-        LocalDateTime now = LocalDateTime.now();
+        throwIfError(reminderError(reminder, LocalDateTime.now()));
+        return true;
+    }
+
+    static String reminderError(LocalDateTime reminder, LocalDateTime now) {
 
         if(reminder == null){
-            throw new InvalidInputException(TaskErrors.INVALID_REMINDER_NULL); 
+            return TaskErrors.INVALID_REMINDER_NULL;
         }
 
         if(reminder.isEqual(now)) {
-            throw new InvalidInputException(TaskErrors.INVALID_REMINDER_CURRENT_TIME);
+            return TaskErrors.INVALID_REMINDER_CURRENT_TIME;
         }
 
         if (reminder.isBefore(now)){
-            throw new InvalidInputException(TaskErrors.INVALID_REMINDER_BEFORE_DATE_TIME);
+            return TaskErrors.INVALID_REMINDER_BEFORE_DATE_TIME;
         }
 
-        return true;
+        return null;
+    }
+
+    private static void throwIfError(String error) throws InvalidInputException {
+        if (error != null) {
+            throw new InvalidInputException(error);
+        }
     }
 
 
@@ -0,0 +1,68 @@
+package com.fssa.freshtime.validators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fssa.freshtime.exceptions.InvalidInputException;
+
+/**
+ * Every rule an object breaks, collected without throwing.
+ *
+ * Validation that throws stops at the first error and pays for a stack trace
+ * each time; bulk imports and forms that fail often can use the
+ * {@code check} methods of the validators instead and report all errors at
+ * once. Violations are kept in the order the fields are checked, so the
+ * first one is the error the throwing method reports.
+ */
+public class ValidationResult {
+
+	private List<FieldViolation> violations;
+
+	/**
+	 * Records a violation if the message is not null.
+	 *
+	 * @param field   The field that was checked.
+	 * @param message The error, or null if the field is valid.
+	 * @return This result.
+	 */
+	public ValidationResult add(String field, String message) {
+		if (message != null) {
+			if (violations == null) {
+				violations = new ArrayList<>(4);
+			}
+			violations.add(new FieldViolation(field, message));
+		}
+		return this;
+	}
+
+	public boolean isValid() {
+		return violations == null;
+	}
+
+	public List<FieldViolation> getViolations() {
+		return violations == null ? Collections.emptyList() : Collections.unmodifiableList(violations);
+	}
+
+	/**
+	 * @return The message of the first violation, or null if valid.
+	 */
+	public String getFirstMessage() {
+		return violations == null ? null : violations.get(0).getMessage();
+	}
+
+	/**
+	 * @throws InvalidInputException With the first message, if not valid.
+	 */
+	public void throwIfInvalid() throws InvalidInputException {
+		if (violations != null) {
+			throw new InvalidInputException(getFirstMessage());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ValidationResult " + getViolations();
+	}
+
+}
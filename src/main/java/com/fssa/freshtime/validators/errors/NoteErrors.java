@@ -0,0 +1,10 @@
+package com.fssa.freshtime.validators.errors;
+
+public class NoteErrors {
+
+	public static final String NOTE_NULL = "Note cannot be null";
+	public static final String INVALID_HEADING = "Heading cannot be null or empty";
+	public static final String INVALID_NOTES_CONTENT = "Notes content cannot be null or empty";
+	public static final String INVALID_CATEGORY = "Notes category cannot be null or empty";
+
+}
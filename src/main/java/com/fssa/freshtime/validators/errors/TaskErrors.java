@@ -3,6 +3,8 @@ package com.fssa.freshtime.validators.errors;
 public class TaskErrors {
 
     public static final String TASK_NULL = "Invalid Task: Task can not be null.";
+    public static final String TASKS_EMPTY = "Invalid Tasks: Tasks can not be empty.";
+    public static final String SUBTASK_NULL = "Invalid Subtask: Subtask can not be null.";
 
     public static final String INVALID_TASK_NAME_NULL = "Invalid Task Name: Task Name Can Not Be Null";
     public static final String INVALID_TASK_NAME_LESS_THAN_THREE_CHAR = "Invalid Task Name: Task Name Can Not Be Empty or less than 3 Character";
@@ -16,6 +18,8 @@ public class TaskErrors {
 
     public static final String INVALID_DATE_NULL = "Invalid DueDate: Due date can't be null";
     public static final String INVALID_DATE_BEFORE_DATE = "Invalid DueDate: Due date can't be before todays date";
+    public static final String INVALID_DATES_NULL = "Invalid Dates: Start date and end date are required";
+    public static final String INVALID_END_DATE_BEFORE_START_DATE = "Invalid Dates: End date can't be before start date";
 
 
 
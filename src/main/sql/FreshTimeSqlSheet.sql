@@ -4,40 +4,31 @@ use aravind_venkedeshwaran_corejava_project;
 
 -- use freshtime;
 
-CREATE TABLE users(
-	user_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
-    email_id VARCHAR(255) UNIQUE NOT NULL, 
+-- The application creates and upgrades this schema itself through the
+-- versioned scripts in src/main/sql/migrations. This sheet mirrors them for
+-- manual setup and exploration.
+
+CREATE TABLE users (
+    user_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    email_id VARCHAR(255) UNIQUE NOT NULL,
     user_name VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL
-    );
-    
-INSERT INTO users (email_id, user_name, password) VALUES 
-("testuser01@gmail.com", "TestNameOne",  "P@$$w0rd"),
-("testuser02@gmail.com", "TestNameTwo",  "P@$$w0rd"),
-("testuser03@gmail.com", "TestNameThree",  "P@$$w0rd"),
-("testDelete@gmail.com", "Deletable user",  "P@$$w0rd");
-
--- INSERT INTO users (email_id, user_name, password) VALUES 
--- ("testDelete@gmail.com", "Deletable user",  "P@$$w0rd");
-
+);
 
-CREATE TABLE tasks(
-    task_id INT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+CREATE TABLE tasks (
+    task_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
     user_id INT NOT NULL,
-    task_name VARCHAR(255) NOT NULL,
-    task_description VARCHAR(255 ) NOT NULL,
-    due_date DATE NOT NULL,
-    priority VARCHAR(50) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
-    task_status VARCHAR(50) NOT NULL CHECK (task_status IN ('NOTSTARTED', 'SCHEDULED', 'INPROGRESS', 'COMPLETED', 'OVERDUE', 'CANCELLED')),
-    task_notes VARCHAR(255) NOT NULL, 
-    reminder DATETIME NOT NULL,
-    created_date_time DATETIME DEFAULT NOW() NOT NULL,
+    taskname VARCHAR(255) NOT NULL,
+    startdate DATETIME,
+    enddate DATETIME,
+    priority VARCHAR(50),
+    status VARCHAR(50),
+    reminder DATETIME,
+    notes VARCHAR(255),
+    created_date_time DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL,
     FOREIGN KEY (user_id) REFERENCES users(user_id)
 );
 
-
-
-
 CREATE TABLE tasktags (
     tag_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
     task_id INT NOT NULL,
@@ -46,18 +37,39 @@ CREATE TABLE tasktags (
 );
 
 CREATE TABLE subtasks (
-	subtask_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    subtask_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
     task_id INT NOT NULL,
     subtask VARCHAR(255) NOT NULL,
-    description VARCHAR(255),
-    due_date date,
+    startdate DATETIME,
+    enddate DATETIME,
     priority VARCHAR(50),
     status VARCHAR(50),
     reminder DATETIME,
-    created_date_time DATETIME DEFAULT NOW() NOT NULL,
+    notes VARCHAR(255),
+    created_date_time DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL,
     FOREIGN KEY (task_id) REFERENCES tasks(task_id)
 );
 
+CREATE TABLE notes (
+    notes_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    user_id INT NOT NULL,
+    notes_category VARCHAR(255),
+    heading VARCHAR(255),
+    notes TEXT,
+    createdOn DATE NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE INDEX idx_tasks_user_enddate ON tasks (user_id, enddate);
+
+CREATE INDEX idx_subtasks_task ON subtasks (task_id);
+
+CREATE INDEX idx_tasktags_task ON tasktags (task_id);
+
+CREATE INDEX idx_notes_user_category ON notes (user_id, notes_category);
+
+CREATE INDEX idx_notes_user_created ON notes (user_id, createdOn);
+
 CREATE TABLE dailyprogress(
 	progress_id INT PRIMARY KEY AUTO_INCREMENT,
     date DATE NOT NULL,
@@ -84,28 +96,35 @@ CREATE TABLE overallprogress(
     );
     
 INSERT INTO overallprogress (progress) VALUES (0);
-    
-
-INSERT INTO tasks (user_id, task_name, task_description, due_date, priority, task_status, task_notes, reminder, created_date_time)
-VALUES
-(1,'Create Model Task object', 'Description of Create Model Task object', '2023-08-05', 'HIGH', 'NOTSTARTED', 'Notes for Create Model Task object', '2023-08-05 16:00:00', '2023-08-05 14:15:00'),
-(1,'Write validator for the task object', 'Description of Write validator for the task object', '2023-08-05', 'MEDIUM', 'NOTSTARTED', 'Notes for Write validator for the task object', '2023-08-05 16:00:00', '2023-08-05 14:15:00'),
-(1,'Test the task validator', 'Description of Test the task validator', '2023-08-05', 'LOW', 'NOTSTARTED', 'Notes for Test the task validator', '2023-08-05 16:00:00', '2023-08-05 14:15:00'),
-(2,'Write query in DAOLayer to store tasks in database', 'Description of Task 4', '2023-08-06', 'HIGH', 'NOTSTARTED', 'Notes for Task 4', '2023-08-06 16:00:00', '2023-08-05 14:15:00'),
-(2,'Write serviceLayer to validate task and insert the task data', 'Description of Task 5', '2023-08-06', 'MEDIUM', 'NOTSTARTED', 'Notes for Task 5', '2023-08-06 16:00:00', '2023-08-05 14:15:00'),
-(2,'Write testcase for the service layer', 'Description of Task 6', '2023-08-06', 'LOW', 'NOTSTARTED', 'Notes for Task 6', '2023-08-06 16:00:00', '2023-08-05 14:15:00');
 
+INSERT INTO users (email_id, user_name, password) VALUES
+('testuser01@gmail.com', 'TestNameOne', 'P@$$w0rd'),
+('testuser02@gmail.com', 'TestNameTwo', 'P@$$w0rd'),
+('testuser03@gmail.com', 'TestNameThree', 'P@$$w0rd'),
+('testDelete@gmail.com', 'Deletable user', 'P@$$w0rd');
 
+INSERT INTO tasks (user_id, taskname, startdate, enddate, priority, status, reminder, notes, created_date_time) VALUES
+(1, 'Create Model Task object', '2023-08-05 09:00:00', '2023-08-05 18:00:00', 'HIGH', 'TODO', '2023-08-05 16:00:00', 'Notes for Create Model Task object', '2023-08-05 14:15:00'),
+(1, 'Write validator for the task object', '2023-08-05 09:00:00', '2023-08-05 18:00:00', 'MID', 'TODO', '2023-08-05 16:00:00', 'Notes for Write validator for the task object', '2023-08-05 14:15:00'),
+(1, 'Test the task validator', '2023-08-05 09:00:00', '2023-08-05 18:00:00', 'LOW', 'TODO', '2023-08-05 16:00:00', 'Notes for Test the task validator', '2023-08-05 14:15:00'),
+(2, 'Write query in DAOLayer to store tasks in database', '2023-08-06 09:00:00', '2023-08-06 18:00:00', 'HIGH', 'TODO', '2023-08-06 16:00:00', 'Notes for Task 4', '2023-08-05 14:15:00'),
+(2, 'Write serviceLayer to validate task and insert the task data', '2023-08-06 09:00:00', '2023-08-06 18:00:00', 'MID', 'TODO', '2023-08-06 16:00:00', 'Notes for Task 5', '2023-08-05 14:15:00'),
+(2, 'Write testcase for the service layer', '2023-08-06 09:00:00', '2023-08-06 18:00:00', 'LOW', 'TODO', '2023-08-06 16:00:00', 'Notes for Task 6', '2023-08-05 14:15:00');
 
 INSERT INTO tasktags (task_id, tag_name) VALUES (1, 'task'), (2, 'task'), (3, 'task'), (4, 'task'), (5, 'task'), (6, 'task');
 
-INSERT INTO subtasks (task_id, subtask) VALUES 
-(1, 'generate getters and setter'), (1, 'generate to string'), 
-(2, 'write validator for task name'), (2, 'write validator for due date'), 
-(3, 'write test validator for task name'), (3, 'write test validator for due date'), 
-(4, 'write query to store task'), (4, 'write query to store subtask'), 
-(5, 'write service layer to store task'), (5, 'write service layer to store subtask'), 
-(6, 'write testcase for service layer to store task'), (6, 'write testcase for service layer to store subtask');
+INSERT INTO subtasks (task_id, subtask, status) VALUES
+(1, 'generate getters and setter', 'TODO'), (1, 'generate to string', 'TODO'),
+(2, 'write validator for task name', 'TODO'), (2, 'write validator for due date', 'TODO'),
+(3, 'write test validator for task name', 'TODO'), (3, 'write test validator for due date', 'TODO'),
+(4, 'write query to store task', 'TODO'), (4, 'write query to store subtask', 'TODO'),
+(5, 'write service layer to store task', 'TODO'), (5, 'write service layer to store subtask', 'TODO'),
+(6, 'write testcase for service layer to store task', 'TODO'), (6, 'write testcase for service layer to store subtask', 'TODO');
+
+INSERT INTO notes (user_id, notes_category, heading, notes, createdOn) VALUES
+(1, 'Category', 'Sample Note', '<h1>Title</h1><div>The Test Note</div>', '2023-08-05'),
+(1, 'Category', 'Second Note', '<div>Another note</div>', '2023-08-06'),
+(2, 'Work', 'Meeting', '<div>Meeting notes</div>', '2023-08-06');
 
 SELECT * FROM tasks;
 
@@ -121,24 +140,25 @@ SELECT * FROM overallprogress;
 
 SELECT * FROM users;
 
+SELECT * FROM notes;
+
+SELECT * FROM schema_migrations;
+
 
 -- SELECT t.taskId, t.taskName, s.subtask, tt.tagName
 -- FROM tasks t
 -- LEFT JOIN taskTags tt ON t.taskId = tt.taskId
 -- LEFT JOIN subtasks s ON t.taskId = s.taskId;
 
-SELECT 
-tasks.task_id, 
+SELECT
+tasks.task_id,
 subtasks.subtask_id,
-tasks.task_name, 
-subtasks.subtask , 
-subtasks.description, 
-subtasks.due_date, 
-subtasks.priority, 
-subtasks.status, 
-subtasks.reminder 
+tasks.taskname,
+subtasks.subtask,
+subtasks.startdate,
+subtasks.enddate,
+subtasks.priority,
+subtasks.status,
+subtasks.reminder
 FROM tasks
 LEFT JOIN subtasks ON tasks.task_id = subtasks.task_id;
-
-
-    
\ No newline at end of file
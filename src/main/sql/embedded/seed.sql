@@ -0,0 +1,31 @@
+-- Seed data for the embedded database profile, matching the ids the service
+-- tests expect.
+
+INSERT INTO users (email_id, user_name, password) VALUES
+('testuser01@gmail.com', 'TestNameOne', 'P@$$w0rd'),
+('testuser02@gmail.com', 'TestNameTwo', 'P@$$w0rd'),
+('testuser03@gmail.com', 'TestNameThree', 'P@$$w0rd'),
+('testDelete@gmail.com', 'Deletable user', 'P@$$w0rd');
+
+INSERT INTO tasks (user_id, taskname, startdate, enddate, priority, status, reminder, notes, created_date_time) VALUES
+(1, 'Create Model Task object', '2023-08-05 09:00:00', '2023-08-05 18:00:00', 'HIGH', 'TODO', '2023-08-05 16:00:00', 'Notes for Create Model Task object', '2023-08-05 14:15:00'),
+(1, 'Write validator for the task object', '2023-08-05 09:00:00', '2023-08-05 18:00:00', 'MID', 'TODO', '2023-08-05 16:00:00', 'Notes for Write validator for the task object', '2023-08-05 14:15:00'),
+(1, 'Test the task validator', '2023-08-05 09:00:00', '2023-08-05 18:00:00', 'LOW', 'TODO', '2023-08-05 16:00:00', 'Notes for Test the task validator', '2023-08-05 14:15:00'),
+(2, 'Write query in DAOLayer to store tasks in database', '2023-08-06 09:00:00', '2023-08-06 18:00:00', 'HIGH', 'TODO', '2023-08-06 16:00:00', 'Notes for Task 4', '2023-08-05 14:15:00'),
+(2, 'Write serviceLayer to validate task and insert the task data', '2023-08-06 09:00:00', '2023-08-06 18:00:00', 'MID', 'TODO', '2023-08-06 16:00:00', 'Notes for Task 5', '2023-08-05 14:15:00'),
+(2, 'Write testcase for the service layer', '2023-08-06 09:00:00', '2023-08-06 18:00:00', 'LOW', 'TODO', '2023-08-06 16:00:00', 'Notes for Task 6', '2023-08-05 14:15:00');
+
+INSERT INTO tasktags (task_id, tag_name) VALUES (1, 'task'), (2, 'task'), (3, 'task'), (4, 'task'), (5, 'task'), (6, 'task');
+
+INSERT INTO subtasks (task_id, subtask, status) VALUES
+(1, 'generate getters and setter', 'TODO'), (1, 'generate to string', 'TODO'),
+(2, 'write validator for task name', 'TODO'), (2, 'write validator for due date', 'TODO'),
+(3, 'write test validator for task name', 'TODO'), (3, 'write test validator for due date', 'TODO'),
+(4, 'write query to store task', 'TODO'), (4, 'write query to store subtask', 'TODO'),
+(5, 'write service layer to store task', 'TODO'), (5, 'write service layer to store subtask', 'TODO'),
+(6, 'write testcase for service layer to store task', 'TODO'), (6, 'write testcase for service layer to store subtask', 'TODO');
+
+INSERT INTO notes (user_id, notes_category, heading, notes, createdOn) VALUES
+(1, 'Category', 'Sample Note', '<h1>Title</h1><div>The Test Note</div>', '2023-08-05'),
+(1, 'Category', 'Second Note', '<div>Another note</div>', '2023-08-06'),
+(2, 'Work', 'Meeting', '<div>Meeting notes</div>', '2023-08-06');
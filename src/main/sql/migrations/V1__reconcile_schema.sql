@@ -0,0 +1,55 @@
+-- Baseline schema, matching the columns the DAOs query.
+-- Tables are only created when missing, so databases that already run the
+-- application are adopted unchanged.
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    email_id VARCHAR(255) UNIQUE NOT NULL,
+    user_name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    task_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    user_id INT NOT NULL,
+    taskname VARCHAR(255) NOT NULL,
+    startdate DATETIME,
+    enddate DATETIME,
+    priority VARCHAR(50),
+    status VARCHAR(50),
+    reminder DATETIME,
+    notes VARCHAR(255),
+    created_date_time DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS tasktags (
+    tag_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    task_id INT NOT NULL,
+    tag_name VARCHAR(255) NOT NULL,
+    FOREIGN KEY (task_id) REFERENCES tasks(task_id)
+);
+
+CREATE TABLE IF NOT EXISTS subtasks (
+    subtask_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    task_id INT NOT NULL,
+    subtask VARCHAR(255) NOT NULL,
+    startdate DATETIME,
+    enddate DATETIME,
+    priority VARCHAR(50),
+    status VARCHAR(50),
+    reminder DATETIME,
+    notes VARCHAR(255),
+    created_date_time DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    FOREIGN KEY (task_id) REFERENCES tasks(task_id)
+);
+
+CREATE TABLE IF NOT EXISTS notes (
+    notes_id INT PRIMARY KEY AUTO_INCREMENT NOT NULL,
+    user_id INT NOT NULL,
+    notes_category VARCHAR(255),
+    heading VARCHAR(255),
+    notes TEXT,
+    createdOn DATE NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
@@ -0,0 +1,6 @@
+-- Serves the per-user task lists. InnoDB appends the primary key to every
+-- secondary index, so it also serves the (enddate, task_id) keyset seek.
+-- One index per migration: MySQL commits each DDL statement on its own, so a
+-- migration with several could not be re-run after failing halfway.
+
+CREATE INDEX idx_tasks_user_enddate ON tasks (user_id, enddate);
@@ -0,0 +1,3 @@
+-- Serves the subtask lookups of a task.
+
+CREATE INDEX idx_subtasks_task ON subtasks (task_id);
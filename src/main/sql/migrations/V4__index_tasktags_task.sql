@@ -0,0 +1,3 @@
+-- Serves the tag lookups of a task.
+
+CREATE INDEX idx_tasktags_task ON tasktags (task_id);
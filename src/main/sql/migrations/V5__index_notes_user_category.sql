@@ -0,0 +1,3 @@
+-- Serves the per-user note lookups by category.
+
+CREATE INDEX idx_notes_user_category ON notes (user_id, notes_category);
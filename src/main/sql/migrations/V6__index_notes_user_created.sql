@@ -0,0 +1,3 @@
+-- Serves the per-user note lists by creation date.
+
+CREATE INDEX idx_notes_user_created ON notes (user_id, createdOn);
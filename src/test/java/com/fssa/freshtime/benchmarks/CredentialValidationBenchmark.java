@@ -0,0 +1,71 @@
+package com.fssa.freshtime.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fssa.freshtime.validators.CredentialRules;
+import com.fssa.freshtime.validators.regexs.UserValidationRegex;
+
+/**
+ * Password and email validation: the single-pass {@link CredentialRules}
+ * against the regular expressions it replaced. Run with {@code -prof gc} to
+ * compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialValidationBenchmark {
+
+	@Param({ "P@ssw0rd", "WrongPassword1", "Pass word@2024" })
+	String password;
+
+	@Param({ "aravind@gmail.com" })
+	String email;
+
+	@Benchmark
+	public boolean passwordLegacy() {
+		boolean upper = Pattern.compile(".*[A-Z].*").matcher(password).matches();
+		boolean lower = Pattern.compile(".*[a-z].*").matcher(password).matches();
+		boolean digit = Pattern.compile(".*[0-9].*").matcher(password).matches();
+		boolean special = Pattern.compile(".*[!@#$%^&*()_+{}\\[\\]:;\"'<>,.?/~].*").matcher(password).matches();
+		boolean noWhitespace = Pattern.compile("\\S*").matcher(password).matches();
+		return password.length() >= 8 && upper && lower && digit && special && noWhitespace;
+	}
+
+	@Benchmark
+	public String passwordSinglePass() {
+		return CredentialRules.passwordError(password);
+	}
+
+	@Benchmark
+	public boolean emailLegacy() {
+		return !email.trim().isEmpty() && email.matches(UserValidationRegex.EMAIL_REGEX);
+	}
+
+	@Benchmark
+	public boolean emailSinglePass() {
+		return !CredentialRules.isBlank(email) && CredentialRules.isValidEmail(email);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CredentialValidationBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
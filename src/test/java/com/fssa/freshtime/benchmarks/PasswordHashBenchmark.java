@@ -0,0 +1,70 @@
+package com.fssa.freshtime.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fssa.freshtime.utils.PasswordUtil;
+
+/**
+ * Latency of hashing and verifying a password per BCrypt cost factor, to pick
+ * {@code freshtime.bcrypt.cost}. The {@code pooled} variants include the
+ * hand-off to the hashing pool.
+ *
+ * Run with the test classpath, for example from the IDE, or:
+ * {@code java -cp target/test-classes:<test classpath> com.fssa.freshtime.benchmarks.PasswordHashBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+	private static final String PASSWORD = "P@$$w0rd";
+
+	@Param({ "8", "10", "12" })
+	int cost;
+
+	private String hash;
+
+	@Setup
+	public void setUp() {
+		hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost));
+	}
+
+	@Benchmark
+	public String hash() {
+		return BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost));
+	}
+
+	@Benchmark
+	public String hashPooled() {
+		return PasswordUtil.encryptPassword(PASSWORD, cost);
+	}
+
+	@Benchmark
+	public boolean verifyPooled() {
+		return PasswordUtil.verifyPassword(PASSWORD, hash);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PasswordHashBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,256 @@
+package com.fssa.freshtime.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.enums.TaskPriority;
+import com.fssa.freshtime.models.enums.TaskStatus;
+import com.fssa.freshtime.utils.ConnectionUtil;
+
+/**
+ * Runs against the embedded database: {@code mvn test -Pembedded-db}.
+ */
+class GroupCommitTest {
+
+	private static final String INSERT_ROW = "INSERT INTO group_commit_test (name) VALUES (?)";
+
+	private static final class Row {
+		final String name;
+		int id;
+
+		Row(String name) {
+			this.name = name;
+		}
+	}
+
+	private final AtomicInteger singleWrites = new AtomicInteger();
+
+	@BeforeAll
+	static void createTable() throws SQLException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS group_commit_test ("
+					+ "id INT PRIMARY KEY AUTO_INCREMENT NOT NULL, name VARCHAR(50) NOT NULL)");
+		}
+	}
+
+	@Test
+	void testConcurrentAddTaskGivesEachCallerItsOwnRow() throws Exception {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			tasks.add(newTask(1, "Group commit task " + i));
+		}
+		Task orphan = newTask(Integer.MAX_VALUE, "Group commit orphan");
+		List<Task> all = new ArrayList<>(tasks);
+		all.add(orphan);
+
+		TaskDAO.TASK_INSERTS.setEnabled(true);
+		try {
+			List<Future<Boolean>> results = concurrently(all, TaskDAO::addTask);
+
+			Set<Integer> ids = new HashSet<>();
+			for (int i = 0; i < tasks.size(); i++) {
+				assertTrue(results.get(i).get());
+				Task task = tasks.get(i);
+				assertTrue(ids.add(task.getTaskId()));
+				assertEquals(task.getTaskName(), TaskDAO.readTaskByTaskId(task.getTaskId()).getTaskName());
+			}
+			ExecutionException e = assertThrows(ExecutionException.class, () -> results.get(tasks.size()).get());
+			assertInstanceOf(DAOException.class, e.getCause());
+		} finally {
+			TaskDAO.TASK_INSERTS.setEnabled(false);
+			for (Task task : tasks) {
+				if (task.getTaskId() != 0) {
+					TaskDAO.deleteTask(task.getTaskId());
+				}
+			}
+		}
+	}
+
+	@Test
+	void testBatchGivesEachCallerItsGeneratedKey() throws Exception {
+		GroupCommit<Row> pipeline = newPipeline("keys", 200, 64, 5000);
+		List<Row> rows = rows("key", 8);
+
+		for (Future<Boolean> result : concurrently(rows, pipeline::write)) {
+			assertTrue(result.get());
+		}
+
+		assertEquals(0, singleWrites.get());
+		Set<Integer> ids = new HashSet<>();
+		for (Row row : rows) {
+			assertTrue(ids.add(row.id));
+			assertEquals(row.name, readName(row.id));
+		}
+	}
+
+	@Test
+	void testBadRowFailsOnlyItsCaller() throws Exception {
+		GroupCommit<Row> pipeline = newPipeline("bad row", 200, 64, 5000);
+		List<Row> rows = rows("good", 3);
+		rows.add(new Row(null));
+
+		List<Future<Boolean>> results = concurrently(rows, pipeline::write);
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(results.get(i).get());
+			assertEquals(rows.get(i).name, readName(rows.get(i).id));
+		}
+		ExecutionException e = assertThrows(ExecutionException.class, () -> results.get(3).get());
+		assertInstanceOf(DAOException.class, e.getCause());
+		assertEquals(4, singleWrites.get());
+	}
+
+	@Test
+	void testQueuedRowTimesOut() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		GroupCommit<Row> pipeline = new GroupCommit<>("timeout", INSERT_ROW, GroupCommitTest::bind, null, row -> {
+			writing.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return insert(row);
+		}, true, 1, 1, 100);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> slow = executor.submit(() -> pipeline.write(new Row("slow")));
+			assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+			DAOException e = assertThrows(DAOException.class, () -> pipeline.write(new Row("queued")));
+			assertEquals(ErrorCode.TIMEOUT, e.getCode());
+
+			release.countDown();
+			assertTrue(slow.get(5, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testFlusherSurvivesInterrupt() throws Exception {
+		GroupCommit<Row> pipeline = newPipeline("interrupt", 1, 64, 2000);
+		assertTrue(pipeline.write(new Row("before interrupt")));
+
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("freshtime-group-commit-interrupt")) {
+				thread.interrupt();
+			}
+		}
+
+		Row row = new Row("after interrupt");
+		assertTrue(pipeline.write(row));
+		assertEquals(row.name, readName(row.id));
+	}
+
+	private GroupCommit<Row> newPipeline(String name, long windowMillis, int maxBatch, long timeoutMillis) {
+		return new GroupCommit<>(name, INSERT_ROW, GroupCommitTest::bind, (row, id) -> row.id = id, row -> {
+			singleWrites.incrementAndGet();
+			return insert(row);
+		}, true, windowMillis, maxBatch, timeoutMillis);
+	}
+
+	private static List<Row> rows(String prefix, int count) {
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(new Row(prefix + " " + i));
+		}
+		return rows;
+	}
+
+	private static Task newTask(int userId, String name) {
+		Task task = new Task();
+		task.setUserId(userId);
+		task.setTaskName(name);
+		task.setStartDate(LocalDateTime.now());
+		task.setEndDate(LocalDateTime.now().plusDays(1));
+		task.setPriority(TaskPriority.LOW);
+		task.setStatus(TaskStatus.TODO);
+		return task;
+	}
+
+	@FunctionalInterface
+	private interface Write<T> {
+		boolean write(T row) throws DAOException;
+	}
+
+	/**
+	 * Starts all writes at once, one thread each.
+	 */
+	private static <T> List<Future<Boolean>> concurrently(List<T> rows, Write<T> write) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(rows.size());
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (T row : rows) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return write.write(row);
+			}));
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		return results;
+	}
+
+	private static void bind(PreparedStatement psmt, Row row) throws SQLException {
+		psmt.setString(1, row.name);
+	}
+
+	private static boolean insert(Row row) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement psmt = connection.prepareStatement(INSERT_ROW, Statement.RETURN_GENERATED_KEYS)) {
+			bind(psmt, row);
+			int rowAffected = psmt.executeUpdate();
+			try (ResultSet keys = psmt.getGeneratedKeys()) {
+				if (keys.next()) {
+					row.id = keys.getInt(1);
+				}
+			}
+			return rowAffected > 0;
+		} catch (SQLException e) {
+			throw new DAOException("Error while adding row", e);
+		}
+	}
+
+	private static String readName(int id) throws SQLException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement psmt = connection.prepareStatement("SELECT name FROM group_commit_test WHERE id = ?")) {
+			psmt.setInt(1, id);
+			try (ResultSet rs = psmt.executeQuery()) {
+				return rs.next() ? rs.getString(1) : null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.fssa.freshtime.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.enums.TaskField;
+import com.fssa.freshtime.models.enums.TaskStatus;
+
+class PartialUpdateTest {
+
+	@Test
+	void testStatementListsColumnsInFieldOrderAndIsReused() {
+		PartialUpdate<Task> update = new PartialUpdate<Task>("tasks", "task_id")
+				.column(TaskField.STATUS, "status", (psmt, i, task) -> PartialUpdate.setName(psmt, i, task.getStatus()))
+				.column(TaskField.NOTES, "notes", (psmt, i, task) -> psmt.setString(i, task.getNotes()));
+
+		String statement = update.statement(EnumSet.of(TaskField.NOTES, TaskField.STATUS));
+		assertEquals("UPDATE tasks SET status=?, notes=? WHERE task_id = ?", statement);
+		assertSame(statement, update.statement(EnumSet.of(TaskField.STATUS, TaskField.NOTES)));
+		assertEquals("UPDATE tasks SET notes=? WHERE task_id = ?", update.statement(EnumSet.of(TaskField.NOTES)));
+	}
+
+	@Test
+	void testTaskTracksChangesOnceRead() {
+		Task task = new Task();
+		task.setNotes("draft");
+		assertEquals(EnumSet.allOf(TaskField.class), task.getChangedFields());
+
+		task.clearChanges();
+		task.setNotes("draft");
+		task.setStatus(TaskStatus.COMPLETED);
+		Task copy = new Task(task);
+		assertEquals(Set.of(TaskField.STATUS), copy.getChangedFields());
+
+		task.setNotes("final");
+		task.clearChanges(Set.of(TaskField.STATUS));
+		assertEquals(Set.of(TaskField.NOTES), task.getChangedFields());
+	}
+
+}
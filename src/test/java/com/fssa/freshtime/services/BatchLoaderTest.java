@@ -0,0 +1,68 @@
+package com.fssa.freshtime.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.exceptions.ServiceException;
+
+class BatchLoaderTest {
+
+	private final List<List<Integer>> batches = new ArrayList<>();
+
+	private Map<Integer, String> names(List<Integer> keys) {
+		batches.add(keys);
+		Map<Integer, String> names = new HashMap<>();
+		for (Integer key : keys) {
+			if (key > 0) {
+				names.put(key, "task" + key);
+			}
+		}
+		return names;
+	}
+
+	@Test
+	void testLookupsAreReadInOneBatch() {
+		BatchLoader<Integer, String> loader = new BatchLoader<>(this::names);
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		for (int key : new int[] { 3, 1, -1, 3 }) {
+			futures.add(loader.load(key));
+		}
+
+		assertEquals("task3", futures.get(0).join());
+		assertEquals("task1", futures.get(1).join());
+		assertNull(futures.get(2).join());
+		assertSame(futures.get(0), futures.get(3));
+		assertEquals(List.of(List.of(3, 1, -1)), batches);
+
+		assertEquals(Map.of(1, "task1", 2, "task2"), loader.loadMany(List.of(1, 2)).join());
+		assertEquals(List.of(List.of(3, 1, -1), List.of(2)), batches);
+	}
+
+	@Test
+	void testFailureCompletesTheWholeBatch() {
+		ServiceException failure = new ServiceException("down");
+		BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> {
+			throw failure;
+		});
+		CompletableFuture<String> first = loader.load(1);
+		CompletableFuture<String> second = loader.load(2);
+		loader.dispatch();
+
+		for (CompletableFuture<String> future : List.of(first, second)) {
+			CompletionException thrown = assertThrows(CompletionException.class, future::join);
+			assertSame(failure, thrown.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.fssa.freshtime.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.dao.TaskDAO;
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ErrorCode;
+import com.fssa.freshtime.exceptions.ServiceException;
+import com.fssa.freshtime.models.Dashboard;
+import com.fssa.freshtime.models.Note;
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.models.enums.TaskPriority;
+import com.fssa.freshtime.models.enums.TaskStatus;
+import com.fssa.freshtime.utils.ConnectionUtil;
+import com.fssa.freshtime.utils.PasswordUtil;
+
+class DashboardServiceTest {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch interrupted = new CountDownLatch(1);
+	private final AtomicBoolean subtasksRead = new AtomicBoolean();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void testSlowReadTimesOut() throws InterruptedException {
+		DashboardService dashboardService = new DashboardService(tasks(List.of()), notes(this::slowRead), executor,
+				Duration.ofMillis(100));
+
+		ServiceException e = assertThrows(ServiceException.class, () -> dashboardService.loadDashboard(1));
+
+		assertEquals(ErrorCode.TIMEOUT, e.getCode());
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testFailingReadCancelsOtherReads() throws InterruptedException {
+		TaskService failingTasks = new TaskService() {
+			@Override
+			public List<Task> readAllTaskByUser(int userId) throws ServiceException {
+				// Fails only once the notes read is running, so that it has to be cancelled.
+				awaitUninterruptibly(started);
+				throw new ServiceException(ErrorCode.INVALID_ID, "Invalid user");
+			}
+
+			@Override
+			public Map<Integer, List<Subtask>> readSubtasksByTaskIds(Collection<Integer> taskIds) {
+				subtasksRead.set(true);
+				return Map.of();
+			}
+		};
+		DashboardService dashboardService = new DashboardService(failingTasks, notes(this::slowRead), executor,
+				Duration.ofSeconds(5));
+
+		ServiceException e = assertThrows(ServiceException.class, () -> dashboardService.loadDashboard(1));
+
+		assertEquals(ErrorCode.INVALID_ID, e.getCode());
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertFalse(subtasksRead.get());
+	}
+
+	@Test
+	void testNoReadStartsAfterFailure() throws InterruptedException {
+		CountDownLatch failed = new CountDownLatch(1);
+		TaskService lateTasks = new TaskService() {
+			@Override
+			public List<Task> readAllTaskByUser(int userId) {
+				// Ignores the interrupt and returns once the dashboard failed.
+				awaitUninterruptibly(failed);
+				return List.of(new Task());
+			}
+
+			@Override
+			public Map<Integer, List<Subtask>> readSubtasksByTaskIds(Collection<Integer> taskIds) {
+				subtasksRead.set(true);
+				return Map.of();
+			}
+		};
+		NoteService failingNotes = notes(() -> {
+			throw new ServiceException(ErrorCode.NOT_FOUND, "No notes");
+		});
+		DashboardService dashboardService = new DashboardService(lateTasks, failingNotes, executor,
+				Duration.ofSeconds(5));
+
+		ServiceException e = assertThrows(ServiceException.class, () -> dashboardService.loadDashboard(1));
+		failed.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(ErrorCode.NOT_FOUND, e.getCode());
+		assertFalse(subtasksRead.get());
+	}
+
+	/**
+	 * Runs against the embedded database: {@code mvn test -Pembedded-db}.
+	 */
+	@Test
+	void testLoadDashboardOfUserWithoutTaskOfSameId() throws ServiceException, DAOException, SQLException {
+		int userId = 900001;
+		insertUser(userId, "dashboard900001@gmail.com");
+		Task task = new Task();
+		task.setUserId(userId);
+		task.setTaskName("Review the dashboard");
+		task.setStartDate(LocalDateTime.now());
+		task.setEndDate(LocalDateTime.now().plusDays(1));
+		task.setPriority(TaskPriority.MID);
+		task.setStatus(TaskStatus.TODO);
+
+		try {
+			TaskDAO.addTask(task);
+			assertFalse(TaskDAO.taskExists(userId));
+
+			Dashboard dashboard = new DashboardService().loadDashboard(userId);
+
+			assertEquals(1, dashboard.getTasks().size());
+			assertEquals(task.getTaskId(), dashboard.getTasks().get(0).getTaskId());
+		} finally {
+			if (task.getTaskId() != 0) {
+				TaskDAO.deleteTask(task.getTaskId());
+			}
+			deleteUser(userId);
+		}
+	}
+
+	@FunctionalInterface
+	private interface NotesRead {
+		List<Note> read() throws ServiceException;
+	}
+
+	private List<Note> slowRead() {
+		started.countDown();
+		try {
+			Thread.sleep(10000);
+		} catch (InterruptedException e) {
+			interrupted.countDown();
+		}
+		return List.of();
+	}
+
+	private TaskService tasks(List<Task> tasks) {
+		return new TaskService() {
+			@Override
+			public List<Task> readAllTaskByUser(int userId) {
+				return tasks;
+			}
+
+			@Override
+			public Map<Integer, List<Subtask>> readSubtasksByTaskIds(Collection<Integer> taskIds) {
+				subtasksRead.set(true);
+				return Map.of();
+			}
+		};
+	}
+
+	private static NoteService notes(NotesRead read) {
+		return new NoteService() {
+			@Override
+			public List<Note> readAllNotesByUser(int userId) throws ServiceException {
+				return read.read();
+			}
+
+			@Override
+			public List<String> getAllCategory() {
+				return List.of();
+			}
+		};
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean wasInterrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				wasInterrupted = true;
+			}
+		}
+		if (wasInterrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void insertUser(int userId, String emailId) throws SQLException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement psmt = connection.prepareStatement(
+						"INSERT INTO users (user_id, email_id, user_name, password) VALUES (?, ?, ?, ?)")) {
+			psmt.setInt(1, userId);
+			psmt.setString(2, emailId);
+			psmt.setString(3, "Dashboard user");
+			psmt.setString(4, PasswordUtil.encryptPassword("P@$$w0rd"));
+			psmt.executeUpdate();
+		}
+	}
+
+	private static void deleteUser(int userId) throws SQLException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement psmt = connection.prepareStatement("DELETE FROM users WHERE user_id = ?")) {
+			psmt.setInt(1, userId);
+			psmt.executeUpdate();
+		}
+	}
+
+}
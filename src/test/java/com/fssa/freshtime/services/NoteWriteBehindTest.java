@@ -0,0 +1,132 @@
+package com.fssa.freshtime.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.dao.NoteDAO;
+import com.fssa.freshtime.exceptions.DAOException;
+import com.fssa.freshtime.exceptions.ServiceException;
+import com.fssa.freshtime.models.Note;
+
+/**
+ * Runs against the embedded database: {@code mvn test -Pembedded-db}.
+ */
+class NoteWriteBehindTest {
+
+	NoteService noteService = new NoteService();
+
+	@Test
+	void testEditsOfSameNoteAreWrittenOnce() throws DAOException {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		NoteWriteBehind buffer = new NoteWriteBehind(note -> written.add(note.getHeading()), true, 60000, 1000, 5);
+		try {
+			Note note = NoteDAO.readNotesByNotesId(1);
+			note.setHeading("First edit");
+			assertTrue(buffer.offer(note));
+			note.setHeading("Second edit");
+			assertTrue(buffer.offer(note));
+			assertEquals(1, buffer.getPendingCount());
+
+			buffer.flush();
+
+			assertEquals(List.of("Second edit"), written);
+			assertEquals(0, buffer.getPendingCount());
+		} finally {
+			buffer.close();
+		}
+	}
+
+	@Test
+	void testBufferedEditIsReadWrittenAndDiscarded() throws DAOException, ServiceException {
+		Note note = new Note();
+		note.setUserId(1);
+		note.setNotesCategory("WriteBehind");
+		note.setHeading("Original");
+		note.setNotes("<div>Buffered note</div>");
+		NoteDAO.createNote(note);
+
+		NoteWriteBehind buffer = NoteWriteBehind.get();
+		buffer.setEnabled(true);
+		try {
+			note.setHeading("Edited");
+			assertTrue(noteService.updateNote(note));
+			assertEquals("Edited", noteService.readNotesByNotesId(note.getNotesId()).getHeading());
+
+			buffer.flush();
+			assertEquals("Edited", NoteDAO.readNotesByNotesId(note.getNotesId()).getHeading());
+
+			note.setHeading("Never written");
+			assertTrue(noteService.updateNote(note));
+			assertTrue(noteService.deleteNotes(note.getNotesId()));
+			assertEquals(0, buffer.getPendingCount());
+		} finally {
+			buffer.setEnabled(false);
+		}
+	}
+
+	@Test
+	void testRejectedNoteIsDropped() throws DAOException {
+		List<Boolean> dropped = new ArrayList<>();
+		NoteWriteBehind buffer = new NoteWriteBehind(note -> {
+			throw new DAOException("Error while Updating note", new SQLIntegrityConstraintViolationException());
+		}, true, 60000, 1000, 5);
+		buffer.setListener(failures(dropped));
+		try {
+			Note note = NoteDAO.readNotesByNotesId(1);
+			note.setHeading("Rejected");
+			assertTrue(buffer.offer(note));
+
+			buffer.flush();
+
+			assertEquals(List.of(true), dropped);
+			assertEquals(0, buffer.getPendingCount());
+			assertSame(note, buffer.overlay(note));
+		} finally {
+			buffer.close();
+		}
+	}
+
+	@Test
+	void testNoteIsDroppedAfterMaxAttempts() throws DAOException {
+		List<Boolean> dropped = new ArrayList<>();
+		NoteWriteBehind buffer = new NoteWriteBehind(note -> {
+			throw new DAOException("Error while Updating note", new SQLTransientConnectionException());
+		}, true, 60000, 1000, 3);
+		buffer.setListener(failures(dropped));
+		try {
+			Note note = NoteDAO.readNotesByNotesId(1);
+			note.setHeading("Retried");
+			assertTrue(buffer.offer(note));
+
+			buffer.flush();
+			buffer.flush();
+			assertEquals(1, buffer.getPendingCount());
+			assertEquals("Retried", buffer.overlay(NoteDAO.readNotesByNotesId(1)).getHeading());
+
+			buffer.flush();
+			assertEquals(List.of(false, false, true), dropped);
+			assertEquals(0, buffer.getPendingCount());
+		} finally {
+			buffer.close();
+		}
+	}
+
+	private static NoteWriteBehind.Listener failures(List<Boolean> dropped) {
+		return new NoteWriteBehind.Listener() {
+			@Override
+			public void failed(Note note, DAOException e, boolean wasDropped) {
+				dropped.add(wasDropped);
+			}
+		};
+	}
+
+}
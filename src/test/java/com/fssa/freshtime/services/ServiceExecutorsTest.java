@@ -0,0 +1,61 @@
+package com.fssa.freshtime.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.exceptions.ServiceException;
+
+class ServiceExecutorsTest {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void testResultAndFailure() {
+		assertEquals("done", ServiceExecutors.supply(executor, () -> "done").join());
+
+		ServiceException failure = new ServiceException("Invalid Task Id");
+		CompletableFuture<Object> failed = ServiceExecutors.supply(executor, () -> {
+			throw failure;
+		});
+		CompletionException e = assertThrows(CompletionException.class, failed::join);
+		assertSame(failure, e.getCause());
+	}
+
+	@Test
+	void testCancelInterruptsRunningCall() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		CompletableFuture<Object> future = ServiceExecutors.supply(executor, () -> {
+			started.countDown();
+			try {
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return null;
+		});
+
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		future.cancel(true);
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertTrue(future.isCancelled());
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.fssa.freshtime.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IdBitmapTest {
+
+	@Test
+	void testAddAndContains() {
+		IdBitmap bitmap = new IdBitmap();
+
+		assertTrue(bitmap.add(1));
+		assertTrue(bitmap.add(70000));
+		assertFalse(bitmap.add(1));
+
+		assertTrue(bitmap.contains(1));
+		assertTrue(bitmap.contains(70000));
+		assertFalse(bitmap.contains(2));
+		assertFalse(bitmap.contains(-1));
+		assertEquals(2, bitmap.cardinality());
+	}
+
+	@Test
+	void testRemove() {
+		IdBitmap bitmap = new IdBitmap();
+		bitmap.add(5);
+
+		assertTrue(bitmap.remove(5));
+		assertFalse(bitmap.remove(5));
+		assertFalse(bitmap.contains(5));
+		assertTrue(bitmap.isEmpty());
+	}
+
+	@Test
+	void testNegativeIdRejected() {
+		IdBitmap bitmap = new IdBitmap();
+		assertThrows(IllegalArgumentException.class, () -> bitmap.add(-3));
+	}
+
+	@Test
+	void testDenseRangeSwitchesToBitsetAndBack() {
+		IdBitmap bitmap = new IdBitmap();
+		for (int id = 1; id <= 10000; id++) {
+			bitmap.add(id);
+		}
+		assertEquals(10000, bitmap.cardinality());
+		assertTrue(bitmap.contains(4097));
+		assertTrue(bitmap.sizeInBytes() < 10000 * Integer.BYTES);
+
+		for (int id = 1; id <= 9000; id++) {
+			bitmap.remove(id);
+		}
+		assertEquals(1000, bitmap.cardinality());
+		assertFalse(bitmap.contains(9000));
+		assertTrue(bitmap.contains(9001));
+		assertTrue(bitmap.contains(10000));
+	}
+
+	@Test
+	void testMatchesBitSetForRandomOperations() {
+		IdBitmap bitmap = new IdBitmap();
+		BitSet expected = new BitSet();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 200000; i++) {
+			int id = random.nextInt(300000);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.get(id), bitmap.remove(id));
+				expected.clear(id);
+			} else {
+				assertEquals(!expected.get(id), bitmap.add(id));
+				expected.set(id);
+			}
+		}
+
+		assertEquals(expected.cardinality(), bitmap.cardinality());
+		for (int id = 0; id < 300000; id++) {
+			assertEquals(expected.get(id), bitmap.contains(id));
+		}
+	}
+
+}
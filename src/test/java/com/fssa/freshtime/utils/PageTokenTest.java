@@ -0,0 +1,55 @@
+package com.fssa.freshtime.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.exceptions.InvalidInputException;
+
+class PageTokenTest {
+
+	@Test
+	void testDateTimeRoundTrip() throws InvalidInputException {
+		LocalDateTime endDate = LocalDateTime.of(2024, 2, 3, 10, 15, 30, 123_000_000);
+		String encoded = PageToken.of(PageToken.TASKS, endDate, 42).encode();
+
+		PageToken token = PageToken.decode(encoded, PageToken.TASKS);
+		assertEquals(endDate, token.getDateTimeKey());
+		assertEquals(42, token.getId());
+	}
+
+	@Test
+	void testDateAndNullKeyRoundTrip() throws InvalidInputException {
+		PageToken note = PageToken.decode(PageToken.of(PageToken.NOTES, LocalDate.of(2024, 3, 1), 7).encode(),
+				PageToken.NOTES);
+		assertEquals(LocalDate.of(2024, 3, 1), note.getDateKey());
+
+		PageToken task = PageToken.decode(PageToken.of(PageToken.TASKS, (LocalDateTime) null, 9).encode(),
+				PageToken.TASKS);
+		assertTrue(task.isNullKey());
+		assertNull(task.getDateTimeKey());
+		assertEquals(9, task.getId());
+	}
+
+	@Test
+	void testFirstPage() throws InvalidInputException {
+		assertNull(PageToken.decode(null, PageToken.TASKS));
+		assertNull(PageToken.decode(" ", PageToken.TASKS));
+	}
+
+	@Test
+	void testInvalidTokens() {
+		String taskToken = PageToken.of(PageToken.TASKS, LocalDateTime.now(), 1).encode();
+
+		assertThrows(InvalidInputException.class, () -> PageToken.decode(taskToken, PageToken.NOTES));
+		assertThrows(InvalidInputException.class, () -> PageToken.decode("not a token", PageToken.TASKS));
+		assertThrows(InvalidInputException.class, () -> PageToken.decode("AAAA", PageToken.TASKS));
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.fssa.freshtime.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.exceptions.ErrorCode;
+import com.fssa.freshtime.exceptions.ServiceException;
+
+/**
+ * Runs against the embedded database: {@code mvn test -Pembedded-db}.
+ */
+class UnitOfWorkTest {
+
+	@Test
+	void testRollbackOnlyUnitFailsWithCheckedException() {
+		AtomicBoolean committed = new AtomicBoolean();
+
+		ServiceException e = assertThrows(ServiceException.class, () -> UnitOfWork.run(() -> {
+			try (Connection connection = ConnectionUtil.getConnection()) {
+				connection.rollback();
+			} catch (SQLException sqlException) {
+				throw new ServiceException(sqlException);
+			}
+			UnitOfWork.afterCommit(() -> committed.set(true));
+			return true;
+		}, ServiceException::new));
+
+		assertEquals(ErrorCode.DATABASE_ERROR, e.getCode());
+		assertFalse(committed.get());
+	}
+
+	@Test
+	void testCommittedUnitRunsHooks() throws ServiceException {
+		AtomicBoolean committed = new AtomicBoolean();
+
+		assertTrue(UnitOfWork.run(() -> {
+			UnitOfWork.afterCommit(() -> committed.set(true));
+			return true;
+		}, ServiceException::new));
+
+		assertTrue(committed.get());
+	}
+
+}
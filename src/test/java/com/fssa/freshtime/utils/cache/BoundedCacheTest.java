@@ -0,0 +1,88 @@
+package com.fssa.freshtime.utils.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void testEvictsLeastRecentlyUsed() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>("test", 2, 1000, now::get);
+		cache.put(1, "one");
+		cache.put(2, "two");
+		cache.get(1);
+		cache.put(3, "three");
+
+		assertEquals(List.of(1, 3), List.copyOf(cache.snapshot().keySet()));
+		assertEquals(1, cache.getStats().getEvictions());
+	}
+
+	@Test
+	void testExpiresAfterTtl() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 1000, now::get);
+		cache.put(1, "one");
+		now.addAndGet(999_000_000L);
+		assertEquals("one", cache.get(1));
+		now.addAndGet(1_000_000L);
+		assertNull(cache.get(1));
+
+		CacheStats stats = cache.getStats();
+		assertEquals(1, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(1, stats.getExpirations());
+		assertEquals(0.5, stats.getHitRate());
+	}
+
+	@Test
+	void testLoadRacingAnInvalidationIsNotCached() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 1000, now::get);
+		String loaded = cache.getOrLoad(1, () -> {
+			cache.invalidate(1);
+			return "stale";
+		});
+
+		assertEquals("stale", loaded);
+		assertEquals(0, cache.size());
+		assertEquals("fresh", cache.getOrLoad(1, () -> "fresh"));
+		assertEquals("fresh", cache.get(1));
+	}
+
+	@Test
+	void testInvalidateIfAndDisabledCache() {
+		BoundedCache<Integer, List<Integer>> cache = new BoundedCache<>("test", 10, 1000, now::get);
+		cache.put(1, List.of(10, 11));
+		cache.put(2, List.of(20));
+		cache.invalidateIf((key, ids) -> ids.contains(11));
+		assertEquals(List.of(2), List.copyOf(cache.snapshot().keySet()));
+
+		BoundedCache<Integer, String> disabled = new BoundedCache<>("test", 0, 1000, now::get);
+		assertEquals("one", disabled.getOrLoad(1, () -> "one"));
+		assertEquals(0, disabled.size());
+	}
+
+	@Test
+	void testGetAllOrLoadOnlyLoadsMisses() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 1000, now::get);
+		cache.put(2, "two");
+		List<List<Integer>> requested = new ArrayList<>();
+		Map<Integer, String> values = cache.getAllOrLoad(List.of(3, 2, 1, 3, 4), keys -> {
+			requested.add(keys);
+			return Map.of(1, "one", 3, "three");
+		});
+
+		assertEquals(List.of(List.of(3, 1, 4)), requested);
+		assertEquals(List.of(3, 2, 1), List.copyOf(values.keySet()));
+		assertEquals(3, cache.size());
+		assertEquals(Map.of(1, "one"), cache.getAllOrLoad(List.of(1), keys -> Map.of()));
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.fssa.freshtime.utils.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+	@Test
+	void testConcurrentCallsShareOneLoad() throws Exception {
+		SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < CALLERS; i++) {
+				results.add(executor.submit(() -> flight.execute(1, () -> {
+					loads.incrementAndGet();
+					release.await();
+					return "one";
+				})));
+			}
+			while (flight.getStats().getCoalesced() < CALLERS - 1) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("one", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		FlightStats stats = flight.getStats();
+		assertEquals(1, loads.get());
+		assertEquals(CALLERS - 1, stats.getCoalesced());
+		assertEquals(0, stats.getInFlight());
+	}
+
+	@Test
+	void testFailureIsSharedAndNotKept() throws Exception {
+		SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+		CountDownLatch release = new CountDownLatch(1);
+		IOException failure = new IOException("down");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = executor.submit(() -> flight.execute(1, () -> {
+				release.await();
+				throw failure;
+			}));
+			while (flight.getStats().getInFlight() == 0) {
+				Thread.sleep(1);
+			}
+			Future<String> follower = executor.submit(() -> flight.execute(1, () -> "unused"));
+			while (flight.getStats().getCoalesced() < 1) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			for (Future<String> result : List.of(leader, follower)) {
+				ExecutionException thrown = assertThrows(ExecutionException.class,
+						() -> result.get(5, TimeUnit.SECONDS));
+				assertSame(failure, thrown.getCause());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, flight.getStats().getCoalesced());
+		assertEquals("again", flight.execute(1, () -> "again"));
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.fssa.freshtime.utils.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MigrationRunnerTest {
+
+	private static Connection newDatabase(String name) throws SQLException {
+		return DriverManager.getConnection("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+	}
+
+	@Test
+	void testClasspathMigrationsApplyOnce() throws SQLException {
+		MigrationRunner runner = MigrationRunner.fromClasspath();
+
+		try (Connection connection = newDatabase("migrate_once")) {
+			assertEquals(runner.getMigrations().size(), runner.migrate(connection));
+			assertEquals(0, runner.migrate(connection));
+
+			try (Statement statement = connection.createStatement();
+					ResultSet rs = statement.executeQuery(
+							"SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_tasks_user_enddate'")) {
+				assertTrue(rs.next());
+				assertTrue(rs.getInt(1) > 0);
+			}
+		}
+	}
+
+	@Test
+	void testEditedMigrationIsRejected() throws SQLException {
+		try (Connection connection = newDatabase("migrate_edited")) {
+			new MigrationRunner(List.of(Migration.of("V1__create_sample.sql", "CREATE TABLE sample (id INT)")))
+					.migrate(connection);
+
+			MigrationRunner edited = new MigrationRunner(
+					List.of(Migration.of("V1__create_sample.sql", "CREATE TABLE sample (id BIGINT)")));
+			assertThrows(SQLException.class, () -> edited.migrate(connection));
+		}
+	}
+
+	@Test
+	void testInvalidFileNameAndDuplicateVersion() {
+		assertThrows(IllegalArgumentException.class, () -> Migration.of("create_sample.sql", ""));
+		List<Migration> duplicates = List.of(Migration.of("V1__a.sql", ""), Migration.of("V1__b.sql", ""));
+		assertThrows(IllegalArgumentException.class, () -> new MigrationRunner(duplicates));
+	}
+
+}
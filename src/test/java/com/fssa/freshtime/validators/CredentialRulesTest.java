@@ -0,0 +1,83 @@
+package com.fssa.freshtime.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.validators.errors.UserErrors;
+import com.fssa.freshtime.validators.regexs.UserValidationRegex;
+
+class CredentialRulesTest {
+
+	private static final String ALPHABET = "aZ09@.-_!#$%&'*+/=?`{|}~^()[]:;\"<>,\\ \t\n\r\u000B\f\u0085\u2028\u00e9\u0660";
+
+	/** The regular expression checks CredentialRules replaced. */
+	private static String legacyPasswordError(String password) {
+		if (password.isEmpty()) {
+			return UserErrors.INVALID_PASSWORD_EMPTY;
+		}
+		if (password.length() < 8) {
+			return UserErrors.INVALID_PASSWORD_LENGTH;
+		}
+		if (!Pattern.compile(".*[0-9].*").matcher(password).matches()) {
+			return UserErrors.INVALID_PASSWORD_DIGIT;
+		}
+		if (!Pattern.compile(".*[!@#$%^&*()_+{}\\[\\]:;\"'<>,.?/~].*").matcher(password).matches()) {
+			return UserErrors.INVALID_PASSWORD_SPECIAL_CHAR;
+		}
+		if (!Pattern.compile(".*[A-Z].*").matcher(password).matches()) {
+			return UserErrors.INVALID_PASSWORD_UPPERCASE;
+		}
+		if (!Pattern.compile(".*[a-z].*").matcher(password).matches()) {
+			return UserErrors.INVALID_PASSWORD_LOWERCASE;
+		}
+		if (!Pattern.compile("\\S*").matcher(password).matches()) {
+			return UserErrors.INVALID_PASSWORD_WHITESPACE;
+		}
+		return null;
+	}
+
+	private static String randomString(Random random, int maxLength) {
+		char[] chars = new char[random.nextInt(maxLength + 1)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		}
+		return new String(chars);
+	}
+
+	@Test
+	void testPasswordErrorsMatchRegexChecks() {
+		Random random = new Random(42);
+		for (int i = 0; i < 200_000; i++) {
+			String password = randomString(random, 14);
+			assertEquals(legacyPasswordError(password), CredentialRules.passwordError(password), password);
+		}
+	}
+
+	@Test
+	void testEmailMatchesRegex() {
+		Random random = new Random(7);
+		for (int i = 0; i < 200_000; i++) {
+			String email = randomString(random, 8);
+			assertEquals(email.matches(UserValidationRegex.EMAIL_REGEX), CredentialRules.isValidEmail(email), email);
+		}
+	}
+
+	@Test
+	void testKnownValues() {
+		assertNull(CredentialRules.passwordError("P@ssw0rd"));
+		assertEquals(UserErrors.INVALID_PASSWORD_DIGIT, CredentialRules.passwordError("Pa@ss\nw0rd"));
+		assertEquals(UserErrors.INVALID_PASSWORD_WHITESPACE, CredentialRules.passwordError("Pa@ss w0rd"));
+		assertTrue(CredentialRules.isValidEmail("aravind@gmail.com"));
+		assertFalse(CredentialRules.isValidEmail("aravind@gmail.c0"));
+		assertFalse(CredentialRules.isValidEmail("@gmail.com"));
+		assertTrue(CredentialRules.isBlank(" \t"));
+	}
+
+}
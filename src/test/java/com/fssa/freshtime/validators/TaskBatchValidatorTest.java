@@ -0,0 +1,74 @@
+package com.fssa.freshtime.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshtime.models.Subtask;
+import com.fssa.freshtime.models.Task;
+import com.fssa.freshtime.validators.errors.TaskErrors;
+
+class TaskBatchValidatorTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 15, 10, 30, 45);
+	private final TaskBatchValidator validator = new TaskBatchValidator(
+			Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+	private static Task task(LocalDateTime startDate) {
+		Task task = new Task();
+		task.setTaskName("Import task");
+		task.setStartDate(startDate);
+		task.setEndDate(startDate.plusHours(2));
+		task.setNotes("Imported from the old planner");
+		task.setReminder(startDate.plusMinutes(30));
+		return task;
+	}
+
+	@Test
+	void testDatesAreCheckedAgainstTheClock() {
+		// Earlier in the current minute is still allowed for start dates.
+		assertTrue(validator.check(task(NOW.withSecond(0))).isValid());
+
+		ValidationResult result = validator.check(task(NOW.minusMinutes(1)));
+		assertEquals(TaskErrors.INVALID_DATE_BEFORE_DATE, result.getFirstMessage());
+		assertEquals("startDate", result.getViolations().get(0).getField());
+	}
+
+	@Test
+	void testParallelBatchKeepsOrder() {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < TaskBatchValidator.PARALLEL_THRESHOLD * 4; i++) {
+			tasks.add(i % 3 == 0 ? task(NOW.minusDays(1)) : task(NOW.plusDays(1)));
+		}
+
+		List<ValidationResult> results = validator.checkTasks(tasks);
+
+		assertEquals(tasks.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i % 3 != 0, results.get(i).isValid(), "task " + i);
+		}
+	}
+
+	@Test
+	void testSubtasks() {
+		Subtask subtask = new Subtask();
+		subtask.setSubtaskName("Step");
+		subtask.setStartDate(NOW.plusHours(1));
+		subtask.setEndDate(NOW.plusHours(2));
+
+		List<ValidationResult> results = validator.checkSubtasks(List.of(subtask));
+		assertNull(results.get(0).getFirstMessage());
+
+		subtask.setReminder(NOW.minusHours(1));
+		assertEquals(TaskErrors.INVALID_REMINDER_BEFORE_DATE_TIME, validator.check(subtask).getFirstMessage());
+	}
+
+}
@@ -1,17 +1,22 @@
 package com.fssa.freshtime.validators;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import com.fssa.freshtime.exceptions.InvalidInputException;
+import com.fssa.freshtime.models.Note;
 import com.fssa.freshtime.models.Task;
 import com.fssa.freshtime.models.enums.TaskPriority;
 import com.fssa.freshtime.models.enums.TaskStatus;
+import com.fssa.freshtime.validators.errors.NoteErrors;
 import com.fssa.freshtime.validators.errors.TaskErrors;
 
 
@@ -140,6 +145,24 @@ class TaskValidatorTest {
         assertThrows(InvalidInputException.class, () -> TaskValidator.validateEndDate(tenDaysBeforeToday), TaskErrors.INVALID_DATE_BEFORE_DATE);
     }
 
+// 	Schedule Test Cases
+    @Test
+    void testValidSchedule() {
+        assertDoesNotThrow(() -> TaskValidator.validateSchedule(currentTime, currentTime.plusDays(1)));
+    }
+
+    @Test
+    void testInvalidScheduleWithoutEndDate() {
+        InvalidInputException e = assertThrows(InvalidInputException.class, () -> TaskValidator.validateSchedule(currentTime, null));
+        assertEquals(TaskErrors.INVALID_DATES_NULL, e.getMessage());
+    }
+
+    @Test
+    void testInvalidScheduleEndBeforeStart() {
+        InvalidInputException e = assertThrows(InvalidInputException.class, () -> TaskValidator.validateSchedule(currentTime, currentTime.minusDays(1)));
+        assertEquals(TaskErrors.INVALID_END_DATE_BEFORE_START_DATE, e.getMessage());
+    }
+
 //  Task Notes Validation Test cases
     @Test
     void testValidTaskNotes() {
@@ -208,4 +231,31 @@ class TaskValidatorTest {
         assertThrows(InvalidInputException.class, () -> TaskValidator.validateReminder(reminder_before_a_day), TaskErrors.INVALID_REMINDER_BEFORE_DATE_TIME);
     }
 
+    @Test
+    void testCheckCollectsAllViolations() {
+        Task task = getTask();
+        task.setTaskName("ab");
+        task.setNotes(null);
+        task.setReminder(LocalDateTime.now().minusDays(1));
+
+        ValidationResult result = TaskValidator.check(task);
+
+        assertEquals(List.of("taskName", "notes", "reminder"),
+                result.getViolations().stream().map(FieldViolation::getField).toList());
+        assertEquals(TaskErrors.INVALID_TASK_NAME_LESS_THAN_THREE_CHAR, result.getFirstMessage());
+        InvalidInputException e = assertThrows(InvalidInputException.class, () -> TaskValidator.validate(task));
+        assertEquals(result.getFirstMessage(), e.getMessage());
+    }
+
+    @Test
+    void testCheckValidTaskAndNote() {
+        assertTrue(TaskValidator.check(getTask()).isValid());
+
+        Note note = new Note();
+        note.setHeading("Heading");
+        ValidationResult result = NotesValidator.check(note);
+        assertEquals(NoteErrors.INVALID_NOTES_CONTENT, result.getFirstMessage());
+        assertEquals(1, result.getViolations().size());
+    }
+
 }